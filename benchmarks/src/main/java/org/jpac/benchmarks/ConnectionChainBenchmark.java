@@ -0,0 +1,148 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ConnectionChainBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.jpac.AbstractModule;
+import org.jpac.Decimal;
+import org.jpac.DecimalMapper;
+import org.jpac.InputInterlockException;
+import org.jpac.Module;
+import org.jpac.NextCycle;
+import org.jpac.OutputInterlockException;
+import org.jpac.ProcessException;
+import org.jpac.SignedInteger;
+import org.jpac.SignedIntegerMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * propagation along a chain of signals connected by mappers: head -&gt; link1 -&gt; ... -&gt; linkN.
+ * The head of the chain is altered by a module in every cycle.
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConnectionChainBenchmark {
+    public enum ChainType {SignedInteger, Decimal}
+
+    private static final int MAXVALUE = 1000;
+
+    @Param({"SignedInteger", "Decimal"})
+    public ChainType type;
+
+    @Param({"1", "10", "50"})
+    public int       length;
+
+    @Setup
+    public void setUp(){
+        ElbfischHarness.configure();
+        ContainerModule container = new ContainerModule();
+        HeadModule      head      = new HeadModule(container, type, length);
+        ElbfischHarness.start(container, head);
+    }
+
+    @Benchmark
+    public void propagateChain(){
+        ElbfischHarness.nextCycle();
+    }
+
+    /**
+     * owns the head of the chain and alters it in every cycle
+     */
+    public static class HeadModule extends Module{
+        private final SignedInteger signedIntegerHead;
+        private final Decimal       decimalHead;
+
+        public HeadModule(AbstractModule containingModule, ChainType type, int length){
+            super(containingModule, "Head");
+            if (type == ChainType.SignedInteger){
+                SignedIntegerMapper mapper = new SignedIntegerMapper(0, MAXVALUE, 0, MAXVALUE);
+                signedIntegerHead          = new SignedInteger(this, "Link0", 0, MAXVALUE, 0);
+                decimalHead                = null;
+                SignedInteger link         = signedIntegerHead;
+                for (int i = 1; i <= length; i++){
+                    SignedInteger nextLink = new SignedInteger(containingModule, "Link" + i, 0, MAXVALUE);
+                    link.connect(nextLink, mapper);
+                    link = nextLink;
+                }
+            }
+            else{
+                DecimalMapper mapper = new DecimalMapper(0.0, MAXVALUE, 0.0, MAXVALUE);
+                decimalHead          = new Decimal(this, "Link0", 0.0, MAXVALUE, 0.0);
+                signedIntegerHead    = null;
+                Decimal link         = decimalHead;
+                for (int i = 1; i <= length; i++){
+                    Decimal nextLink = new Decimal(containingModule, "Link" + i, 0.0, MAXVALUE);
+                    link.connect(nextLink, mapper);
+                    link = nextLink;
+                }
+            }
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            NextCycle nextCycle = new NextCycle();
+            int       value     = 0;
+            while(true){
+                value = (value + 1) % MAXVALUE;
+                if (signedIntegerHead != null){
+                    signedIntegerHead.set(value);
+                }
+                else{
+                    decimalHead.set(value);
+                }
+                nextCycle.await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+}
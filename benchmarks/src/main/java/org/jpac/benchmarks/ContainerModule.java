@@ -0,0 +1,61 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ContainerModule.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import org.jpac.ImpossibleEvent;
+import org.jpac.InputInterlockException;
+import org.jpac.Module;
+import org.jpac.OutputInterlockException;
+import org.jpac.ProcessException;
+
+/**
+ * top most module of a benchmark. Contains the modules and signals under test and stays idle itself
+ * @author berndschuster
+ */
+public class ContainerModule extends Module{
+
+    public ContainerModule(){
+        super(null, "Benchmark");
+    }
+
+    @Override
+    protected void work() throws ProcessException {
+        new ImpossibleEvent().await();
+    }
+
+    @Override
+    protected void preCheckInterlocks() throws InputInterlockException {
+    }
+
+    @Override
+    protected void postCheckInterlocks() throws OutputInterlockException {
+    }
+
+    @Override
+    protected void inEveryCycleDo() throws ProcessException {
+    }
+}
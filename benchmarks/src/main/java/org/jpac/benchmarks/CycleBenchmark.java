@@ -0,0 +1,134 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : CycleBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jpac.AbstractModule;
+import org.jpac.InputInterlockException;
+import org.jpac.Module;
+import org.jpac.NextCycle;
+import org.jpac.OutputInterlockException;
+import org.jpac.ProcessException;
+import org.jpac.SignedInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * full jPac cycle in OneCycle mode: N modules, each of them altering M signals and awaiting the next cycle.
+ * Every cycle covers signal propagation, event evaluation, the hand off to all modules and their work.
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CycleBenchmark {
+    @Param({"1", "10", "50"})
+    public int     modules;
+
+    @Param({"10", "100"})
+    public int     signalsPerModule;
+
+    @Param({"false", "true"})
+    public boolean lowLatencyModuleHandOff;
+
+    @Param({"false", "true"})
+    public boolean fastSignalAccess;
+
+    @Setup
+    public void setUp(){
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("LowLatencyModuleHandOff", lowLatencyModuleHandOff);
+        properties.put("FastSignalAccess", fastSignalAccess);
+        ElbfischHarness.configure(properties);
+
+        ContainerModule  container = new ContainerModule();
+        AbstractModule[] workers   = new AbstractModule[modules];
+        for (int i = 0; i < modules; i++){
+            workers[i] = new WorkerModule(container, "Worker" + i, signalsPerModule);
+        }
+        ElbfischHarness.start(container, workers);
+    }
+
+    @Benchmark
+    public void cycle(){
+        ElbfischHarness.nextCycle();
+    }
+
+    /**
+     * alters all of its signals in every cycle
+     */
+    public static class WorkerModule extends Module{
+        private final SignedInteger[] signals;
+
+        public WorkerModule(AbstractModule containingModule, String name, int numberOfSignals){
+            super(containingModule, name);
+            signals = new SignedInteger[numberOfSignals];
+            for (int i = 0; i < numberOfSignals; i++){
+                signals[i] = new SignedInteger(this, "Signal" + i, 0);
+            }
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            NextCycle nextCycle = new NextCycle();
+            int       value     = 0;
+            while(true){
+                value++;
+                for (SignedInteger signal: signals){
+                    signal.set(value);
+                }
+                nextCycle.await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ElbfischHarness.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.configuration.ConfigurationException;
+import org.jpac.AbstractModule;
+import org.jpac.ApplicationContext;
+import org.jpac.JPac;
+import org.jpac.configuration.Configuration;
+
+/**
+ * prepares an elbfisch instance inside the forked benchmark jvm: A private home directory with an empty configuration
+ * is set up, jPac is configured to run in OneCycle mode with all services disabled and the modules are started.
+ * Afterwards every call of nextCycle() runs exactly one jPac cycle.
+ * jPac is a singleton, therefore every benchmark class must run in its own fork (@Fork(n), n &gt;= 1).
+ * @author berndschuster
+ */
+public final class ElbfischHarness {
+    private static final String JPACKEY             = "org..jpac..JPac.";
+    private static final int    WARMUPCYCLES        = 10;
+    private static final long   BENCHMARKCYCLETIME  = 1000L;//[ns]
+
+    private ElbfischHarness(){
+    }
+
+    /**
+     * used to prepare the configuration of jPac. Must be called before the first module or signal is instantiated
+     * @param properties jPac properties (key relative to org.jpac.JPac, for example "LowLatencyModuleHandOff") overriding the benchmark defaults
+     */
+    public static void configure(Map<String, Object> properties){
+        try{
+            File homeDir = Files.createTempDirectory("elbfisch-benchmark").toFile();
+            File cfgDir  = new File(homeDir, "cfg");
+            cfgDir.mkdirs();
+            try(FileWriter writer = new FileWriter(new File(cfgDir, "org.jpac.Configuration.xml"))){
+                writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<configuration/>\n");
+            }
+            ApplicationContext.setHomeDir(homeDir.getAbsolutePath());
+
+            Map<String, Object> jPacProperties = new HashMap<>();
+            jPacProperties.put("CycleMode", JPac.CycleMode.OneCycle.toString());
+            //jPac must not wait for the end of the cycle after having done its work
+            jPacProperties.put("CycleTime", BENCHMARKCYCLETIME);
+            jPacProperties.put("RemoteSignalsEnabled", false);
+            jPacProperties.put("OpcUa.ServiceEnabled", false);
+            jPacProperties.put("Ef.ServiceEnabled", false);
+            jPacProperties.put("Console.ServiceEnabled", false);
+            jPacProperties.put("Metrics.ServiceEnabled", false);
+            jPacProperties.put("HistogramFile", new File(homeDir, "histogram.csv").getAbsolutePath());
+            jPacProperties.putAll(properties);
+
+            Configuration configuration = Configuration.getInstance();
+            jPacProperties.forEach((key, value) -> configuration.setProperty(JPACKEY + key, value));
+        }
+        catch(IOException | ConfigurationException exc){
+            throw new IllegalStateException("failed to prepare the configuration of the benchmark", exc);
+        }
+    }
+
+    /**
+     * used to prepare the configuration of jPac with the benchmark defaults
+     */
+    public static void configure(){
+        configure(new HashMap<>());
+    }
+
+    /**
+     * used to start the given modules and to run some cycles, until all modules entered their work()
+     * @param topModule the top most module. Started last, because it tells jPac to start cycling
+     * @param modules the modules contained by the top most module
+     */
+    public static void start(AbstractModule topModule, AbstractModule... modules){
+        for (AbstractModule module: modules){
+            module.start();
+        }
+        topModule.start();
+        for (int i = 0; i < WARMUPCYCLES; i++){
+            nextCycle();
+        }
+    }
+
+    /**
+     * used to run exactly one jPac cycle
+     */
+    public static void nextCycle(){
+        JPac.getInstance().invokeNextCycle();
+    }
+}
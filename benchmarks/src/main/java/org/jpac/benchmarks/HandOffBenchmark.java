@@ -0,0 +1,166 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : HandOffBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jpac.AbstractModule;
+import org.jpac.InputInterlockException;
+import org.jpac.Logical;
+import org.jpac.Module;
+import org.jpac.NextCycle;
+import org.jpac.OutputInterlockException;
+import org.jpac.ProcessEvent;
+import org.jpac.ProcessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * latency of the hand off between jPac and the modules (Fireable.notifyObservingModule() and the check back of the modules):
+ * A trigger module toggles a Logical in every cycle, which is awaited by N waiting modules. Every cycle therefore
+ * awakens N + 1 modules and waits, until all of them have laid themselves to sleep again.
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HandOffBenchmark {
+    @Param({"1", "16", "64"})
+    public int     waitingModules;
+
+    @Param({"false", "true"})
+    public boolean lowLatencyModuleHandOff;
+
+    @Param({"0", "20000"})
+    public long    moduleHandOffSpinTime;
+
+    @Setup
+    public void setUp(){
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("LowLatencyModuleHandOff", lowLatencyModuleHandOff);
+        properties.put("ModuleHandOffSpinTime", moduleHandOffSpinTime);
+        ElbfischHarness.configure(properties);
+
+        ContainerModule  container = new ContainerModule();
+        TriggerModule    trigger   = new TriggerModule(container);
+        AbstractModule[] modules   = new AbstractModule[waitingModules + 1];
+        modules[0] = trigger;
+        for (int i = 1; i <= waitingModules; i++){
+            modules[i] = new WaitingModule(container, "Waiting" + i, trigger.getTrigger());
+        }
+        ElbfischHarness.start(container, modules);
+    }
+
+    @Benchmark
+    public void handOff(){
+        ElbfischHarness.nextCycle();
+    }
+
+    /**
+     * toggles the trigger in every cycle
+     */
+    public static class TriggerModule extends Module{
+        private final Logical trigger;
+
+        public TriggerModule(AbstractModule containingModule){
+            super(containingModule, "Trigger");
+            trigger = new Logical(this, "Trigger", false);
+        }
+
+        public Logical getTrigger(){
+            return trigger;
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            NextCycle nextCycle = new NextCycle();
+            boolean   state     = false;
+            while(true){
+                state = !state;
+                trigger.set(state);
+                nextCycle.await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+
+    /**
+     * awaits every toggle of the trigger
+     */
+    public static class WaitingModule extends Module{
+        private final Logical trigger;
+
+        public WaitingModule(AbstractModule containingModule, String name, Logical trigger){
+            super(containingModule, name);
+            this.trigger = trigger;
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            ProcessEvent triggerToggles = trigger.toggles();
+            while(true){
+                triggerToggles.await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : PlcDataBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.jpac.plc.AddressException;
+import org.jpac.plc.Data;
+import org.jpac.plc.ValueOutOfRangeException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * typed accessors of plc.Data as used by the io handlers to map process images to signals.
+ * Every invocation walks through a whole data block of BLOCKSIZE bytes, the figures are given per access.
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PlcDataBenchmark {
+    private static final int BLOCKSIZE = 1024;
+
+    @Param({"BIGENDIAN", "LITTLEENDIAN"})
+    public Data.Endianness endianness;
+
+    private Data data;
+
+    @Setup
+    public void setUp(){
+        byte[] bytes = new byte[BLOCKSIZE];
+        for (int i = 0; i < BLOCKSIZE; i++){
+            bytes[i] = (byte)(i * 31);
+        }
+        data = new Data(bytes, endianness);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE * 8)
+    public void getBIT(Blackhole blackhole) throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex++){
+            for (int bitIndex = 0; bitIndex < 8; bitIndex++){
+                blackhole.consume(data.getBIT(byteIndex, bitIndex));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE * 8)
+    public void setBIT() throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex++){
+            for (int bitIndex = 0; bitIndex < 8; bitIndex++){
+                data.setBIT(byteIndex, bitIndex, ((byteIndex + bitIndex) & 0x1) != 0);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE)
+    public void getBYTE(Blackhole blackhole) throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex++){
+            blackhole.consume(data.getBYTE(byteIndex));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE)
+    public void setBYTE() throws AddressException, ValueOutOfRangeException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex++){
+            data.setBYTE(byteIndex, byteIndex & 0xFF);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 2)
+    public void getWORD(Blackhole blackhole) throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 2){
+            blackhole.consume(data.getWORD(byteIndex));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 2)
+    public void setWORD() throws AddressException, ValueOutOfRangeException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 2){
+            data.setWORD(byteIndex, byteIndex);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 2)
+    public void getINT(Blackhole blackhole) throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 2){
+            blackhole.consume(data.getINT(byteIndex));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 2)
+    public void setINT() throws AddressException, ValueOutOfRangeException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 2){
+            data.setINT(byteIndex, byteIndex - BLOCKSIZE / 2);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 4)
+    public void getDWORD(Blackhole blackhole) throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 4){
+            blackhole.consume(data.getDWORD(byteIndex));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 4)
+    public void setDWORD() throws AddressException, ValueOutOfRangeException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 4){
+            data.setDWORD(byteIndex, byteIndex * 65537L);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 4)
+    public void getDINT(Blackhole blackhole) throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 4){
+            blackhole.consume(data.getDINT(byteIndex));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCKSIZE / 4)
+    public void setDINT() throws AddressException{
+        for (int byteIndex = 0; byteIndex < BLOCKSIZE; byteIndex += 4){
+            data.setDINT(byteIndex, -byteIndex * 65537);
+        }
+    }
+}
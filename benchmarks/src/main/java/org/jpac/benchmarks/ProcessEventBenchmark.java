@@ -0,0 +1,104 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ProcessEventBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.jpac.ConjunctiveEvent;
+import org.jpac.DisjunctiveEvent;
+import org.jpac.Logical;
+import org.jpac.ProcessEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * evaluation of the fire condition of simple, conjunctive and disjunctive process events, as done by jPac in every cycle
+ * for every awaited event. The conjunctive event is composed of fulfilled conditions, the disjunctive event of unfulfilled ones,
+ * so both of them must evaluate all of their operands.
+ * The evaluation is done by the benchmark thread, which accesses the signals as a foreign thread (synchronized).
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessEventBenchmark {
+    @Param({"2", "8"})
+    public int              operands;
+
+    private ProcessEvent     simpleEvent;
+    private ConjunctiveEvent conjunctiveEvent;
+    private DisjunctiveEvent disjunctiveEvent;
+
+    @Setup
+    public void setUp(){
+        ElbfischHarness.configure();
+        ContainerModule container = new ContainerModule();
+        Logical[]       logicals  = new Logical[operands];
+        for (int i = 0; i < operands; i++){
+            logicals[i] = new Logical(container, "Logical" + i, true);
+        }
+        //let the default states be propagated
+        ElbfischHarness.start(container);
+
+        simpleEvent      = logicals[0].state(true);
+        conjunctiveEvent = logicals[0].state(true).and(logicals[1].state(true));
+        disjunctiveEvent = logicals[0].state(false).or(logicals[1].state(false));
+        for (int i = 2; i < operands; i++){
+            conjunctiveEvent.and(logicals[i].state(true));
+            disjunctiveEvent.or(logicals[i].state(false));
+        }
+    }
+
+    @Benchmark
+    public boolean simple(){
+        simpleEvent.reset();
+        return simpleEvent.evaluateFiredCondition();
+    }
+
+    @Benchmark
+    public boolean conjunctive(){
+        conjunctiveEvent.reset();
+        return conjunctiveEvent.evaluateFiredCondition();
+    }
+
+    @Benchmark
+    public boolean disjunctive(){
+        disjunctiveEvent.reset();
+        return disjunctiveEvent.evaluateFiredCondition();
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ProcessEventReuseBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.jpac.AbstractModule;
+import org.jpac.InputInterlockException;
+import org.jpac.Logical;
+import org.jpac.Module;
+import org.jpac.NextCycle;
+import org.jpac.OutputInterlockException;
+import org.jpac.ProcessException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+/**
+ * allocation of a typical await loop of a module, which calls the predicates of a signal on every await():
+ * A trigger module toggles a Logical in every cycle, an awaiting module awaits trigger.becomes(true) and trigger.becomes(false) in turn.
+ * The bytes allocated by the awaiting module are sampled per measurement iteration. If ReuseProcessEvents is enabled,
+ * the loop must not allocate in steady state: a measurement iteration, in which the awaiting module allocated, fails the benchmark.
+ * Stack traces are captured on demand, because updating the stack trace signals on every await() allocates by itself.
+ * Run with -prof gc to see the allocation rate of the benchmark thread as well.
+ * This benchmark is the steady state allocation check of ReuseProcessEvents. elbfisch.core has no unit test setup,
+ * so the check is not part of the core build and must be run explicitly after changes to the process events:
+ * <pre>
+ *   java -jar target/benchmarks.jar ProcessEventReuseBenchmark -p reuseProcessEvents=true
+ * </pre>
+ * The run fails with an IllegalStateException ("await loop allocated ..."), if the check does not hold.
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessEventReuseBenchmark {
+    @Param({"false", "true"})
+    public boolean reuseProcessEvents;
+
+    private AwaitingModule                    awaitingModule;
+    private com.sun.management.ThreadMXBean   threadMXBean;
+    private long                              allocatedBytes;
+    private long                              cycles;
+
+    @Setup
+    public void setUp(){
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("ReuseProcessEvents", reuseProcessEvents);
+        properties.put("CaptureStackTraceOnDemand", true);
+        ElbfischHarness.configure(properties);
+
+        ContainerModule container = new ContainerModule();
+        TriggerModule   trigger   = new TriggerModule(container);
+        awaitingModule = new AwaitingModule(container, trigger.getTrigger());
+        threadMXBean   = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        ElbfischHarness.start(container, trigger, awaitingModule);
+    }
+
+    @Setup(Level.Iteration)
+    public void sampleAllocatedBytes(){
+        allocatedBytes = threadMXBean.getThreadAllocatedBytes(awaitingModule.getId());
+        cycles         = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkAllocatedBytes(IterationParams iterationParams){
+        long bytes = threadMXBean.getThreadAllocatedBytes(awaitingModule.getId()) - allocatedBytes;
+        if (reuseProcessEvents && iterationParams.getType() == IterationType.MEASUREMENT && bytes != 0){
+            throw new IllegalStateException("await loop allocated " + bytes + " bytes in " + cycles + " cycles");
+        }
+    }
+
+    @Benchmark
+    public void awaitLoop(){
+        ElbfischHarness.nextCycle();
+        cycles++;
+    }
+
+    /**
+     * toggles the trigger in every cycle
+     */
+    public static class TriggerModule extends Module{
+        private final Logical trigger;
+
+        public TriggerModule(AbstractModule containingModule){
+            super(containingModule, "Trigger");
+            trigger = new Logical(this, "Trigger", false);
+        }
+
+        public Logical getTrigger(){
+            return trigger;
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            NextCycle nextCycle = new NextCycle();
+            boolean   state     = false;
+            while(true){
+                state = !state;
+                trigger.set(state);
+                nextCycle.await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+
+    /**
+     * awaits the edges of the trigger calling its predicates on every await()
+     */
+    public static class AwaitingModule extends Module{
+        private final Logical trigger;
+
+        public AwaitingModule(AbstractModule containingModule, Logical trigger){
+            super(containingModule, "Awaiting");
+            this.trigger = trigger;
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            while(true){
+                trigger.becomes(true).await();
+                trigger.becomes(false).await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : SignalBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.jpac.AbstractModule;
+import org.jpac.CharString;
+import org.jpac.Decimal;
+import org.jpac.InputInterlockException;
+import org.jpac.Logical;
+import org.jpac.Module;
+import org.jpac.NextCycle;
+import org.jpac.OutputInterlockException;
+import org.jpac.ProcessException;
+import org.jpac.SignedInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * set() and propagation of signals of every basic type. In every cycle a single module alters all of its source signals,
+ * each of which is connected to a target signal. A cycle therefore covers the set() of all source signals inside the module
+ * and the propagation of the source and target signals by jPac.
+ * signals = 0 yields the cost of the plain cycle, which is to be subtracted.
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignalBenchmark {
+    public enum SignalType {Logical, SignedInteger, Decimal, CharString}
+
+    @Param({"Logical", "SignedInteger", "Decimal", "CharString"})
+    public SignalType type;
+
+    @Param({"0", "100"})
+    public int        signals;
+
+    @Setup
+    public void setUp(){
+        ElbfischHarness.configure();
+        ContainerModule container = new ContainerModule();
+        SetterModule    setter    = new SetterModule(container, type, signals);
+        ElbfischHarness.start(container, setter);
+    }
+
+    @Benchmark
+    public void setAndPropagate(){
+        ElbfischHarness.nextCycle();
+    }
+
+    /**
+     * alters its source signals in every cycle
+     */
+    public static class SetterModule extends Module{
+        private static final String[] STRINGS = {"elbfisch", "jPac"};
+
+        private final SignalType      type;
+        private final Logical[]       logicals;
+        private final SignedInteger[] signedIntegers;
+        private final Decimal[]       decimals;
+        private final CharString[]    charStrings;
+
+        public SetterModule(AbstractModule containingModule, SignalType type, int numberOfSignals){
+            super(containingModule, "Setter");
+            this.type           = type;
+            this.logicals       = new Logical[numberOfSignals];
+            this.signedIntegers = new SignedInteger[numberOfSignals];
+            this.decimals       = new Decimal[numberOfSignals];
+            this.charStrings    = new CharString[numberOfSignals];
+            for (int i = 0; i < numberOfSignals; i++){
+                switch(type){
+                    case Logical:
+                        logicals[i] = new Logical(this, "Source" + i, false);
+                        logicals[i].connect(new Logical(containingModule, "Target" + i));
+                        break;
+                    case SignedInteger:
+                        signedIntegers[i] = new SignedInteger(this, "Source" + i, 0);
+                        signedIntegers[i].connect(new SignedInteger(containingModule, "Target" + i));
+                        break;
+                    case Decimal:
+                        decimals[i] = new Decimal(this, "Source" + i, 0.0);
+                        decimals[i].connect(new Decimal(containingModule, "Target" + i));
+                        break;
+                    case CharString:
+                        charStrings[i] = new CharString(this, "Source" + i, STRINGS[0]);
+                        charStrings[i].connect(new CharString(containingModule, "Target" + i));
+                        break;
+                }
+            }
+        }
+
+        @Override
+        protected void work() throws ProcessException {
+            NextCycle nextCycle = new NextCycle();
+            int       value     = 0;
+            while(true){
+                value++;
+                switch(type){
+                    case Logical:
+                        for (Logical signal: logicals){
+                            signal.set((value & 0x1) != 0);
+                        }
+                        break;
+                    case SignedInteger:
+                        for (SignedInteger signal: signedIntegers){
+                            signal.set(value);
+                        }
+                        break;
+                    case Decimal:
+                        for (Decimal signal: decimals){
+                            signal.set(0.5 * value);
+                        }
+                        break;
+                    case CharString:
+                        for (CharString signal: charStrings){
+                            signal.set(STRINGS[value & 0x1]);
+                        }
+                        break;
+                }
+                nextCycle.await();
+            }
+        }
+
+        @Override
+        protected void preCheckInterlocks() throws InputInterlockException {
+        }
+
+        @Override
+        protected void postCheckInterlocks() throws OutputInterlockException {
+        }
+
+        @Override
+        protected void inEveryCycleDo() throws ProcessException {
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : SignalTransportBenchmark.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.benchmarks;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.jpac.BasicSignalType;
+import org.jpac.CharStringValue;
+import org.jpac.DecimalValue;
+import org.jpac.LogicalValue;
+import org.jpac.SignedIntegerValue;
+import org.jpac.Value;
+import org.jpac.ef.CompactTransportCodec;
+import org.jpac.ef.MessageFactory;
+import org.jpac.ef.Transceive;
+import org.jpac.vioss.ef.SignalTransport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * encoding and decoding of the messages exchanged over ef connections in every cycle: single signal transports
+ * and Transceive commands carrying a given number of changed signals
+ * @author berndschuster
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SignalTransportBenchmark {
+    @Param({"Logical", "SignedInteger", "Decimal", "CharString"})
+    public BasicSignalType signalType;
+
+    @Param({"1", "100"})
+    public int             transports;
+
+    private SignalTransport                   signalTransport;
+    private SignalTransport                   receivedSignalTransport;
+    private ByteBuf                           signalTransportBuffer;
+    private HashMap<Integer, SignalTransport> clientOutputTransports;
+    private Transceive                        clientTransceive;
+    private Transceive                        serverTransceive;
+    private ByteBuf                           transceiveTxBuffer;
+    private ByteBuf                           transceiveRxBuffer;
+
+    @Setup
+    public void setUp(){
+        HashMap<Integer, SignalTransport> serverOutputTransports = new HashMap<>();
+        CompactTransportCodec             clientOutputCodec      = new CompactTransportCodec();
+        CompactTransportCodec             serverOutputCodec      = new CompactTransportCodec();
+        clientOutputTransports = new HashMap<>();
+        for (int handle = 0; handle < transports; handle++){
+            SignalTransport st = new SignalTransport(handle, signalType);
+            st.setValue(createValue(signalType, handle));
+            clientOutputTransports.put(handle, st);
+            clientOutputCodec.addSlot(st);
+            SignalTransport serverSt = new SignalTransport(handle, signalType);
+            serverOutputTransports.put(handle, serverSt);
+            serverOutputCodec.addSlot(serverSt);
+        }
+        clientTransceive        = new Transceive(new HashMap<>(), clientOutputTransports, new CompactTransportCodec(), clientOutputCodec);
+        serverTransceive        = new Transceive(new HashMap<>(), serverOutputTransports, new CompactTransportCodec(), serverOutputCodec);
+        transceiveTxBuffer      = Unpooled.buffer(32000);
+        transceiveRxBuffer      = Unpooled.buffer(32000);
+        markAllChanged();
+        clientTransceive.encode(transceiveRxBuffer);
+
+        signalTransport         = clientOutputTransports.get(0);
+        receivedSignalTransport = new SignalTransport();
+        signalTransportBuffer   = Unpooled.buffer(1024);
+    }
+
+    @Benchmark
+    public ByteBuf encodeSignalTransport(){
+        signalTransportBuffer.clear();
+        signalTransport.encode(signalTransportBuffer);
+        return signalTransportBuffer;
+    }
+
+    @Benchmark
+    public SignalTransport decodeSignalTransport(){
+        signalTransportBuffer.clear();
+        signalTransport.encode(signalTransportBuffer);
+        receivedSignalTransport.decode(signalTransportBuffer);
+        return receivedSignalTransport;
+    }
+
+    @Benchmark
+    public ByteBuf encodeTransceive(){
+        markAllChanged();
+        transceiveTxBuffer.clear();
+        clientTransceive.encode(transceiveTxBuffer);
+        return transceiveTxBuffer;
+    }
+
+    @Benchmark
+    public Transceive decodeTransceive(){
+        transceiveRxBuffer.readerIndex(0);
+        MessageFactory.readMessageId(transceiveRxBuffer);
+        serverTransceive.decode(transceiveRxBuffer);
+        return serverTransceive;
+    }
+
+    private void markAllChanged(){
+        for (SignalTransport st: clientOutputTransports.values()){
+            st.setChanged(true);
+        }
+    }
+
+    private static Value createValue(BasicSignalType signalType, int index){
+        Value value;
+        switch(signalType){
+            case Logical:
+                LogicalValue logicalValue = new LogicalValue();
+                logicalValue.set((index & 0x1) != 0);
+                value = logicalValue;
+                break;
+            case SignedInteger:
+                SignedIntegerValue signedIntegerValue = new SignedIntegerValue();
+                signedIntegerValue.set(index);
+                value = signedIntegerValue;
+                break;
+            case Decimal:
+                DecimalValue decimalValue = new DecimalValue();
+                decimalValue.set(0.5 * index);
+                value = decimalValue;
+                break;
+            default:
+                CharStringValue charStringValue = new CharStringValue();
+                charStringValue.set("signal value " + index);
+                value = charStringValue;
+                break;
+        }
+        value.setValid(true);
+        return value;
+    }
+}
@@ -32,9 +32,11 @@ import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.jpac.configuration.Configuration;
+import org.jpac.jfr.ModuleActivationEvent;
 import org.jpac.statistics.Histogram;
 
 /**
@@ -114,6 +116,9 @@ public abstract class AbstractModule extends Thread{
                           
     protected static Logger Log = LoggerFactory.getLogger("jpac.Module");
 
+    private static final ThreadLocal<AbstractModule> currentModule = new ThreadLocal<>();//module run on the current virtual thread
+    private static final ConcurrentHashMap<StackTraceElement, String> callSites = new ConcurrentHashMap<>();//formatted stack trace elements by call site
+
     /**used to denote a span of time in nanoseconds*/
     public  static final long nanos =  1L;
     /**used to denote a span of time in microseconds*/
@@ -125,12 +130,18 @@ public abstract class AbstractModule extends Thread{
     /**used to denote a span of time in seconds*/
     public  static final long sec    = 1000000000L;
     
+    /**access context of the jPac thread outside the processing of a module (see getAccessContext())*/
+    public  static final int    JPACCONTEXT         = -1;
+    /**access context of threads not related to any module (see getAccessContext())*/
+    public  static final int    FOREIGNCONTEXT      = -2;
+
     public  static final int    MAXNUMBEROFMONITORS = 1000;
     public  static final String RELATIVEINSTANCE     = "./"; //elbfisch instance depends containing module   
 
     private JPac                  jPac;
     private int                   moduleIndex;
     private ProcessEvent          awaitedEvent;
+    private ProcessEvent          awakeningEvent;//process event, which awakened the module most recently
     private ArrayList<Fireable>   monitoredEvents;
     private String                simpleName;
     private String                qualifiedName;
@@ -140,6 +151,7 @@ public abstract class AbstractModule extends Thread{
 
     private  boolean              awakenedByProcessEvent;
     private  long                 wakeUpNanoTime;
+    private  long                 wakeUpCount;//number of returns from await(). Used by ProcessEventCache
     private  long                 sleepNanoTime;
     
     private  int                  debugIndex;
@@ -149,11 +161,14 @@ public abstract class AbstractModule extends Thread{
     private  boolean              inEveryCycleDoActive;
     
     private  CharString[]         stackTraceSignals;
+    private  String[]             stackTrace;
     private  URI                  elbfischInstance;
     
     private  boolean              isRunLocally;
     private  boolean              isInactive;
     private  boolean              isProxy;
+    private  Thread               executingThread;//thread executing work(): the module itself or a virtual thread
+    private  TaskClass            taskClass;//null: task class of the containing module
     
     /**
      * used to construct a module
@@ -184,10 +199,12 @@ public abstract class AbstractModule extends Thread{
         awaitedEvent                 = null;
         awakenedByProcessEvent       = false;
         wakeUpNanoTime               = 0L;
+        wakeUpCount                  = 0L;
         sleepNanoTime                = 0L;
         debugIndex                   = 0;
         inEveryCycleDoActive         = false;
         isRunLocally                  = false;
+        executingThread              = this;
         
         //retrieve elbfischInstance of the automation controller
         setJPac(JPac.getInstance());
@@ -216,6 +233,7 @@ public abstract class AbstractModule extends Thread{
 	    isInactive    = !isRunLocally && (containingModule == null || containingModule.isInactive());
         
         stackTraceSignals  = new CharString[10];
+        stackTrace         = new String[stackTraceSignals.length];
         for(int i = 0; i < stackTraceSignals.length; i++){
         	//stack trace signals are instantiated as IoDirection.OUTPUT for the cases, in which this module is run remotely
             try{stackTraceSignals[i] = new CharString(this,":StackTrace:" + i, IoDirection.OUTPUT);}catch(SignalAlreadyExistsException exc){/*cannot happen*/}
@@ -230,6 +248,9 @@ public abstract class AbstractModule extends Thread{
     @Override
     public void run() {
         try {
+            if (executingThread != this){
+                currentModule.set(this);
+            }
             status.enter(Status.READY);
             //enter initial wait state: wait, until jPac signals the start of the first cycle
             new NextCycle().await();
@@ -270,7 +291,7 @@ public abstract class AbstractModule extends Thread{
 	                stackTraceSignals[i].set("");
 	            }
 	            //invalidate all signals contained by this module
-	            SignalRegistry.getInstance().getSignals().forEach((h, s) -> {if (s.getContainingModule().equals(this) && !s.isConnectedAsTarget()) s.invalidate();});
+	            SignalRegistry.getInstance().getSignals().forEach(s -> {if (s.getContainingModule().equals(this) && !s.isConnectedAsTarget()) s.invalidate();});
             }
             //stop invocation of inEveryCycleDo()
             enableCyclicTasks(false);
@@ -474,6 +495,9 @@ public abstract class AbstractModule extends Thread{
            //module has awakened by a process event at least once
            //store its time consumption for this cycle
            histogramm.update(this.sleepNanoTime - this.wakeUpNanoTime);
+           if (getJPac().isEmittingFlightRecorderEvents()){
+               ModuleActivationEvent.emit(getQualifiedName(), awakeningEvent, getJPac().getCycleNumber(), this.sleepNanoTime - this.wakeUpNanoTime);
+           }
         }
     }
 
@@ -483,6 +507,15 @@ public abstract class AbstractModule extends Thread{
 
     public void storeWakeUpNanoTime(){
         this.wakeUpNanoTime = System.nanoTime();
+        this.awakeningEvent = awaitedEvent;
+        this.wakeUpCount++;
+    }
+
+    /**
+     * @return the number of times the module returned from await()
+     */
+    protected long getWakeUpCount(){
+        return this.wakeUpCount;
     }
     
     protected void setAwakenedByProcessEvent(boolean awakenedByProcessEvent) {
@@ -496,7 +529,75 @@ public abstract class AbstractModule extends Thread{
     public CharString[] getStackTraceSignals(){
         return stackTraceSignals;
     }
+
+    /**
+     * used to propagate the current stack trace of this module, starting at its work() method, to its stack trace signals.
+     * If called while the module awaits a process event, the frames of the await machinery are omitted.
+     */
+    protected void updateStackTraceSignals(){
+        int length = traceStackBackToWork(stackTrace);
+        for (int i = 0; i < stackTraceSignals.length; i++){
+            if (i < length){
+                stackTraceSignals[i].set(stackTrace[i]);
+            }
+            else{
+                stackTraceSignals[i].invalidate();
+            }
+        }
+    }
+
+    /**
+     * used to capture the current stack trace of this module, starting at its work() method.
+     * If called while the module awaits a process event, the frames of the await machinery are omitted.
+     * @return the stack trace
+     */
+    public ArrayList<String> captureStackTrace(){
+        String[]          localStackTrace = new String[stackTraceSignals.length];
+        int               length          = traceStackBackToWork(localStackTrace);
+        ArrayList<String> lines           = new ArrayList<>(length);
+        for (int i = 0; i < length; i++){
+            lines.add(localStackTrace[i]);
+        }
+        return lines;
+    }
+
+    private int traceStackBackToWork(String[] trace){
+        StackTraceElement[] elements = getStackTrace();
+        int                 i        = 0;
+        int                 j        = elements.length;
+        //trace back to Module.work()
+        do{j--;} while(j > 0 && !elements[j].getMethodName().equals("work"));
+        if (j >= 0 && elements[j].getMethodName().equals("work")){
+            //up to the await() of the process event, if any
+            while(j >= 0 && i < trace.length && !elements[j].getClassName().equals(ProcessEvent.class.getName())){
+                //stack trace elements are formatted once per call site
+                trace[i] = callSites.computeIfAbsent(elements[j], e -> e.getClassName() + "." + e.getMethodName() + "(): " + e.getLineNumber());
+                i++;j--;
+            }
+        }
+        return i;
+    }
     
+    /**
+     * used to assign a task class to this module. The module and its contained modules, which do not have a task class of their own,
+     * are serviced in the cycles of this task class only (see TaskClass).
+     * @param taskClass task class. null: the task class of the containing module applies
+     * @throws WrongUseException thrown, if jPac is already running
+     */
+    public void setTaskClass(TaskClass taskClass) throws WrongUseException{
+        if (jPac.getStatus() == JPac.Status.running){
+            throw new WrongUseException("task class of module '" + getQualifiedName() + "' must be assigned before jPac is started");
+        }
+        this.taskClass = taskClass;
+    }
+
+    /**
+     * @return the task class of this module, inherited from its containing module, if not assigned. null, if the module is serviced in every cycle
+     */
+    public TaskClass getTaskClass(){
+        return taskClass != null ? taskClass : containingModule != null ? containingModule.getTaskClass() : null;
+    }
+
     /**
      * @return true, if this module is run on this elbfisch instance
      */
@@ -552,8 +653,15 @@ public abstract class AbstractModule extends Thread{
      */
     @Override
     public void start(){
-        //start myself on my own thread
-        super.start();
+        if (jPac.isRunningModulesOnVirtualThreads()){
+            //start myself on a virtual thread
+            executingThread = VirtualThreads.newThread(getName(), this);
+            executingThread.start();
+        }
+        else{
+            //start myself on my own thread
+            super.start();
+        }
         //and wait, until my thread enters its initial wait state (see run())
         while(getState() != State.WAITING);
         if (containingModule == null){
@@ -564,6 +672,65 @@ public abstract class AbstractModule extends Thread{
         }        
     }
     
+    /**
+     * @return the state of the thread executing this module
+     */
+    @Override
+    public State getState(){
+        return executingThread == this ? super.getState() : executingThread.getState();
+    }
+
+    /**
+     * @return the stack trace of the thread executing this module
+     */
+    @Override
+    public StackTraceElement[] getStackTrace(){
+        return executingThread == this ? super.getStackTrace() : executingThread.getStackTrace();
+    }
+
+    /**
+     * @return the thread executing the work() of this module. If modules are run on virtual threads, it differs from the module itself.
+     */
+    public Thread getExecutingThread(){
+        return executingThread;
+    }
+
+    /**
+     * @return the module, whose work() is executed by the calling thread or null, if called outside the context of a module 
+     */
+    public static AbstractModule getCurrentModule(){
+        Thread thread = Thread.currentThread();
+        return thread instanceof AbstractModule ? (AbstractModule)thread : currentModule.get();
+    }
+
+    /**
+     * used to identify the context of the calling thread as an integer token, which can be compared cheaply
+     * with the module index of the owner of a signal. 
+     * @return the module index of the module, whose work() or inEveryCycleDo() is executed by the calling thread,
+     *         JPACCONTEXT, if called by jPac outside the processing of a module, or FOREIGNCONTEXT otherwise
+     */
+    public static int getAccessContext(){
+        Thread thread = Thread.currentThread();
+        if (thread instanceof AbstractModule){
+            return ((AbstractModule)thread).moduleIndex;
+        }
+        if (thread instanceof JPac){
+            AbstractModule processedModule = ((JPac)thread).getProcessedModule();
+            return processedModule != null ? processedModule.moduleIndex : JPACCONTEXT;
+        }
+        AbstractModule module = currentModule.get();
+        return module != null ? module.moduleIndex : FOREIGNCONTEXT;
+    }
+
+    /**
+     * used in place of Thread.currentThread() to identify the calling module, even if it is run on a virtual thread
+     * @return the module, whose work() is executed by the calling thread or the calling thread itself, if called outside the context of a module
+     */
+    public static Thread getCurrentThread(){
+        AbstractModule module = getCurrentModule();
+        return module != null ? module : Thread.currentThread();
+    }
+
     public Histogram getHistogram(){
         return histogramm;
     }
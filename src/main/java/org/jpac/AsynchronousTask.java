@@ -26,6 +26,9 @@
 
 package org.jpac;
 
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Asynchronous tasks can be used to implement long term functions which might exceed the cycle time of an
  * elbfisch application. They can be instantiated and started by modules.
@@ -67,13 +70,13 @@ public abstract class AsynchronousTask{
      * @throws WrongUseException thrown, when start() is called outside the context of a module or jPac
      */
     public void start() throws WrongUseException{
-        if (!((Thread.currentThread() instanceof AbstractModule) || (Thread.currentThread() instanceof JPac))){
+        if (!(AbstractModule.getCurrentModule() != null || (Thread.currentThread() instanceof JPac))){
             throw new WrongUseException("must be invoked inside a module or by jPac");
         }
         if (task == null || taskTerminated){
             String taskId;
-            if (Thread.currentThread() instanceof AbstractModule){
-                taskId = ((AbstractModule)Thread.currentThread()).getQualifiedName() + '.' + identifier;
+            if (AbstractModule.getCurrentModule() != null){
+                taskId = AbstractModule.getCurrentModule().getQualifiedName() + '.' + identifier;
             } 
             else {
                 taskId = "JPac." + identifier;
@@ -90,7 +93,7 @@ public abstract class AsynchronousTask{
      * @throws WrongUseException thrown, when start() is called outside the context of a module
      */
     public void terminate() throws WrongUseException{
-        if (!((Thread.currentThread() instanceof AbstractModule) || (Thread.currentThread() instanceof JPac))){
+        if (!(AbstractModule.getCurrentModule() != null || (Thread.currentThread() instanceof JPac))){
             throw new WrongUseException("must be invoked inside a module or by jPac");
         }
         if (task != null){
@@ -128,13 +131,21 @@ public abstract class AsynchronousTask{
      */
     public abstract void doIt()throws ProcessException;
     
-    private class TaskRunner extends Thread{
-        private boolean done;
-        private boolean startRequested;
-        private boolean stopRequested;
+    private class TaskRunner implements Runnable{
+        private boolean         done;
+        private boolean         startRequested;
+        private boolean         stopRequested;
+        private String          name;
+        private Thread          thread;
+        //a lock is used instead of a monitor, because waiting on monitors would pin the carrier of a virtual thread
+        private ReentrantLock   lock;
+        private Condition       invoked;
         
         public TaskRunner(String identifier){
-            this.setName(identifier);
+            this.name      = identifier;
+            this.thread    = null;
+            this.lock      = new ReentrantLock();
+            this.invoked   = lock.newCondition();
             startRequested = false;
             stopRequested  = false;
         }
@@ -165,23 +176,31 @@ public abstract class AsynchronousTask{
                 catch(Error exc){
                     finishedEvent.setProcessException(new AsynchronousTaskException(exc));
                 };
-                synchronized(this){
+                lock.lock();
+                try{
                     //denote completion
                     done = true;
                     //and wait for next invocation
                     do{
-                        try{wait();}catch(InterruptedException exc){}                
+                        try{invoked.await();}catch(InterruptedException exc){}                
                         }
                     while(!startRequested && !stopRequested);
                     startRequested = false;
                 }
+                finally{
+                    lock.unlock();
+                }
             }
             while(!stopRequested);
             //denote completion
             stopRequested = false;
-            synchronized(this){
+            lock.lock();
+            try{
                 done = true;
             }
+            finally{
+                lock.unlock();
+            }
         }
         
         public void invoke(boolean startStop){
@@ -193,23 +212,32 @@ public abstract class AsynchronousTask{
                 startRequested = false;
                 stopRequested  = true;
             }
-            if (!this.isAlive() && startRequested){
-                done = false;
-                start();
+            if ((thread == null || !thread.isAlive()) && startRequested){
+                done   = false;
+                thread = JPac.getInstance().isRunningModulesOnVirtualThreads() ? VirtualThreads.newThread(name, this) : new Thread(this, name);
+                thread.start();
             }
             else{
                 done = false;
-                synchronized(this){
-                    notify();
+                lock.lock();
+                try{
+                    invoked.signal();
+                }
+                finally{
+                    lock.unlock();
                 }
             }
         }
                 
         public boolean isDone(){
             boolean returnValue;
-            synchronized(this){
+            lock.lock();
+            try{
                 returnValue = done;
             }
+            finally{
+                lock.unlock();
+            }
             return returnValue;
         }
     }
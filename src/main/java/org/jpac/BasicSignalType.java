@@ -42,6 +42,8 @@ public enum BasicSignalType {
     CharString    (4),
     Unknown       (-1);
     
+    private static final BasicSignalType[] VALUES = values();//cached to avoid cloning values() on every decode
+
     int type;
     
     BasicSignalType(int type){
@@ -66,7 +68,7 @@ public enum BasicSignalType {
 
    public static BasicSignalType fromInt(int intVal){
         BasicSignalType  retValue = BasicSignalType.Unknown;
-        for (BasicSignalType res: BasicSignalType.values()){
+        for (BasicSignalType res: VALUES){
             if (res.type == intVal){
                 retValue = res;
             }
@@ -133,10 +133,10 @@ public class CharString extends Signal{
      * @param value: value, the char string is set to
      */
     public void setDeferred(String value){
-        CharStringValue localWrapperValue = new CharStringValue();
-        localWrapperValue.set(value);
-        localWrapperValue.setValid(true);
-        setValueDeferred(localWrapperValue);
+        DeferredSet deferredSet = DeferredSet.CHARSTRINGS.acquire(this);
+        ((CharStringValue)deferredSet.getValue()).set(value);
+        deferredSet.getValue().setValid(true);
+        setValueDeferred(deferredSet);
     }
     
 
@@ -162,7 +162,8 @@ public class CharString extends Signal{
      * returns a process event (CharStringChanges), which is fired, if the char string changes
      */    
     public CharStringChanges changes(){
-        return new CharStringChanges(this);
+        CharStringChanges event = getEventCache().get(CharStringChanges.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new CharStringChanges(this), 0L, 0L);
     }
 
     /**
@@ -31,6 +31,7 @@ package org.jpac;
  */
 public class CharStringChanges extends ProcessEvent{ 
     private CharString charString;
+    private Signal[]   observedSignals;
     /**
      * constructs a CharStringChanges
      * @param charString the CharString to supervise
@@ -58,4 +59,12 @@ public class CharStringChanges extends ProcessEvent{
         }
         return equal;
     }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        if (observedSignals == null || observedSignals[0] != charString){
+            observedSignals = new Signal[]{charString};
+        }
+        return observedSignals;
+    }
 }
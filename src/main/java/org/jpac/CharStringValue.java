@@ -38,10 +38,12 @@ public class CharStringValue implements Value, Cloneable, Serializable{
     
     protected String            value = new String();
     protected transient boolean valid = false;//transient to be compatible to legacy RemoteSignals
+    protected transient byte[]  encodedValue;//UTF-16 encoded value, cached until the value changes. Never modified once assigned
 
     
     public void set(String value){
-        this.value = value;
+        this.value        = value;
+        this.encodedValue = null;
     }
     
     public String get(){
@@ -60,13 +62,10 @@ public class CharStringValue implements Value, Cloneable, Serializable{
     
     @Override
     public void copy(Value aValue){
-        if (((CharStringValue)aValue).get() != null){
-            set(new String(((CharStringValue)aValue).get()));         
-        }
-        else{
-            set(null);
-        }
-        this.valid = aValue.isValid();        
+        //strings are immutable: the value and its encoded representation can be shared
+        this.value        = ((CharStringValue)aValue).get();
+        this.encodedValue = ((CharStringValue)aValue).encodedValue;
+        this.valid        = aValue.isValid();        
     }
 
     @Override
@@ -97,17 +96,39 @@ public class CharStringValue implements Value, Cloneable, Serializable{
 
     @Override
     public void encode(ByteBuf byteBuf){
+        if (encodedValue == null){
+            encodedValue = get().getBytes(StandardCharsets.UTF_16);
+        }
         byteBuf.writeByte(valid ? 1 : 0);
-        byteBuf.writeInt(get().getBytes(StandardCharsets.UTF_16).length);
-        byteBuf.writeBytes(get().getBytes(StandardCharsets.UTF_16));
+        byteBuf.writeInt(encodedValue.length);
+        byteBuf.writeBytes(encodedValue);
     }
 
     @Override
     public void decode(ByteBuf byteBuf){
         valid = byteBuf.readByte() == 0 ? false : true;
         int length   = byteBuf.readInt();
-        byte[] bytes = new byte[length];
-        byteBuf.readBytes(bytes);
-        set(new String(bytes, StandardCharsets.UTF_16));
+        if (isEncodedValue(byteBuf, length)){
+            //value unchanged: just skip it
+            byteBuf.skipBytes(length);
+        }
+        else{
+            byte[] bytes = new byte[length];
+            byteBuf.readBytes(bytes);
+            value        = new String(bytes, StandardCharsets.UTF_16);
+            encodedValue = bytes;
+        }
+    }
+
+    /**
+     * @return true, if the next length bytes of the given buffer match the cached encoded value
+     */
+    protected boolean isEncodedValue(ByteBuf byteBuf, int length){
+        boolean equal = encodedValue != null && value != null && encodedValue.length == length;
+        int     index = byteBuf.readerIndex();
+        for (int i = 0; equal && i < length; i++){
+            equal = encodedValue[i] == byteBuf.getByte(index + i);
+        }
+        return equal;
     }    
 }
@@ -94,4 +94,16 @@ public class ConjunctiveEvent extends ProcessEvent{
         return eventList;
     }
 
+    @Override
+    protected void uncache(){
+        super.uncache();
+        for (ProcessEvent pe: combinedEvents){
+            pe.uncache();
+        }
+    }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        return getObservedSignals(combinedEvents);
+    }
 }
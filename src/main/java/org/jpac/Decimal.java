@@ -242,10 +242,10 @@ public class Decimal extends Signal{
      * @param value: value, the decimal is set to
      */
     public void setDeferred(double value){
-        DecimalValue localWrapperValue = new DecimalValue();
-        localWrapperValue.set(value);
-        localWrapperValue.setValid(true);
-        setValueDeferred(localWrapperValue);
+        DeferredSet deferredSet = DeferredSet.DECIMALS.acquire(this);
+        ((DecimalValue)deferredSet.getValue()).set(value);
+        deferredSet.getValue().setValid(true);
+        setValueDeferred(deferredSet);
     }
     
 
@@ -272,7 +272,8 @@ public class Decimal extends Signal{
      * @param threshold: threshold to be supervised
      */
     public DecimalExceeds exceeds(double threshold){
-        return new DecimalExceeds(this, threshold);
+        DecimalExceeds event = getEventCache().get(DecimalExceeds.class, Double.doubleToLongBits(threshold), 0L);
+        return event != null ? event : getEventCache().put(new DecimalExceeds(this, threshold), Double.doubleToLongBits(threshold), 0L);
     }
 
     /**
@@ -280,7 +281,8 @@ public class Decimal extends Signal{
      * @param threshold: threshold to be supervised
      */
     public DecimalFallsBelow fallsBelow(double threshold){
-        return new DecimalFallsBelow(this, threshold);
+        DecimalFallsBelow event = getEventCache().get(DecimalFallsBelow.class, Double.doubleToLongBits(threshold), 0L);
+        return event != null ? event : getEventCache().put(new DecimalFallsBelow(this, threshold), Double.doubleToLongBits(threshold), 0L);
     }
 
     /**
@@ -289,6 +291,7 @@ public class Decimal extends Signal{
      * @param threshold: threshold to be supervised
      */
     public DecimalChanges changes(double baseValue, double threshold){
+        //not cached: base values are commonly taken from the current value of the signal
         return new DecimalChanges(this, baseValue, threshold);
     }
 
@@ -297,7 +300,8 @@ public class Decimal extends Signal{
      * CAUTION: may be fired unintentionally due to noise in the last decimal places
      */
     public DecimalChanges changes(){
-        return new DecimalChanges(this, 0.0, 0.0);
+        DecimalChanges event = getEventCache().get(DecimalChanges.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new DecimalChanges(this, 0.0, 0.0), 0L, 0L);
     }
 
     private void assertRange(double newValue) throws NumberOutOfRangeException{
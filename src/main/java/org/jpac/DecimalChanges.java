@@ -48,6 +48,7 @@ public class DecimalChanges extends DecimalEvent{
      * @param baseValue 
      */
     public void setBaseValue(double baseValue){
+        uncache();
         this.baseValue = baseValue;
     }
     
@@ -31,8 +31,9 @@ package org.jpac;
  */
 
 abstract class DecimalEvent extends ProcessEvent{
-    protected Decimal decimal;
-    protected double  threshold;
+    protected Decimal  decimal;
+    protected double   threshold;
+    private   Signal[] observedSignals;
     
     
     DecimalEvent(Decimal decimal, double threshold){
@@ -42,6 +43,7 @@ abstract class DecimalEvent extends ProcessEvent{
     }
     
     public void setDecimal(Decimal decimal){
+        uncache();
         this.decimal = decimal;
     }
     
@@ -54,6 +56,7 @@ abstract class DecimalEvent extends ProcessEvent{
      * @param threshold 
      */
     public void setThreshold(double threshold){
+        uncache();
         this.threshold = threshold;
     }
     
@@ -65,4 +68,12 @@ abstract class DecimalEvent extends ProcessEvent{
     public String toString(){
         return getClass().getSimpleName() + "(" + decimal + ")";
     }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        if (observedSignals == null || observedSignals[0] != decimal){
+            observedSignals = new Signal[]{decimal};
+        }
+        return observedSignals;
+    }
 }
@@ -0,0 +1,137 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : DeferredSet.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * record describing the alteration of a signal requested by a thread, which is not a module and not the jPac thread.
+ * It is applied by jPac at the start of the next cycle. 
+ * Records of the primitive signal types carry a value instance of their own and are pooled, so requesting a deferred
+ * alteration does not allocate memory once the pool has been filled.
+ * @author berndschuster
+ */
+class DeferredSet extends DeferredTaskQueue.Task{
+    static final Pool LOGICALS       = new Pool(LogicalValue::new);
+    static final Pool SIGNEDINTEGERS = new Pool(SignedIntegerValue::new);
+    static final Pool DECIMALS       = new Pool(DecimalValue::new);
+    static final Pool CHARSTRINGS    = new Pool(CharStringValue::new);
+    static final Pool INVALIDATIONS  = new Pool(null);
+
+    /**
+     * lock free pool of records. Every slot is taken and returned atomically, so records are never handed out twice.
+     * If the pool is exhausted, new records are instantiated.
+     */
+    static class Pool{
+        private static final int SIZE = 64;
+        
+        private final AtomicReferenceArray<DeferredSet> slots;
+        private final Supplier<Value>                   valueSupplier;
+
+        private Pool(Supplier<Value> valueSupplier){
+            this.slots         = new AtomicReferenceArray<>(SIZE);
+            this.valueSupplier = valueSupplier;
+        }
+
+        /**
+         * used to retrieve a record for the given signal
+         * @param signal signal to be altered
+         * @return the record. Its value must be set by the caller
+         */
+        DeferredSet acquire(Signal signal){
+            DeferredSet deferredSet = null;
+            for (int i = 0; i < SIZE && deferredSet == null; i++){
+                if (slots.get(i) != null){
+                    deferredSet = slots.getAndSet(i, null);
+                }
+            }
+            if (deferredSet == null){
+                deferredSet = new DeferredSet(this, valueSupplier != null ? valueSupplier.get() : null);
+            }
+            deferredSet.signal = signal;
+            return deferredSet;
+        }
+
+        private void release(DeferredSet deferredSet){
+            for (int i = 0; i < SIZE; i++){
+                if (slots.get(i) == null && slots.compareAndSet(i, null, deferredSet)){
+                    return;
+                }
+            }
+            //pool is full: leave the record to the garbage collector
+        }
+    }
+
+    private final Pool  pool;
+    private final Value value;
+    private Signal      signal;
+
+    private DeferredSet(Pool pool, Value value){
+        this.pool  = pool;
+        this.value = value;
+    }
+
+    /**
+     * used to construct a record, which is not pooled
+     * @param signal signal to be altered
+     * @param value value to be set or null, if the signal is to be invalidated
+     */
+    DeferredSet(Signal signal, Value value){
+        this.pool   = null;
+        this.value  = value;
+        this.signal = signal;
+    }
+
+    /**
+     * @return the value to be set. 
+     */
+    Value getValue(){
+        return value;
+    }
+
+    @Override
+    protected void run(){
+        try{
+            if (value != null){
+                signal.setValue(value);
+            }
+            else{
+                signal.invalidate();
+            }
+        }
+        catch(SignalAccessException exc){/*cannot happen*/};
+    }
+
+    @Override
+    protected void recycle(){
+        signal = null;
+        if (pool != null){
+            pool.release(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : DeferredSetBatch.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac;
+
+/**
+ * used to alter a set of signals from a thread, which is not a module and not the jPac thread.
+ * All alterations collected by a batch are applied together at the start of the same jPac cycle,
+ * so modules will never observe a part of them only:
+ * <pre>
+ *   DeferredSetBatch batch = new DeferredSetBatch();
+ *   batch.set(speed, 1.5).set(enable, true).apply();
+ * </pre>
+ * A batch is not thread safe. It can be reused after apply() has been called.
+ * @author berndschuster
+ */
+public class DeferredSetBatch {
+    private DeferredSet first;
+    private DeferredSet last;
+    private int         size;
+
+    public DeferredSetBatch(){
+        this.first = null;
+        this.last  = null;
+        this.size  = 0;
+    }
+
+    public DeferredSetBatch set(Logical logical, boolean state){
+        DeferredSet deferredSet = DeferredSet.LOGICALS.acquire(logical);
+        ((LogicalValue)deferredSet.getValue()).set(state);
+        deferredSet.getValue().setValid(true);
+        return add(deferredSet);
+    }
+
+    public DeferredSetBatch set(SignedInteger signedInteger, int value){
+        DeferredSet deferredSet = DeferredSet.SIGNEDINTEGERS.acquire(signedInteger);
+        ((SignedIntegerValue)deferredSet.getValue()).set(value);
+        deferredSet.getValue().setValid(true);
+        return add(deferredSet);
+    }
+
+    public DeferredSetBatch set(Decimal decimal, double value){
+        DeferredSet deferredSet = DeferredSet.DECIMALS.acquire(decimal);
+        ((DecimalValue)deferredSet.getValue()).set(value);
+        deferredSet.getValue().setValid(true);
+        return add(deferredSet);
+    }
+
+    public DeferredSetBatch set(CharString charString, String value){
+        DeferredSet deferredSet = DeferredSet.CHARSTRINGS.acquire(charString);
+        ((CharStringValue)deferredSet.getValue()).set(value);
+        deferredSet.getValue().setValid(true);
+        return add(deferredSet);
+    }
+
+    public DeferredSetBatch invalidate(Signal signal){
+        return add(DeferredSet.INVALIDATIONS.acquire(signal));
+    }
+
+    /**
+     * used to hand over the collected alterations to jPac. They are applied at the start of the next cycle.
+     */
+    public void apply(){
+        if (first != null){
+            JPac.getInstance().invokeLater(first, last);
+        }
+        first = null;
+        last  = null;
+        size  = 0;
+    }
+
+    /**
+     * @return the number of alterations collected since the last apply()
+     */
+    public int size(){
+        return size;
+    }
+
+    private DeferredSetBatch add(DeferredSet deferredSet){
+        //the chain is built in reverse order, because it is pushed onto the stack of the deferred task queue as a whole
+        DeferredTaskQueue.link(deferredSet, first);
+        if (last == null){
+            last = deferredSet;
+        }
+        first = deferredSet;
+        size++;
+        return this;
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : DeferredTaskQueue.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * lock free multi producer, single consumer queue of tasks to be run by jPac synchronized to its cycle.
+ * Producers push their tasks onto an intrusive stack using a single compare and set operation.
+ * At the start of every cycle jPac takes over all tasks enqueued so far in one step and runs them in the
+ * order of their arrival. Tasks enqueued while the batch is run are handled in the next cycle.
+ * @author berndschuster
+ */
+class DeferredTaskQueue {
+    static Logger Log = LoggerFactory.getLogger("jpac.JPac");
+
+    /**
+     * task to be run by jPac. Tasks are linked intrusively, so enqueuing does not allocate memory
+     */
+    static abstract class Task{
+        private Task next;
+
+        /**
+         * called by jPac at the start of the cycle
+         */
+        protected abstract void run();
+
+        /**
+         * called by jPac after the task has been run. Can be overridden to return the task to a pool
+         */
+        protected void recycle(){};
+    }
+
+    private final AtomicReference<Task> head;
+
+    DeferredTaskQueue(){
+        this.head = new AtomicReference<>();
+    }
+
+    /**
+     * used to enqueue a single task
+     * @param task 
+     */
+    void enqueue(Task task){
+        enqueue(task, task);
+    }
+
+    /**
+     * used to enqueue a chain of tasks linked by enqueue order. The tasks are taken over by jPac
+     * together and run in the same cycle
+     * @param first first task of the chain
+     * @param last last task of the chain
+     */
+    void enqueue(Task first, Task last){
+        Task h;
+        do{
+            h         = head.get();
+            last.next = h;
+        }
+        while(!head.compareAndSet(h, first));
+    }
+
+    /**
+     * called by jPac to run all tasks enqueued so far. A task failing with an exception is logged
+     * and does not keep the remaining tasks from being run
+     */
+    void runAll(){
+        Task task = head.getAndSet(null);
+        if (task == null){
+            return;
+        }
+        //the tasks have been pushed onto a stack: restore the order of their arrival
+        Task prev = null;
+        while(task != null){
+            Task next = task.next;
+            task.next = prev;
+            prev      = task;
+            task      = next;
+        }
+        task = prev;
+        while(task != null){
+            Task next = task.next;
+            task.next = null;
+            try{
+                task.run();
+            }
+            catch(Exception exc){
+                Log.error("Error: ", exc);
+            }
+            finally{
+                task.recycle();
+            }
+            task = next;
+        }
+    }
+
+    /**
+     * used to link the tasks of a chain to be enqueued together. Chains are built in reverse order (see enqueue(Task, Task))
+     * @param task task to be linked
+     * @param next task enqueued before the given task
+     */
+    static void link(Task task, Task next){
+        task.next = next;
+    }
+}
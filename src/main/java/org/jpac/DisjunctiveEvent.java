@@ -91,4 +91,16 @@ public class DisjunctiveEvent extends ProcessEvent{
         return eventList;
     }
 
+    @Override
+    protected void uncache(){
+        super.uncache();
+        for (ProcessEvent pe: combinedEvents){
+            pe.uncache();
+        }
+    }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        return getObservedSignals(combinedEvents);
+    }
 }
@@ -32,7 +32,7 @@ package org.jpac;
 public class EmergencyStopException extends ProcessException{
   
     public EmergencyStopException(String message){
-        super(message + " (thrown by " + (Thread.currentThread() instanceof AbstractModule ? (AbstractModule)Thread.currentThread() : Thread.currentThread()) + ")");
+        super(message + " (thrown by " + AbstractModule.getCurrentThread() + ")");
         init();
     }
     public EmergencyStopException(Fireable fireable){
@@ -49,8 +49,8 @@ public class EmergencyStopException extends ProcessException{
     }
 
     private void init(){
-        if (Thread.currentThread() instanceof AbstractModule){
-            ((AbstractModule)Thread.currentThread()).setRequestingEmergencyStop(true);
+        if (AbstractModule.getCurrentModule() != null){
+            AbstractModule.getCurrentModule().setRequestingEmergencyStop(true);
         }
         JPac.getInstance().requestEmergencyStop(this);
     }
@@ -104,4 +104,16 @@ public class ExclusiveDisjunctiveEvent extends ProcessEvent{
         return eventList;
     }
 
+    @Override
+    protected void uncache(){
+        super.uncache();
+        for (ProcessEvent pe: combinedEvents){
+            pe.uncache();
+        }
+    }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        return getObservedSignals(combinedEvents);
+    }
 }
@@ -26,6 +26,7 @@
 
 package org.jpac;
 
+import java.util.concurrent.locks.LockSupport;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
@@ -35,6 +36,8 @@ import org.slf4j.Logger;
  */
 public abstract class Fireable{
     static Logger Log = LoggerFactory.getLogger("jpac.Fireable");
+    
+    protected static final Signal[] NOSIGNALS = new Signal[0];
 
     protected   boolean                  fired;
     private     boolean                  processed;
@@ -42,6 +45,9 @@ public abstract class Fireable{
     private     long                     cycleNumber;
     private     boolean                  notified;
     private     ProcessException         processException;
+    private     boolean                  indexed;
+    private     long                     notificationNanoTime;
+    private volatile boolean             released;              //used in low latency module hand off mode
 
     public Fireable(){
         initStates();
@@ -130,21 +136,52 @@ public abstract class Fireable{
             notified = true;
             //tell the module, that it has been awakened by an event.
             getObservingModule().setAwakenedByProcessEvent(true);
-            synchronized(this){
+            notificationNanoTime = System.nanoTime();
+            if (getObservingModule().getJPac().isLowLatencyModuleHandOff()){
                 //increment the count of modules awakened inside the current cycle
                 getObservingModule().getJPac().incrementAwakenedModulesCount();
-                notify();
+                released = true;
+                LockSupport.unpark(getObservingModule().getExecutingThread());
+            }
+            else{
+                synchronized(this){
+                    //increment the count of modules awakened inside the current cycle
+                    getObservingModule().getJPac().incrementAwakenedModulesCount();
+                    notify();
+                }
             }
         }
     }
 
 
+    /**
+     * @return the system nano time, at which the observing module has been notified last
+     */
+    protected long getNotificationNanoTime(){
+        return notificationNanoTime;
+    }
+
+    /**
+     * @return true, if the observing module has been released by jPac (low latency module hand off mode)
+     */
+    protected boolean isReleased(){
+        return released;
+    }
+
+    protected void setReleased(boolean released){
+        this.released = released;
+    }
+
     public void register() throws InconsistencyException{
         //register myself as an active waiting event
         if (!getObservingModule().getJPac().getAwaitedEventList().add(this)){
             //throw new InconsistencyException(this + " already registered in list of awaited events !");
             Log.error(this + " already registered in list of awaited events !");
         }
+        else{
+            //let jPac index me by the signals I depend on
+            getObservingModule().getJPac().indexAwaitedEvent(this);
+        }
     }
 
     public void unregister() throws InconsistencyException{
@@ -169,7 +206,7 @@ public abstract class Fireable{
      * @throws InconsistencyException thrown, if an jpac internal problem arose 
      */
     public void monitor() throws InconsistencyException{
-        AbstractModule module = (AbstractModule)Thread.currentThread();
+        AbstractModule module = AbstractModule.getCurrentModule();
         //reinitialize state var's
         reset();
         //store the module observing me
@@ -247,6 +284,10 @@ public abstract class Fireable{
      */
     protected void setProcessException(ProcessException processException) {
         this.processException = processException;
+        if (processException != null && getObservingModule() != null){
+            //make sure, that jPac evaluates me in the next cycle, even if my signals did not change
+            getObservingModule().getJPac().indicateProcessExceptionThrown(this);
+        }
     }
 
     protected boolean isProcessExceptionThrown(){
@@ -263,4 +304,22 @@ public abstract class Fireable{
         //Note: leave this code herein unchanged. It is implemented this way designedly.
         return false;
     }
+    
+    /**
+     * used by jPac to index awaited fireables by the signals their fire condition depends on (see JPac property "IndexedEventEvaluation").
+     * If a fireable returns a list of signals, its fire condition is evaluated only in cycles, in which at least one of them changed.
+     * CAUTION: if not overwritten, null is returned by default and the fireable is evaluated in every cycle
+     * @return the signals the fire condition depends on exclusively or null
+     */
+    protected Signal[] getObservedSignals(){
+        return null;
+    }
+
+    protected boolean isIndexed(){
+        return indexed;
+    }
+
+    protected void setIndexed(boolean indexed){
+        this.indexed = indexed;
+    }
 }
@@ -148,7 +148,7 @@ public class Handshake {
      * @throws SignalAccessException 
      */
     public void request() throws SignalAccessException, WrongUseException{
-        if (requestingModule != null && !Thread.currentThread().equals(requestingModule)){
+        if (requestingModule != null && !AbstractModule.getCurrentThread().equals(requestingModule)){
             throw new SignalAccessException("handshake " + this + " is seized by " + requestingModule);
         }
         if (request.isConnectedAsTarget()){
@@ -169,7 +169,7 @@ public class Handshake {
      * @throws SignalAccessException 
      */
     public void resetRequest() throws SignalAccessException, WrongUseException{
-        if (requestingModule != null && !Thread.currentThread().equals(requestingModule)){
+        if (requestingModule != null && !AbstractModule.getCurrentThread().equals(requestingModule)){
             throw new SignalAccessException("handshake " + this + " is seized by " + requestingModule);
         }
         if (request.isConnectedAsTarget()){
@@ -230,7 +230,7 @@ public class Handshake {
      * @throws SignalAccessException 
      */
     public void resetAcknowledgement() throws SignalAccessException, WrongUseException{
-        if (servingModule != null && !Thread.currentThread().equals(servingModule)){
+        if (servingModule != null && !AbstractModule.getCurrentThread().equals(servingModule)){
             throw new SignalAccessException("handshake " + this + " can only be reset by the acknowledging module");
         }
         if (active.isConnectedAsTarget() || resultSig.isConnectedAsTarget() || acknowledge.isConnectedAsTarget()){
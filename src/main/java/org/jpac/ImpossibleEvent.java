@@ -35,5 +35,10 @@ public class ImpossibleEvent extends ProcessEvent{
     public boolean fire() throws ProcessException {
         return false;
     }
-    
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        //never fires by its own
+        return NOSIGNALS;
+    }
 }
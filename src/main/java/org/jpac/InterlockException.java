@@ -51,7 +51,7 @@ abstract public class InterlockException extends ProcessException {
             for (Iterator i = signals.iterator(); i.hasNext();){
                 signalList.append(i.next());signalList.append("; ");
             }
-            message = "interlock detected by module " + ((AbstractModule)Thread.currentThread()).getName() + " :" + signalList;
+            message = "interlock detected by module " + AbstractModule.getCurrentModule().getName() + " :" + signalList;
         }
         return message;
     }
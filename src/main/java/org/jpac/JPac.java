@@ -34,15 +34,21 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
 import org.apache.commons.configuration.ConfigurationException;
@@ -57,11 +63,17 @@ import org.jpac.configuration.StringProperty;
 import org.jpac.console.TelnetService;
 import org.jpac.ef.CommandHandler;
 import org.jpac.ef.EfService;
+import org.jpac.jfr.CycleEvent;
+import org.jpac.jfr.FlightRecorderSupport;
+import org.jpac.jfr.IOExchangeEvent;
+import org.jpac.metrics.MetricsService;
 import org.jpac.opc.Opc;
 import org.jpac.opc.Opc.AccessLevel;
 import org.jpac.opc.OpcUaService;
 import org.jpac.snapshot.Snapshot;
+import org.jpac.statistics.CycleProfiler;
 import org.jpac.statistics.Histogram;
+import org.jpac.vioss.IOHandler;
 
 /**
  * central runtime engine of JPac
@@ -71,9 +83,20 @@ public class JPac extends Thread {
     static Logger Log = LoggerFactory.getLogger("jpac.JPac");
 
     private     final int       OWNMODULEINDEX                       = 0;
+    //phases of the cycle distinguished by the cycle profiler
+    private     static final int    PHASEDEFERREDTASKS               = 0;
+    private     static final int    PHASEPROPAGATION                 = 1;
+    private     static final int    PHASECYCLICTASKS                 = 2;
+    private     static final int    PHASEEFEXCHANGE                  = 3;
+    private     static final int    PHASEREMOTEPUSH                  = 4;
+    private     static final int    PHASEFIREABLES                   = 5;
+    private     static final int    PHASEINEVERYCYCLEDOS             = 6;
+    private     static final int    PHASEMODULES                     = 7;
     private     final long      DEFAULTCYCLETIME                     = 100000000L; // 100 ms
     private     final long      DEFAULTCYCLETIMEOUTTIME              = 1000000000L;// 1 s
     private     final int       MAXSHUTDOWNTIME                      = 2000;       // 2 s
+    private     final long      HISTOGRAMINTERVAL                    = 60000000000L;// 60 s
+    private     final long      STARTCYCLEPOLLINGTIME                = 100000000L; // 100 ms
     private     final int       EXITCODENORMALSHUTDOWN               = 0;
     private     final int       EXITCODEINITIALIZATIONERROR          = 100;
     private     final int       EXITCODEINTERNALERROR                = 101;
@@ -87,7 +110,8 @@ public class JPac extends Thread {
     private     final String    CFGDIR                               = "./cfg";
     private     final String    DATADIR                              = "./data";
     
-    public enum CycleMode{OneCycle, Bound, LazyBound, FreeRunning}
+    public enum CycleMode{OneCycle, Bound, LazyBound, FreeRunning, VirtualTime}
+    public enum CycleClock{Sleep, ParkNanos, SleepThenSpin, BusySpin}
     
     public      enum    Status{initializing, ready, running, halted};
 
@@ -97,12 +121,27 @@ public class JPac extends Thread {
     private     Set<Fireable>          awaitedEventList;
     private     Set<Fireable>          awaitedSimEventList;
     private     Set<Fireable>          firedEventList;
+    private     Set<Fireable>          latchedEventList;//events fired, while the task class of their observing module is not due
+    private     ConcurrentLinkedQueue<Fireable> newlyAwaitedEvents;       //events to be indexed by jPac
+    private     ConcurrentLinkedQueue<Fireable> processExceptionEvents;   //events, which received a process exception
+    private     Set<Fireable>          unindexedEventList;       //awaited events to be evaluated in every cycle
+    private     TimingWheel            timeoutTimingWheel;       //supervises timeouts of awaited events and expiry of free running timers (time base: expanded nano time)
+    private     TimingWheel            cycleTimingWheel;         //supervises expiry of timers and periods of time in cycle bound modes (time base: cycle number)
+    private     ArrayList<Signal>      changedObservedSignals;   //signals changed since last evaluation of the awaited events depending on them
+    private     Set<Fireable>          eventsToBeEvaluated;
     private     long                   minRemainingCycleTime;
     private     long                   maxRemainingCycleTime;
     private     long                   expectedCycleEndTime;
+    private     long                   scheduledCycleStartTime;
+    private     boolean                cycleEndAwaited;
+    private     boolean                cycleInvoked;             //OneCycle mode: current cycle has been started by invokeNextCycle()
+    private     long                   maxCycleStartJitter;
     private     long                   shutdownRequestTime;
     private     long                   cycleStartTime;
+    private     long                   previousCycleStartTime;
     private     long                   expansionTime;
+    private     long                   virtualCycleStartTime;
+    private     long                   previousVirtualCycleStartTime;
     private     long                   numberOfCyclesExceeded;
     private     long                   cycleNumber;
     private     Status                 status;
@@ -118,12 +157,18 @@ public class JPac extends Thread {
     
     private     boolean                normalShutdownPending;
     
-    private     final List<Runnable>   synchronizedTasks;
+    private     final DeferredTaskQueue deferredTasks;
     private     final List<CyclicTask> cyclicTasks;
+    private     final Hashtable<String, TaskClass> taskClasses;
+    private     final ConcurrentHashMap<CyclicTask, TaskClass> cyclicTaskClasses;
+    private     boolean                multiRate;//true, if at least one task class is defined
     
     private LongProperty    propCycleTime;
     private LongProperty    propCycleTimeoutTime;
     private StringProperty  propCycleMode;
+    private StringProperty  propCycleClock;
+    private LongProperty    propCycleClockSpinWindow;
+    private BooleanProperty propCycleDriftCompensation;
     private BooleanProperty propRunningStandalone;
     private BooleanProperty propEnableTrace;
     private BooleanProperty propPauseOnBreakPoint;
@@ -143,15 +188,36 @@ public class JPac extends Thread {
     private IntProperty     propEfServicePort;
     private StringProperty  propEfDefaultAccessLevel;
     private IntProperty     propEfReceiveBufferSize;
+    private BooleanProperty propEfPushModeEnabled;
+    private BooleanProperty propEfPipelinedTransceive;
+    private IntProperty     propEfMaxStaleCycles;
+    private IntProperty     propEfResponseTimeout;
+    private BooleanProperty propEfCompactEncodingEnabled;
+    private BooleanProperty propEfDeltaEncodingEnabled;
     private BooleanProperty propConsoleServiceEnabled;
     private IntProperty     propConsoleServicePort;
     private StringProperty  propConsoleBindAddress;
+    private BooleanProperty propMetricsServiceEnabled;
+    private IntProperty     propMetricsServicePort;
+    private StringProperty  propMetricsBindAddress;
     private BooleanProperty propGenerateSnapshotOnShutdown;
+    private BooleanProperty propIndexedEventEvaluation;
+    private BooleanProperty propLowLatencyModuleHandOff;
+    private LongProperty    propModuleHandOffSpinTime;
+    private BooleanProperty propRunModulesOnVirtualThreads;
+    private BooleanProperty propCaptureStackTraceOnDemand;
+    private BooleanProperty propReuseProcessEvents;
+    private BooleanProperty propFastSignalAccess;
+    private BooleanProperty propCycleProfiling;
+    private BooleanProperty propFlightRecorderEvents;
     
     private String            instanceIdentifier;
     private long              cycleTime;
     private long              cycleTimeoutTime;
     private CycleMode         cycleMode;
+    private CycleClock        cycleClock;
+    private long              cycleClockSpinWindow;
+    private boolean           cycleDriftCompensation;
     private boolean           runningStandalone;
     private boolean           enableTrace;
     private boolean           pauseOnBreakPoint;
@@ -172,10 +238,32 @@ public class JPac extends Thread {
     private Opc.AccessLevel   efDefaultAccessLevel;
     private String            efBindAddress;
     private int               efReceiveBufferSize;
+    private boolean           efPushModeEnabled;
+    private boolean           efPipelinedTransceive;
+    private int               efMaxStaleCycles;
+    private int               efResponseTimeout;
+    private boolean           efCompactEncodingEnabled;
+    private boolean           efDeltaEncodingEnabled;
     private boolean           consoleServiceEnabled;
     private int               consoleServicePort;
     private String            consoleBindAddress;
+    private boolean           metricsServiceEnabled;
+    private int               metricsServicePort;
+    private String            metricsBindAddress;
     private boolean           generateSnapshotOnShutdown;
+    private boolean           indexedEventEvaluation;
+    private boolean           lowLatencyModuleHandOff;
+    private long              moduleHandOffSpinTime;
+    private boolean           runningModulesOnVirtualThreads;
+    private boolean           capturingStackTraceOnDemand;
+    private boolean           reusingProcessEvents;
+    private boolean           fastSignalAccess;
+    private boolean           cycleProfiling;
+    private CycleProfiler     cycleProfiler;    //used to determine the time and memory consumed by the phases of a cycle
+    private boolean           emittingFlightRecorderEvents;
+    private CycleEvent        cycleEvent;       //jfr event of the running cycle, null if not recorded
+    private long[]            phaseDurations;   //[ns] accumulated for the running cycle event
+    private long              lastPhaseMarkNanoTime;
     
     private CountingLock      activeEventsLock;
     
@@ -187,11 +275,17 @@ public class JPac extends Thread {
         
     private ProcessEvent      awaitedEventOfLastModule;
     
+    private SignalPropagator  signalPropagator;
+    
     private TraceQueue      traceQueue;
     
     private Histogram       cycleHistogram;   //used to determine the overall load per cycle
     private Histogram       systemHistogram;  //used to determine the system load during a cycle
     private Histogram       modulesHistogram; //used to determine the load produced by the application modules during a cycle
+    private Histogram       wakeUpHistogram;  //used to determine the latency between the notification of a module and its wake up
+    private Histogram       checkBackHistogram;//used to determine the latency between the check back of the last module and the continuation of jPac
+    private Histogram       startJitterHistogram;//used to determine the delay of the cycle starts against their schedule
+    private long            nextHistogramIntervalTime;//time at which the current interval of the histograms is completed
     
     private AbstractModule  processedModule;   //
     
@@ -208,6 +302,7 @@ public class JPac extends Thread {
     private OpcUaService    opcUaService;   
     private EfService       efService;
     private TelnetService   consoleService;
+    private MetricsService  metricsService;
     
     //    private ArrayList<AbstractModule> moduleList;
     private Hashtable<String, AbstractModule> moduleList;
@@ -222,14 +317,26 @@ public class JPac extends Thread {
         minRemainingCycleTime       = Long.MAX_VALUE;
         maxRemainingCycleTime       = 0;
         expectedCycleEndTime        = 0;
+        scheduledCycleStartTime     = 0;
+        cycleEndAwaited             = false;
+        maxCycleStartJitter         = 0;
         cycleStartTime              = 0;
+        previousCycleStartTime      = 0;
         expansionTime               = 0;
+        virtualCycleStartTime       = System.nanoTime();//virtual time line starts at the system's time
+        previousVirtualCycleStartTime = virtualCycleStartTime;
         status                      = Status.initializing;
         cycleNumber                 = 0;
 
-        awaitedEventList            = Collections.synchronizedSet(new HashSet<Fireable>());
+        awaitedEventList            = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<Fireable, Boolean>()));//no allocation on await()
         awaitedSimEventList         = Collections.synchronizedSet(new HashSet<Fireable>());
         firedEventList              = new HashSet<Fireable>();
+        latchedEventList            = new HashSet<Fireable>();
+        newlyAwaitedEvents          = new ConcurrentLinkedQueue<Fireable>();
+        processExceptionEvents      = new ConcurrentLinkedQueue<Fireable>();
+        unindexedEventList          = new HashSet<Fireable>();
+        changedObservedSignals      = new ArrayList<Signal>();
+        eventsToBeEvaluated         = new LinkedHashSet<Fireable>();
 
         readyToShutdown             = false;
         emergencyStopRequested      = false;
@@ -237,11 +344,14 @@ public class JPac extends Thread {
         emergencyStopIsToBeThrown   = false;
         emergencyStopCausedBy       = null;
         
-        synchronizedTasks           = Collections.synchronizedList(new ArrayList<Runnable>());
+        deferredTasks               = new DeferredTaskQueue();
         cyclicTasks                 = Collections.synchronizedList(new ArrayList<CyclicTask>());
+        taskClasses                 = new Hashtable<>();
+        cyclicTaskClasses           = new ConcurrentHashMap<>();
+        multiRate                   = false;
         
         startCycle                  = new Semaphore(1);
-        cycleEnded                  = new Semaphore(1);
+        cycleEnded                  = new Semaphore(0);
         
         startCycling                = new Synchronisation();
         shutdownRequest             = new Synchronisation();
@@ -252,6 +362,7 @@ public class JPac extends Thread {
                 
         activeEventsLock            = new CountingLock();
         awaitedEventOfLastModule    = null;
+        signalPropagator            = new SignalPropagator(this);
         
         moduleList                  = new Hashtable<>(20);
         traceQueue                  = null;
@@ -259,6 +370,9 @@ public class JPac extends Thread {
         cycleHistogram             = null;
         systemHistogram            = null;
         modulesHistogram           = null;
+        wakeUpHistogram            = null;
+        checkBackHistogram         = null;
+        startJitterHistogram       = null;
         processedModule             = null;
         
         exitCode                    = 0;
@@ -269,7 +383,10 @@ public class JPac extends Thread {
         try{
             propCycleTime                       = new LongProperty(this,"CycleTime",DEFAULTCYCLETIME,"[ns]",true);
             propCycleTimeoutTime                = new LongProperty(this,"CycleTimeoutTime",DEFAULTCYCLETIMEOUTTIME,"[ns]",true);
-            propCycleMode                       = new StringProperty(this,"CycleMode",CycleMode.LazyBound.toString(),"[OneCycle | Bound | LazyBound | FreeRunning]",true);
+            propCycleMode                       = new StringProperty(this,"CycleMode",CycleMode.LazyBound.toString(),"[OneCycle | Bound | LazyBound | FreeRunning | VirtualTime]",true);
+            propCycleClock                      = new StringProperty(this,"CycleClock",CycleClock.Sleep.toString(),"strategy used to wait for the end of the cycle [Sleep | ParkNanos | SleepThenSpin | BusySpin]",true);
+            propCycleClockSpinWindow            = new LongProperty(this,"CycleClockSpinWindow",100000L,"[ns] period of time spun at the end of the cycle by the SleepThenSpin cycle clock",true);
+            propCycleDriftCompensation          = new BooleanProperty(this,"CycleDriftCompensation",false,"cycles are started on an absolute schedule, so delayed starts do not accumulate",true);
             propRunningStandalone               = new BooleanProperty(this,"RunningStandalone",true,"must be true, if Elbfisch is run standalone",true);
             propEnableTrace                     = new BooleanProperty(this,"EnableTrace",false,"enables tracing of the module activity",true);
             propTraceTimeMinutes                = new IntProperty(this,"TraceTimeMinutes",0,"used to estimate the length of the trace buffer [min]",true);
@@ -289,15 +406,36 @@ public class JPac extends Thread {
             propEfServicePort                   = new IntProperty(this,"Ef.ServicePort",EfService.DEFAULTPORT,"port over which the elbfisch service is provided", true);
             propEfDefaultAccessLevel            = new StringProperty(this,"Ef.DefaultAccessLevel","NONE","access levels can be NONE,READ_ONLY,READ_WRITE", true);
             propEfReceiveBufferSize             = new IntProperty(this,"Ef.ReceiveBufferSize",EfService.DEFAULTRECEIVEBUFFERSIZE,"size of the receive buffer [byte]", true);
+            propEfPushModeEnabled               = new BooleanProperty(this,"Ef.PushModeEnabled",false,"changed signals are pushed by the elbfisch service to its clients instead of being polled (negotiated on subscription)", true);
+            propEfPipelinedTransceive           = new BooleanProperty(this,"Ef.PipelinedTransceive",false,"ef clients send their outputs without waiting for the acknowledgement, which is consumed in the next cycle", true);
+            propEfMaxStaleCycles                = new IntProperty(this,"Ef.MaxStaleCycles",3,"pipelined transception: number of cycles an acknowledgement may be outstanding before the input signals are invalidated", true);
+            propEfResponseTimeout               = new IntProperty(this,"Ef.ResponseTimeout",3000,"time [ms] an ef server is given to acknowledge a command before the connection is supposed to be broken", true);
+            propEfCompactEncodingEnabled        = new BooleanProperty(this,"Ef.CompactEncodingEnabled",false,"signals are exchanged in the compact wire format (negotiated on subscription)", true);
+            propEfDeltaEncodingEnabled          = new BooleanProperty(this,"Ef.DeltaEncodingEnabled",false,"signed integers are exchanged as differences to their preceding values (compact wire format only)", true);
             propConsoleServiceEnabled           = new BooleanProperty(this,"Console.ServiceEnabled",false,"enables the console service", true);
             propConsoleServicePort              = new IntProperty(this,"Console.ServicePort",CONSOLESERVICEDEFAULTPORT,"port over which the console service is provided", true);
             propConsoleBindAddress              = new StringProperty(this,"Console.BindAddress",DEFAULTSERVICEBINDADDRESS,"address the console service is bound to", true);
+            propMetricsServiceEnabled           = new BooleanProperty(this,"Metrics.ServiceEnabled",false,"enables the http service providing runtime metrics in Prometheus text format", true);
+            propMetricsServicePort              = new IntProperty(this,"Metrics.ServicePort",MetricsService.DEFAULTPORT,"port over which the metrics service is provided", true);
+            propMetricsBindAddress              = new StringProperty(this,"Metrics.BindAddress",DEFAULTSERVICEBINDADDRESS,"address the metrics service is bound to", true);
             propGenerateSnapshotOnShutdown      = new BooleanProperty(this,"GenerateSnapShotOnShutdown",false,"used to enable the generation of a snapshot on shutdown", true);
+            propIndexedEventEvaluation          = new BooleanProperty(this,"IndexedEventEvaluation",false,"awaited events are evaluated only in cycles, in which the signals they depend on have changed", true);
+            propLowLatencyModuleHandOff         = new BooleanProperty(this,"LowLatencyModuleHandOff",false,"modules are awakened and synchronized by means of an atomic counter and LockSupport.park()/unpark() instead of monitors", true);
+            propModuleHandOffSpinTime           = new LongProperty(this,"ModuleHandOffSpinTime",0L,"[ns] period of time spent spinning before parking in low latency module hand off mode", true);
+            propRunModulesOnVirtualThreads      = new BooleanProperty(this,"RunModulesOnVirtualThreads",false,"modules and asynchronous tasks are run on virtual threads (Java 21+). Implies LowLatencyModuleHandOff", true);
+            propCaptureStackTraceOnDemand       = new BooleanProperty(this,"CaptureStackTraceOnDemand",false,"stack traces of the modules are captured on demand (console, hang detection) instead of on every await()", true);
+            propReuseProcessEvents              = new BooleanProperty(this,"ReuseProcessEvents",false,"predicates of signals and timers (becomes(), exceeds(), expires() ...) return process events cached per calling module", true);
+            propCycleProfiling                  = new BooleanProperty(this,"CycleProfiling",false,"time and memory allocations consumed by the phases of the cycle are recorded and shown by 'show statistics'", true);
+            propFastSignalAccess                = new BooleanProperty(this,"FastSignalAccess",false,"signals are read by modules and jPac without acquiring their monitor. Threads not related to modules still synchronize", true);
+            propFlightRecorderEvents            = new BooleanProperty(this,"FlightRecorderEvents",false,"cycles, module activations, io exchanges, ef transceives and alarms are emitted as JDK Flight Recorder events, if a recording is running", true);
             
             instanceIdentifier              = InetAddress.getLocalHost().getHostName() + ":" + propRemoteSignalPort.get();
             cycleTime                       = propCycleTime.get();
             cycleTimeoutTime                = propCycleTimeoutTime.get();
             cycleMode                       = CycleMode.valueOf(propCycleMode.get());
+            cycleClock                      = CycleClock.valueOf(propCycleClock.get());
+            cycleClockSpinWindow            = propCycleClockSpinWindow.get();
+            cycleDriftCompensation          = propCycleDriftCompensation.get();
             runningStandalone               = propRunningStandalone.get();
             enableTrace                     = propEnableTrace.get();
             traceTimeMinutes                = propTraceTimeMinutes.get();
@@ -324,11 +462,45 @@ public class JPac extends Thread {
             efServicePort                   = propEfServicePort.get();
             efBindAddress                   = propEfBindAddress.get();
             efReceiveBufferSize             = propEfReceiveBufferSize.get();
+            efPushModeEnabled               = propEfPushModeEnabled.get();
+            efPipelinedTransceive           = propEfPipelinedTransceive.get();
+            efMaxStaleCycles                = propEfMaxStaleCycles.get();
+            efResponseTimeout               = propEfResponseTimeout.get();
+            efCompactEncodingEnabled        = propEfCompactEncodingEnabled.get();
+            efDeltaEncodingEnabled          = propEfDeltaEncodingEnabled.get();
             
             consoleServiceEnabled           = propConsoleServiceEnabled.get();
             consoleServicePort              = propConsoleServicePort.get();
             consoleBindAddress              = propConsoleBindAddress.get();
+            metricsServiceEnabled           = propMetricsServiceEnabled.get();
+            metricsServicePort              = propMetricsServicePort.get();
+            metricsBindAddress              = propMetricsBindAddress.get();
             generateSnapshotOnShutdown      = propGenerateSnapshotOnShutdown.get();
+            indexedEventEvaluation          = propIndexedEventEvaluation.get();
+            lowLatencyModuleHandOff         = propLowLatencyModuleHandOff.get();
+            moduleHandOffSpinTime           = propModuleHandOffSpinTime.get();
+            runningModulesOnVirtualThreads  = propRunModulesOnVirtualThreads.get();
+            capturingStackTraceOnDemand     = propCaptureStackTraceOnDemand.get();
+            reusingProcessEvents            = propReuseProcessEvents.get();
+            fastSignalAccess                = propFastSignalAccess.get();
+            cycleProfiling                  = propCycleProfiling.get();
+            emittingFlightRecorderEvents    = propFlightRecorderEvents.get() && FlightRecorderSupport.isAvailable();
+            phaseDurations                  = new long[PHASEMODULES + 1];
+            if (runningModulesOnVirtualThreads){
+                if (VirtualThreads.isSupported()){
+                    //modules waiting on monitors would pin their carrier threads
+                    lowLatencyModuleHandOff = true;
+                }
+                else{
+                    Log.error("virtual threads are not supported by this jvm (Java 21+ required). Modules are run on platform threads");
+                    runningModulesOnVirtualThreads = false;
+                }
+            }
+            if (lowLatencyModuleHandOff){
+                activeEventsLock            = new ParkingCountingLock();
+            }
+            timeoutTimingWheel              = new TimingWheel(cycleTime > 0 ? cycleTime : DEFAULTCYCLETIME);
+            cycleTimingWheel                = new TimingWheel(1);
             
             if (opcUaServiceEnabled){
                 if (propOpcUaDefaultAccessLevel.get().equals(OPCACCESSLEVELNONE)){
@@ -427,6 +599,7 @@ public class JPac extends Thread {
                 prepareOpcUaService();
                 prepareEfService();
                 prepareConsoleService();
+                prepareMetricsService();
                 prepareRemoteConnections(); 
                 prepareCyclicTasks();
             }
@@ -460,6 +633,12 @@ public class JPac extends Thread {
                     tracePoint = 1100;
                     //update cycle var's for this cycle
                     prepareCycle();
+                    if (cycleProfiling){
+                        cycleProfiler.startCycle();
+                    }
+                    if (emittingFlightRecorderEvents){
+                        beginCycleEvent();
+                    }
                     
                     //handle deferred tasks, which must be synchronized to the cycle:
                     //propagation of signals, connect/disconnect of signals etc.
@@ -468,15 +647,21 @@ public class JPac extends Thread {
                     //now fire events awaited by application modules
                     tracePoint = 1300;
                     handleFireables(getAwaitedEventList());       
+                    markPhase(PHASEFIREABLES);
                     //acquire system histogram information
                     modulesLoadStartTime = System.nanoTime();
                     systemHistogram.update(modulesLoadStartTime - systemLoadStartTime);
                     //invoke the inEveryCycleDo() for every active module
                     tracePoint = 1400;
                     handleInEveryCycleDos();                    
+                    markPhase(PHASEINEVERYCYCLEDOS);
                     //now start up application modules which have been awakenend before by fired process events
                     tracePoint = 1450;
                     handleAwakenedModules();
+                    markPhase(PHASEMODULES);
+                    if (cycleEvent != null){
+                        commitCycleEvent();
+                    }
                     
                     //acquire modules histogram information
                     modulesHistogram.update(System.nanoTime() - modulesLoadStartTime);
@@ -495,10 +680,10 @@ public class JPac extends Thread {
                     tracePoint = 1500;
                     long remainingCycleTime = expectedCycleEndTime - System.nanoTime();
                     acquireStatistics(remainingCycleTime);
-                    if(getCycleMode() != CycleMode.FreeRunning){
-                        //if not in FreeRunning  mode synchronize to the end of the cycle
+                    if(getCycleMode() != CycleMode.FreeRunning && getCycleMode() != CycleMode.VirtualTime){
+                        //if not in FreeRunning or VirtualTime mode synchronize to the end of the cycle
                         //now, wait for the end of the cycle
-                        wait4EndOfCycle(remainingCycleTime);
+                        wait4EndOfCycle();
                     }
                 }
                 catch (Exception ex){
@@ -538,6 +723,8 @@ public class JPac extends Thread {
             stopEfService();
             //stop console service, if running
             stopConsoleService();
+            //stop metrics service, if running
+            stopMetricsService();
             //clean up context of registered cyclic tasks
             stopCyclicTasks();
             //acknowledge request
@@ -565,51 +752,40 @@ public class JPac extends Thread {
     };
 
     private void handleFireables(Set<Fireable> fireableList) throws SomeEventsNotProcessedException, InconsistencyException{
-        boolean fired                        = false;
         boolean shutdownRequestedInThisCycle = isNormalShutdownRequested() && !normalShutdownPending;;
-        //check, if some of the currently registered Fireables can be fired in this cycle
-        for (Fireable f: fireableList) {
-            try{//the fireable is fired, if
-                //it is fired by its own,
-                //or if it is a ProcessEvent and an emergency stop is pending and the ProcessEvent is not awaited by a module, which threw
-                //an emergency stop exception during the last cycle,
-                //or if it is a ProcessEvent and it timed out during this cycle
-                //or shutdown is requested.
-                boolean fFired    = f.evaluateFiredCondition();
-                boolean fTimedOut = (f instanceof ProcessEvent) && ((ProcessEvent)f).evaluateTimedOutCondition();
-                
-                fired = fFired ||
-                        (f instanceof ProcessEvent && (shutdownRequestedInThisCycle                                                                       ||
-                                                       emergencyStopIsToBeThrown   && !((ProcessEvent)f).getObservingModule().isRequestingEmergencyStop())||
-                                                       fTimedOut                                                                                       );
-            }
-            catch(ProcessException exc){
-                //the fireable threw a process exception
-                //let the observing module handle this
-                fired = true;
-            }
-            if (fired){
-                //add Fireable to the list of fired events
-                if (f instanceof ProcessEvent && shutdownRequestedInThisCycle){
-                    //if an shutdown request is pending,
-                    //let the awaiting module know about it
-                    ((ProcessEvent)f).setShutdownRequested(true);
-                } else if (f instanceof ProcessEvent && emergencyStopIsToBeThrown){
-                    //if an emergency stop request is pending,
-                    //let the awaiting module know about it
-                    ((ProcessEvent)f).setEmergencyStopOccured(true);
-                    ((ProcessEvent)f).setEmergencyStopCause(emergencyStopCausedBy.getMessage());                        
-                }
-                getFiredEventList().add(f);
+        if (multiRate){
+            //hand over the latched events, whose task class is due in this cycle
+            releaseLatchedEvents();
+        }
+        if (indexedEventEvaluation){
+            //take over the events awaited since the last cycle into the index
+            updateEventIndex();
+        }
+        if (indexedEventEvaluation && !shutdownRequestedInThisCycle && !emergencyStopIsToBeThrown){
+            //check only those Fireables, which might have changed their fired condition
+            for (Fireable f: collectEventsToBeEvaluated(fireableList)) {
+                handleFireable(f, shutdownRequestedInThisCycle);
             }
-            if (f instanceof ProcessEvent && ((ProcessEvent)f).getObservingModule().isRequestingEmergencyStop()){
-                //emergency stop request has been recognized above. Reset it instantly
-               ((ProcessEvent)f).getObservingModule().setRequestingEmergencyStop(false);                                                 
+        }
+        else{
+            //check, if some of the currently registered Fireables can be fired in this cycle
+            for (Fireable f: fireableList) {
+                handleFireable(f, shutdownRequestedInThisCycle);
             }
         }
+        eventsToBeEvaluated.clear();
         //remove fireables from awaited event list
         for (Fireable f: getFiredEventList()) {
              fireableList.remove(f);
+             if (f.isIndexed()){
+                 unindexEvent(f);
+             }
+        }
+        for (Fireable f: latchedEventList) {
+             fireableList.remove(f);
+             if (f.isIndexed()){
+                 unindexEvent(f);
+             }
         }
         
         if (shutdownRequestedInThisCycle){
@@ -621,9 +797,271 @@ public class JPac extends Thread {
         }
     }
     
+    private void handleFireable(Fireable f, boolean shutdownRequestedInThisCycle){
+        boolean fired = false;
+        try{//the fireable is fired, if
+            //it is fired by its own,
+            //or if it is a ProcessEvent and an emergency stop is pending and the ProcessEvent is not awaited by a module, which threw
+            //an emergency stop exception during the last cycle,
+            //or if it is a ProcessEvent and it timed out during this cycle
+            //or shutdown is requested.
+            boolean fFired    = f.evaluateFiredCondition();
+            boolean fTimedOut = (f instanceof ProcessEvent) && ((ProcessEvent)f).evaluateTimedOutCondition();
+            
+            fired = fFired ||
+                    (f instanceof ProcessEvent && (shutdownRequestedInThisCycle                                                                       ||
+                                                   emergencyStopIsToBeThrown   && !((ProcessEvent)f).getObservingModule().isRequestingEmergencyStop())||
+                                                   fTimedOut                                                                                       );
+        }
+        catch(ProcessException exc){
+            //the fireable threw a process exception
+            //let the observing module handle this
+            fired = true;
+        }
+        if (fired){
+            //add Fireable to the list of fired events
+            if (f instanceof ProcessEvent && shutdownRequestedInThisCycle){
+                //if an shutdown request is pending,
+                //let the awaiting module know about it
+                ((ProcessEvent)f).setShutdownRequested(true);
+            } else if (f instanceof ProcessEvent && emergencyStopIsToBeThrown){
+                //if an emergency stop request is pending,
+                //let the awaiting module know about it
+                ((ProcessEvent)f).setEmergencyStopOccured(true);
+                ((ProcessEvent)f).setEmergencyStopCause(emergencyStopCausedBy.getMessage());                        
+            }
+            if (multiRate && !isDue(f.getObservingModule())){
+                //the observing module will be awakened in the next cycle of its task class
+                latchedEventList.add(f);
+            }
+            else{
+                getFiredEventList().add(f);
+            }
+        }
+        if (f instanceof ProcessEvent && ((ProcessEvent)f).getObservingModule().isRequestingEmergencyStop()){
+            //emergency stop request has been recognized above. Reset it instantly
+           ((ProcessEvent)f).getObservingModule().setRequestingEmergencyStop(false);                                                 
+        }
+    }
+    
+    private void releaseLatchedEvents(){
+        Iterator<Fireable> it = latchedEventList.iterator();
+        while(it.hasNext()){
+            Fireable f = it.next();
+            if (isDue(f.getObservingModule())){
+                getFiredEventList().add(f);
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * @param module
+     * @return true, if the task class of the given module is due in the current cycle
+     */
+    private boolean isDue(AbstractModule module){
+        TaskClass taskClass = module != null ? module.getTaskClass() : null;
+        return taskClass == null || taskClass.isDue(cycleNumber);
+    }
+
+    /**
+     * used to index the events awaited since the last cycle by the signals their fire conditions depend on
+     */
+    private void updateEventIndex(){
+        Fireable f;
+        while((f = newlyAwaitedEvents.poll()) != null){
+            if (f.isIndexed()){
+                //already indexed
+                continue;
+            }
+            //newly awaited events are evaluated at least once
+            eventsToBeEvaluated.add(f);
+            f.setIndexed(true);
+            Signal[] observedSignals = f instanceof ProcessEvent && ((ProcessEvent)f).hasMonitoredEvents() ? null : f.getObservedSignals();
+            if (observedSignals == null){
+                //the fire condition of this event does not depend on signals exclusively
+                unindexedEventList.add(f);
+            }
+            else{
+                for (Signal s: observedSignals){
+                    s.getAwaitingEvents().add(f);
+                }
+                if (f instanceof TimerExpires){
+                    //will be evaluated, when its timer expires
+                    ((TimerExpires)f).getTimer().getExpiresEvents().add((TimerExpires)f);
+                } else if (f instanceof PeriodOfTime){
+                    //will be evaluated, when its period of time has passed
+                    ((PeriodOfTime)f).armPeriod();
+                }
+            }
+        }
+    }
+    
+    private void unindexEvent(Fireable f){
+        if (!unindexedEventList.remove(f)){
+            Signal[] observedSignals = f.getObservedSignals();
+            if (observedSignals != null){
+                for (Signal s: observedSignals){
+                    s.getAwaitingEvents().remove(f);
+                }
+            }
+            if (f instanceof TimerExpires){
+                ((TimerExpires)f).getTimer().getExpiresEvents().remove((TimerExpires)f);
+            } else if (f instanceof PeriodOfTime){
+                ((PeriodOfTime)f).cancelPeriod();
+            }
+        }
+        if (f instanceof ProcessEvent && ((ProcessEvent)f).isTimeoutSupervised()){
+            timeoutTimingWheel.cancel(((ProcessEvent)f).getTimeoutNode());
+        }
+        f.setIndexed(false);
+    }
+    
+    /**
+     * @return the set of awaited events, whose fire condition might have changed in this cycle
+     */
+    private Set<Fireable> collectEventsToBeEvaluated(Set<Fireable> fireableList){
+        Fireable f;
+        //let the timing wheels hand over the events, whose timeout or timer expired in this cycle
+        timeoutTimingWheel.advance(getExpandedCycleNanoTime());
+        cycleTimingWheel.advance(cycleNumber);
+        eventsToBeEvaluated.addAll(unindexedEventList);
+        for (Signal s: changedObservedSignals){
+            eventsToBeEvaluated.addAll(s.getAwaitingEvents());
+            s.setAwaitingEventsAffected(false);
+        }
+        changedObservedSignals.clear();
+        while((f = processExceptionEvents.poll()) != null){
+            eventsToBeEvaluated.add(f);
+        }
+        //events might have been fired by exceptional conditions (shutdown, emergency stop) in the meantime
+        eventsToBeEvaluated.removeIf(ev -> !fireableList.contains(ev));
+        return eventsToBeEvaluated;
+    }
+    
+    /**
+     * used to let jPac index an awaited event by the signals its fire condition depends on
+     * @param fireable 
+     */
+    protected void indexAwaitedEvent(Fireable fireable){
+        if (indexedEventEvaluation){
+            newlyAwaitedEvents.add(fireable);
+        }
+    }
+
+    /**
+     * used to let jPac evaluate the given event in the next cycle
+     * @param fireable 
+     */
+    protected void indicateProcessExceptionThrown(Fireable fireable){
+        if (indexedEventEvaluation){
+            processExceptionEvents.add(fireable);
+        }
+    }
+
+    /**
+     * used by the timing wheels to let jPac evaluate the given event in this cycle
+     * @param fireable 
+     */
+    protected void indicateDeadlineReached(Fireable fireable){
+        eventsToBeEvaluated.add(fireable);
+    }
+
+    /**
+     * used to supervise the timeout of an event awaited with a timeout
+     * @param processEvent 
+     */
+    protected void armTimeout(ProcessEvent processEvent){
+        if (indexedEventEvaluation){
+            if (processEvent.isTimeoutActive()){
+                //timed out, if the expanded cycle nano time exceeds the timeout nano time 
+                timeoutTimingWheel.arm(processEvent.getTimeoutNode(), processEvent.getTimeoutNanoTime() + 1);
+            }
+            else if (processEvent.isTimeoutSupervised()){
+                timeoutTimingWheel.cancel(processEvent.getTimeoutNode());
+            }
+        }
+    }
+
+    /**
+     * used to supervise the expiry of a running timer
+     * @param timer 
+     */
+    protected void armTimer(Timer timer){
+        if (indexedEventEvaluation){
+            switch(timer.getCycleMode()){
+                case FreeRunning:
+                case VirtualTime:
+                    timeoutTimingWheel.arm(timer.getTimeoutNode(), timer.getTimeoutTime());
+                    break;
+                case Bound:
+                case LazyBound:
+                    cycleTimingWheel.arm(timer.getTimeoutNode(), timer.getTimeoutCycle());
+                    break;
+                default:
+            }
+        }
+    }
+
+    /**
+     * used to stop the supervision of a timer
+     * @param timer 
+     */
+    protected void cancelTimer(Timer timer){
+        if (indexedEventEvaluation){
+            switch(timer.getCycleMode()){
+                case FreeRunning:
+                case VirtualTime:
+                    timeoutTimingWheel.cancel(timer.getTimeoutNode());
+                    break;
+                case Bound:
+                case LazyBound:
+                    cycleTimingWheel.cancel(timer.getTimeoutNode());
+                    break;
+                default:
+            }
+        }
+    }
+
+    /**
+     * used to let jPac evaluate the events awaiting the expiry of a timer in the next cycle, after it has been stopped while running
+     * @param timer 
+     */
+    protected void indicateTimerStopped(Timer timer){
+        if (indexedEventEvaluation){
+            switch(timer.getCycleMode()){
+                case FreeRunning:
+                case VirtualTime:
+                    timeoutTimingWheel.arm(timer.getTimeoutNode(), getExpandedCycleNanoTime());
+                    break;
+                case Bound:
+                case LazyBound:
+                    cycleTimingWheel.arm(timer.getTimeoutNode(), cycleNumber);
+                    break;
+                default:
+            }
+        }
+    }
+
+    protected TimingWheel getCycleTimingWheel(){
+        return cycleTimingWheel;
+    }
+
+    /**
+     * used by signals to let jPac evaluate the awaited events, depending on them
+     * @param signal 
+     */
+    protected void indicateObservedSignalChanged(Signal signal){
+        changedObservedSignals.add(signal);
+    }
+    
     private void handleInEveryCycleDos(){
         try{
             for (AbstractModule module: moduleList.values()){
+                if (multiRate && !isDue(module)){
+                    //task class of this module is not due in this cycle
+                    continue;
+                }
                 //invoke inEveryCycleDo() for all active modules
                 processedModule = module;
                 module.invokeInEveryCycleDo();
@@ -663,6 +1101,7 @@ public class JPac extends Thread {
                      }
                      break;
                 case FreeRunning:
+                case VirtualTime:
                      //wait until all modules have completed their tasks without time limit
                      activeEventsLock.waitForUnlock();
                      break;
@@ -692,6 +1131,7 @@ public class JPac extends Thread {
                         AbstractModule module = ((ProcessEvent)f).getObservingModule();
                         if (module.getState() != Thread.State.WAITING){
                             Log.error("  module '" + module + "' invoked by " + f + " hung up in state " + module.getStatus());                        
+                            module.captureStackTrace().forEach(l -> Log.error("    at " + l));
                         }
                         else{
                             Log.info("  module '" + module + "' invoked by " + f + " state " + module.getStatus());                                                    
@@ -701,9 +1141,13 @@ public class JPac extends Thread {
                 }
             }
             else{
-                //all modules came to an end for this cycle
-                //wait until the last made its wait() call
-                synchronizeOnLastModule();
+                if (!lowLatencyModuleHandOff){
+                    //all modules came to an end for this cycle
+                    //wait until the last made its wait() call
+                    synchronizeOnLastModule();
+                }
+                //acquire wake up and check back latencies
+                acquireHandOffLatencies();
             }
         }
         finally{
@@ -713,8 +1157,27 @@ public class JPac extends Thread {
 
     }
 
+    private void acquireHandOffLatencies(){
+        long now           = System.nanoTime();
+        long lastCheckBack = 0L;
+        if (getFiredEventList().isEmpty()){
+            return;
+        }
+        for (Fireable f: getFiredEventList()){
+            AbstractModule module = f.getObservingModule();
+            wakeUpHistogram.update(module.getWakeUpNanoTime() - f.getNotificationNanoTime());
+            if (lastCheckBack == 0L || module.getSleepNanoTime() - lastCheckBack > 0){
+                lastCheckBack = module.getSleepNanoTime();
+            }
+        }
+        checkBackHistogram.update(now - lastCheckBack);
+    }
+
     private void shutdownModulesImmediately(Set<Fireable> fireableList) throws InconsistencyException{
         try{
+            //awaken modules, whose events are latched, too
+            getFiredEventList().addAll(latchedEventList);
+            latchedEventList.clear();
             //invoke all waiting modules and let them handle their ShutdownException
             for (Fireable f: fireableList) {
                 if (f instanceof ProcessEvent){
@@ -735,7 +1198,7 @@ public class JPac extends Thread {
                 boolean moduleEnded = false;
                 do
                   try{
-                      module.join(MAXSHUTDOWNTIME);
+                      module.getExecutingThread().join(MAXSHUTDOWNTIME);
                       moduleEnded = true;
                   }
                   catch(InterruptedException exc){}
@@ -800,56 +1263,138 @@ public class JPac extends Thread {
      */
     @SuppressWarnings("deprecation")
 	private void handleDeferredTasks() throws SignalAlreadyConnectedException, SignalInvalidException, ConfigurationException, RemoteSignalException {
-        synchronized(synchronizedTasks){
-            for(Runnable r: synchronizedTasks){
-                //run synchronized task
-                r.run();
-            }            
-            //everything done. Prepare list for next cycle
-            synchronizedTasks.clear();
-        }
-
-        ConcurrentHashMap<Integer, Signal> signals = SignalRegistry.getInstance().getSignals();
-        synchronized(signals){
-            for(Signal s: signals.values()){
-                //handle requested (dis)connections of signals
-                s.handleConnections();
-                //apply intrinsic function
-                s.applyIntrinsicFunction();
-                //propagate signal alterations
-                s.propagate();
-            }
-        }
+        //run tasks and apply deferred signal alterations requested since the last cycle
+        deferredTasks.runAll();
+        markPhase(PHASEDEFERREDTASKS);
+
+        //only signals which have been changed, for which (dis)connections have been requested
+        //or which are controlled by an intrinsic function must be handled
+        SignalRegistry signalRegistry = SignalRegistry.getInstance();
+        ArrayList<Signal> changedSignals = signalRegistry.pollChangedSignals(true);
+        for(Signal s: changedSignals){
+            //handle requested (dis)connections of signals
+            s.handleConnections();
+            //apply intrinsic function
+            s.applyIntrinsicFunction();
+        }
+        //propagate signal alterations along the connections of the signals
+        signalPropagator.propagate(changedSignals);
+        markPhase(PHASEPROPAGATION);
         
         synchronized(cyclicTasks){
             for(CyclicTask ct: cyclicTasks){
+                if (multiRate && !isDue(ct)){
+                    //task class of this cyclic task is not due in this cycle
+                    continue;
+                }
                 //run cyclic task
-                ct.run();
+                if (emittingFlightRecorderEvents && ct instanceof IOHandler && IOExchangeEvent.isRecorded()){
+                    runIOHandler((IOHandler)ct);
+                }
+                else{
+                    ct.run();
+                }
             }            
         }
+        markPhase(PHASECYCLICTASKS);
         
         if (efServiceEnabled){
             efService.exchangeChangedSignals();
         }
+        markPhase(PHASEEFEXCHANGE);
 
         pushSignalsOverRemoteConnections();                 
+        markPhase(PHASEREMOTEPUSH);
 
         //propagate signals altered due to I/O operations 
-        synchronized(signals){
-            for(Signal s: signals.values()){
-                s.propagate();
+        signalPropagator.propagate(signalRegistry.pollChangedSignals(false));
+        markPhase(PHASEPROPAGATION);
+    }
+
+    /**
+     * used to account the time and memory consumed since the last mark to the given phase of the cycle
+     * @param phase 
+     */
+    private void markPhase(int phase){
+        if (cycleProfiling){
+            cycleProfiler.mark(phase);
+        }
+        if (cycleEvent != null){
+            long now = System.nanoTime();
+            phaseDurations[phase] += now - lastPhaseMarkNanoTime;
+            lastPhaseMarkNanoTime  = now;
+        }
+    }
+
+    /**
+     * used to start the flight recorder event of the running cycle, if enabled in the running recording
+     */
+    private void beginCycleEvent(){
+        if (CycleEvent.isRecorded()){
+            CycleEvent event = new CycleEvent();
+            for (int i = 0; i < phaseDurations.length; i++){
+                phaseDurations[i] = 0L;
             }
+            event.begin();
+            lastPhaseMarkNanoTime = System.nanoTime();
+            cycleEvent            = event;
+        }
+        else{
+            cycleEvent            = null;
+        }
+    }
+
+    private void commitCycleEvent(){
+        cycleEvent.end();
+        if (cycleEvent.shouldCommit()){
+            cycleEvent.cycleNumber = getCycleNumber();
+            cycleEvent.setPhaseDurations(phaseDurations);
+            cycleEvent.commit();
+        }
+        cycleEvent = null;
+    }
+
+    /**
+     * used to run an io handler recording its exchange as a flight recorder event
+     * @param ioHandler 
+     */
+    private void runIOHandler(IOHandler ioHandler){
+        IOExchangeEvent event = new IOExchangeEvent();
+        event.begin();
+        ioHandler.run();
+        event.end();
+        if (event.shouldCommit()){
+            event.ioHandler     = ioHandler.getUri().toString();
+            event.inputSignals  = ioHandler.getInputSignals().size();
+            event.outputSignals = ioHandler.getOutputSignals().size();
+            event.cycleNumber   = getCycleNumber();
+            event.commit();
         }
     }
     
     /*
      * used to invoke a task synchronized to the next jpac cycle
-     * CAUTION: The given task may not call invokeLater() directly or indirectly by itself !
+     * Tasks enqueued by a task itself are run in the following cycle
      */
     public void invokeLater(Runnable task){
-        synchronized(synchronizedTasks){
-            synchronizedTasks.add(task);
-        }
+        deferredTasks.enqueue(new RunnableTask(task));
+    }
+
+    /**
+     * used to enqueue a chain of deferred tasks, which are run together at the start of the next cycle
+     * @param first most recently linked task of the chain
+     * @param last earliest linked task of the chain
+     */
+    void invokeLater(DeferredTaskQueue.Task first, DeferredTaskQueue.Task last){
+        deferredTasks.enqueue(first, last);
+    }
+
+    /**
+     * used to enqueue a deferred alteration of a signal
+     * @param deferredSet 
+     */
+    void invokeLater(DeferredSet deferredSet){
+        deferredTasks.enqueue(deferredSet);
     }
 
     /*
@@ -866,6 +1411,17 @@ public class JPac extends Thread {
         }
     }
 
+    /*
+     * used to register a task, which is run at the beginning of every cycle of the given task class
+     * @param  task cyclic task 
+     * @param  taskClass task class 
+     * @throws WrongUseException, if the given task is already registered
+     */
+    public void registerCyclicTask(CyclicTask task, TaskClass taskClass) throws WrongUseException{
+        registerCyclicTask(task);
+        setTaskClass(task, taskClass);
+    }
+
     /*
      * used to register a task, which is run at the beginning of every jpac cycle
      */
@@ -873,6 +1429,69 @@ public class JPac extends Thread {
         synchronized(cyclicTasks){
             cyclicTasks.remove(task);
         }
+        cyclicTaskClasses.remove(task);
+    }
+
+    /**
+     * used to assign a task class to a cyclic task (IOHandler's for example)
+     * @param task cyclic task
+     * @param taskClass task class. null: the task is run in every cycle
+     */
+    public void setTaskClass(CyclicTask task, TaskClass taskClass){
+        if (taskClass != null){
+            cyclicTaskClasses.put(task, taskClass);
+        }
+        else{
+            cyclicTaskClasses.remove(task);
+        }
+    }
+
+    /**
+     * @param task cyclic task
+     * @return the task class of the given cyclic task, null, if it is run in every cycle
+     */
+    public TaskClass getTaskClass(CyclicTask task){
+        return cyclicTaskClasses.get(task);
+    }
+
+    /**
+     * @param task
+     * @return true, if the task class of the given cyclic task is due in the current cycle
+     */
+    private boolean isDue(CyclicTask task){
+        TaskClass taskClass = cyclicTaskClasses.get(task);
+        return taskClass == null || taskClass.isDue(cycleNumber);
+    }
+
+    /**
+     * used by task classes to register themselves
+     * @param taskClass
+     * @throws WrongUseException thrown, if jPac is already running or a task class of the same name is already registered
+     */
+    protected void registerTaskClass(TaskClass taskClass) throws WrongUseException{
+        if (status == Status.running){
+            throw new WrongUseException("task classes must be defined before jPac is started");
+        }
+        if (taskClasses.containsKey(taskClass.getName())){
+            throw new WrongUseException("task class '" + taskClass.getName() + "' already registered.");
+        }
+        taskClasses.put(taskClass.getName(), taskClass);
+        multiRate = true;
+    }
+
+    /**
+     * @param name name of the task class
+     * @return the task class of the given name, null, if not defined
+     */
+    public TaskClass getTaskClass(String name){
+        return taskClasses.get(name);
+    }
+
+    /**
+     * @return the defined task classes by their names
+     */
+    public Hashtable<String, TaskClass> getTaskClasses(){
+        return taskClasses;
     }
 
     /*
@@ -913,6 +1532,34 @@ public class JPac extends Thread {
     public long getCycleTime() {
         return cycleTime;
     }
+
+    /**
+     * @return the number of cycles, which exceeded the cycle time since start up
+     */
+    public long getNumberOfCyclesExceeded(){
+        return numberOfCyclesExceeded;
+    }
+
+    /**
+     * @return the minimum time in ns left over at the end of a cycle since start up
+     */
+    public long getMinRemainingCycleTime(){
+        return minRemainingCycleTime;
+    }
+
+    /**
+     * @return the maximum time in ns left over at the end of a cycle since start up
+     */
+    public long getMaxRemainingCycleTime(){
+        return maxRemainingCycleTime;
+    }
+
+    /**
+     * @return the maximum delay in ns of the start of a cycle against its schedule since start up
+     */
+    public long getMaxCycleStartJitter(){
+        return maxCycleStartJitter;
+    }
     /**
      * invoked a shutdown of the elbfisch application.
      * If called by a module shutdown() returns immediately. Otherwise it blocks, until the shutdown is acknowledged by jPac
@@ -1035,21 +1682,36 @@ public class JPac extends Thread {
     }
 
     protected void waitForStartCycleSignal(){
-        startCycle.acquireUninterruptibly();
+        //once a shutdown has been requested, cycles are run without further start signals
+        //until all modules are shut down. Otherwise a shutdown (hook) would wait forever
+        cycleInvoked = false;
+        while(!cycleInvoked && !isNormalShutdownRequested() && !isImmediateShutdownRequested()){
+            try{
+                cycleInvoked = startCycle.tryAcquire(STARTCYCLEPOLLINGTIME, TimeUnit.NANOSECONDS);
+            }
+            catch(InterruptedException exc){
+                /*nothing to do*/
+            }
+        }
+        if (!cycleInvoked){
+            //shutdown pending: a cycle invoked anyway is served by this one
+            cycleInvoked = startCycle.tryAcquire();
+        }
     }
     
     protected void signalEndOfCycle(){
-        //signal end of cycle
-        cycleEnded.release();
-        //aquire start semaphore in preparation of next cycle
-        //must be released instantly
-        startCycle.acquireUninterruptibly();
+        //signal end of cycle to the thread waiting in invokeNextCycle(). Cycles run during shutdown
+        //without being invoked are not signaled, so that no end of cycle permits pile up
+        if (cycleInvoked){
+            cycleInvoked = false;
+            cycleEnded.release();
+        }
     }
     
+    /**
+     * used in OneCycle mode to run exactly one cycle. Returns, when the cycle has finished
+     */
     public void invokeNextCycle(){
-        //aquire end of cycle semaphore in preparation for next cycle
-        //must be released instantly
-        cycleEnded.acquireUninterruptibly();
         //start cycle
         startCycle.release();
         //wait, until cycle has finished
@@ -1058,15 +1720,32 @@ public class JPac extends Thread {
 
     protected void prepareCycle(){
         //compute cycle time
-        cycleStartTime       = System.nanoTime();//the cycle starts now
-        expectedCycleEndTime = cycleStartTime + getCycleTime();
-//        expectedCycleEndTime = nextCycleStartTime + getCycleTime();
-//        if (expectedCycleEndTime < cycleStartTime){
-//            //if last cycle exceeded its end time more than one cycle time
-//            //sync cycle to current time
-//            expectedCycleEndTime = cycleStartTime + getCycleTime();
-//        }
-//        nextCycleStartTime = expectedCycleEndTime;
+        previousCycleStartTime  = cycleStartTime;
+        cycleStartTime          = System.nanoTime();//the cycle starts now
+        scheduledCycleStartTime = expectedCycleEndTime;
+        if (cycleEndAwaited){
+            //acquire the delay of the cycle start against its schedule
+            long cycleStartJitter = cycleStartTime - scheduledCycleStartTime;
+            startJitterHistogram.update(cycleStartJitter);
+            if (cycleStartJitter > maxCycleStartJitter){
+                maxCycleStartJitter = cycleStartJitter;
+            }
+            cycleEndAwaited = false;
+        }
+        if (cycleDriftCompensation && cycleStartTime - scheduledCycleStartTime < getCycleTime()){
+            //keep to the absolute schedule
+            expectedCycleEndTime = scheduledCycleStartTime + getCycleTime();
+        }
+        else{
+            //if last cycle exceeded its end time more than one cycle time
+            //sync cycle to current time
+            expectedCycleEndTime = cycleStartTime + getCycleTime();
+        }
+        if (cycleMode == CycleMode.VirtualTime){
+            //the virtual time line advances by exactly one cycle time, regardless of the elapsed wall time
+            previousVirtualCycleStartTime = virtualCycleStartTime;
+            virtualCycleStartTime        += getCycleTime();
+        }
         cycleNumber++;
                 
         //initialize active event counter
@@ -1086,21 +1765,65 @@ public class JPac extends Thread {
     }
 
     protected void initializeCycle(){
-        //set cycleEndTime, nextCycleStartTime to actual time, as if I am at the end of a previous cycle
+        //set cycleEndTime to actual time, as if I am at the end of a previous cycle
         expectedCycleEndTime = System.nanoTime();
-//        nextCycleStartTime   = expectedCycleEndTime;
+        cycleEndAwaited      = false;
     }
 
-    protected void wait4EndOfCycle(long remainingCycleTime){
-        boolean done = remainingCycleTime <= 0;
+    /**
+     * waits until the scheduled end of the current cycle (expectedCycleEndTime). Returns immediately, if the cycle
+     * already exceeded its end. In either case the start of the next cycle is acquired as cycle start jitter
+     */
+    protected void wait4EndOfCycle(){
+        long cycleEndTime = expectedCycleEndTime;
+        cycleEndAwaited   = true;
+        if (cycleEndTime - System.nanoTime() <= 0){
+            return;
+        }
+        switch(cycleClock){
+            case Sleep:
+                 sleepUntil(cycleEndTime);
+                 break;
+            case ParkNanos:
+                 parkUntil(cycleEndTime);
+                 break;
+            case SleepThenSpin:
+                 //sleep oversleeps by some 10 micro seconds. Spin the rest of the cycle
+                 sleepUntil(cycleEndTime - cycleClockSpinWindow);
+                 spinUntil(cycleEndTime);
+                 break;
+            case BusySpin:
+                 spinUntil(cycleEndTime);
+                 break;
+        }
+    }
+
+    private void sleepUntil(long time){
+        long    remainingTime = time - System.nanoTime();
+        boolean done          = remainingTime <= 0;
         while(!done){
             try{    
-                Thread.sleep(remainingCycleTime / 1000000l, (int)(remainingCycleTime % 1000000));
+                Thread.sleep(remainingTime / 1000000l, (int)(remainingTime % 1000000));
                 done = true;
             }
-            catch(InterruptedException exc){};
+            catch(InterruptedException exc){
+                remainingTime = time - System.nanoTime();
+                done          = remainingTime <= 0;
+            };
+        }
+    }
+
+    private void parkUntil(long time){
+        long remainingTime;
+        //parkNanos() might return spuriously
+        while((remainingTime = time - System.nanoTime()) > 0){
+            LockSupport.parkNanos(this, remainingTime);
         }
     }
+
+    private void spinUntil(long time){
+        while(time - System.nanoTime() > 0);
+    }
     
     protected void acquireStatistics(long remainingCycleTime){
         if(cycleNumber > 1){
@@ -1117,6 +1840,12 @@ public class JPac extends Thread {
                 maxRemainingCycleTime = remainingCycleTime;
             }
         }
+        long now = System.nanoTime();
+        if (now - nextHistogramIntervalTime >= 0){
+            //complete the current interval of all histograms
+            getHistograms().forEach(h -> h.rollInterval());
+            nextHistogramIntervalTime = now + HISTOGRAMINTERVAL;
+        }
     }
     
     public ArrayList<String> logStatistics(){
@@ -1133,20 +1862,41 @@ public class JPac extends Thread {
         int percentageCyclesExceeded        = (int)(100L * numberOfCyclesExceeded/getCycleNumber());        
         lines.add("cycle mode                : " + getCycleMode());
         lines.add("cycle time                : " + getCycleTime() + " ns");
-        if (getCycleMode() != CycleMode.FreeRunning){
+        if (getCycleMode() != CycleMode.FreeRunning && getCycleMode() != CycleMode.VirtualTime){
             lines.add("min remaining cycle time  : " + minRemainingCycleTime + " ns (" + percentageMinRemainingCycleTime + "%)");
             lines.add("max remaining cycle time  : " + maxRemainingCycleTime + " ns (" + percentageMaxRemainingCycleTime + "%)");
         }
+        if (getCycleMode() == CycleMode.Bound || getCycleMode() == CycleMode.LazyBound){
+            lines.add("cycle clock               : " + cycleClock + (cycleDriftCompensation ? " (drift compensated)" : ""));
+            lines.add("max. cycle start jitter   : " + maxCycleStartJitter + " ns");
+        }
         if (getCycleMode() == CycleMode.LazyBound){
             lines.add("number of cycles exceeded : " + numberOfCyclesExceeded + " of " + getCycleNumber() + " (" + percentageCyclesExceeded + "%)");
         }
+        for (TaskClass tc: taskClasses.values()){
+            lines.add("task class                : " + tc.getName() + " (period " + tc.getPeriodCycles() + " cycles, phase offset " + tc.getPhaseOffsetCycles() + " cycles)");
+        }
+        lines.add("max. propagation depth    : " + signalPropagator.getMaxPropagationDepth());
+        lines.add("overall cycle             : " + cycleHistogram.snapshot());
+        lines.add("  last " + HISTOGRAMINTERVAL / 1000000000L + " s               : " + cycleHistogram.getLastInterval());
+        lines.add("system load               : " + systemHistogram.snapshot());
+        lines.add("  last " + HISTOGRAMINTERVAL / 1000000000L + " s               : " + systemHistogram.getLastInterval());
+        lines.add("modules load              : " + modulesHistogram.snapshot());
+        lines.add("  last " + HISTOGRAMINTERVAL / 1000000000L + " s               : " + modulesHistogram.getLastInterval());
+        if (cycleProfiling){
+            lines.addAll(cycleProfiler.getStatistics());
+        }
         return lines;
     }
     
     public ArrayList<String> showStateOfModule(String qualifiedName){
         ArrayList<String> lines = new ArrayList<>();
         AbstractModule module = getModules().values().stream().filter(m -> m.getQualifiedName().equals(qualifiedName)).findFirst().get();
-        if (module != null){
+        if (module != null && module.isRunLocally() && capturingStackTraceOnDemand){
+            //the module is waiting for the next cycle. Capture the stack trace of its await()
+            lines.addAll(module.captureStackTrace());
+        }
+        else if (module != null){
             CharString[] cs = module.getStackTraceSignals();
             for (int i = 0; i < cs.length; i++){
                 if (cs[i].isValid()){
@@ -1165,6 +1915,9 @@ public class JPac extends Thread {
         histograms.add(cycleHistogram);
         histograms.add(systemHistogram);
         histograms.add(modulesHistogram);
+        histograms.add(wakeUpHistogram);
+        histograms.add(checkBackHistogram);
+        histograms.add(startJitterHistogram);
         getModules().values().stream().sorted((m1,m2) -> m1.getQualifiedName().compareTo(m2.getQualifiedName())).forEach(m -> histograms.add(m.getHistogram()));
         return histograms;
     }
@@ -1190,6 +1943,59 @@ public class JPac extends Thread {
         return this.CFGDIR;
     }
 
+    /**
+     * @return true, if modules are awakened and synchronized by means of LockSupport.park()/unpark()
+     */
+    public boolean isLowLatencyModuleHandOff(){
+        return this.lowLatencyModuleHandOff;
+    }
+
+    /**
+     * @return the period of time [ns] spent spinning before parking in low latency module hand off mode
+     */
+    public long getModuleHandOffSpinTime(){
+        return this.moduleHandOffSpinTime;
+    }
+
+    /**
+     * @return true, if the stack traces of the modules are captured on demand instead of on every await()
+     */
+    public boolean isCapturingStackTraceOnDemand(){
+        return this.capturingStackTraceOnDemand;
+    }
+
+    public boolean isFastSignalAccess(){
+        return this.fastSignalAccess;
+    }
+
+    /**
+     * @return true, if awaited events are evaluated only in cycles, in which the signals they depend on have changed
+     */
+    public boolean isIndexedEventEvaluation(){
+        return this.indexedEventEvaluation;
+    }
+
+    /**
+     * @return true, if JDK Flight Recorder events are emitted. Requires the jdk.jfr api to be present
+     */
+    public boolean isEmittingFlightRecorderEvents(){
+        return this.emittingFlightRecorderEvents;
+    }
+
+    /**
+     * @return true, if the predicates of signals and timers return process events cached per calling module
+     */
+    public boolean isReusingProcessEvents(){
+        return this.reusingProcessEvents;
+    }
+
+    /**
+     * @return true, if modules and asynchronous tasks are run on virtual threads
+     */
+    public boolean isRunningModulesOnVirtualThreads(){
+        return this.runningModulesOnVirtualThreads;
+    }
+
     public String getHistogramFile(){
         return this.histogramFile;
     }
@@ -1357,6 +2163,23 @@ public class JPac extends Thread {
         }        
     }
 
+    protected void prepareMetricsService() throws Exception{
+        if (metricsServiceEnabled){
+            metricsService = new MetricsService(metricsBindAddress, metricsServicePort);
+            metricsService.start();
+            Log.info("metrics service started");            
+        }
+    }
+
+    protected void stopMetricsService(){
+        //stop metrics server, if running
+        if (metricsService != null){
+            Log.info("stopping metrics service ...");
+            metricsService.stop();
+            Log.info("metrics service stopped");
+        }        
+    }
+
     public Boolean cleanUpConfiguration() throws ConfigurationException{
         boolean done = false;
         try{
@@ -1391,6 +2214,13 @@ public class JPac extends Thread {
         cycleHistogram   = new Histogram("overall cycle", cycleTime);
         systemHistogram  = new Histogram("system load", cycleTime);
         modulesHistogram = new Histogram("modules load", cycleTime);
+        wakeUpHistogram    = new Histogram("module wake up latency", cycleTime);
+        checkBackHistogram = new Histogram("module check back latency", cycleTime);
+        startJitterHistogram = new Histogram("cycle start jitter", cycleTime);
+        nextHistogramIntervalTime = System.nanoTime() + HISTOGRAMINTERVAL;
+        if (cycleProfiling){
+            cycleProfiler = new CycleProfiler("deferred tasks", "signal propagation", "cyclic tasks", "ef exchange", "remote push", "fireables", "inEveryCycleDo", "modules");
+        }
     }
     
     public Histogram getSystemHistogramm(){
@@ -1402,10 +2232,10 @@ public class JPac extends Thread {
 
     /**
      * 
-     * @return the systems nanotime synchronized to the current cycle.
+     * @return the systems nanotime synchronized to the current cycle. In VirtualTime mode the virtual start time of the current cycle
      */
     public long getCycleNanoTime(){
-        return cycleStartTime;
+        return cycleMode == CycleMode.VirtualTime ? virtualCycleStartTime : cycleStartTime;
     }
     
     /**
@@ -1413,7 +2243,24 @@ public class JPac extends Thread {
      * @return the start time of the current cycle (ns) corrected by the time spent on break points during a debug session
      */
     public long getExpandedCycleNanoTime(){
-        return cycleStartTime - expansionTime;
+        return getCycleNanoTime() - expansionTime;
+    }
+
+    /**
+     * 
+     * @return the systems nanotime synchronized to the previous cycle.
+     */
+    protected long getPreviousCycleNanoTime(){
+        return cycleMode == CycleMode.VirtualTime ? previousVirtualCycleStartTime : previousCycleStartTime;
+    }
+
+    /**
+     * 
+     * @return the actual time (ns) of jPac's time line. In VirtualTime mode the time does not elapse inside a cycle
+     *         and the virtual start time of the current cycle is returned. Otherwise System.nanoTime() is returned
+     */
+    public long getNanoTime(){
+        return cycleMode == CycleMode.VirtualTime ? virtualCycleStartTime : System.nanoTime();
     }
     
 //    public AbstractModule getModule(int i){
@@ -1430,6 +2277,13 @@ public class JPac extends Thread {
     public CycleMode getCycleMode() {
         return cycleMode;
     }
+
+    /**
+     * @return the strategy used to wait for the end of a cycle
+     */
+    public CycleClock getCycleClock() {
+        return cycleClock;
+    }
     
     public String getInstanceIdentifier(){
         return instanceIdentifier;
@@ -1443,6 +2297,10 @@ public class JPac extends Thread {
         return this.emergencyStopCausedBy;
     }
     
+    public SignalPropagator getSignalPropagator(){
+        return this.signalPropagator;
+    }
+    
     public AbstractModule getProcessedModule(){
         return this.processedModule;
     }
@@ -1485,6 +2343,48 @@ public class JPac extends Thread {
 		return efBindAddress;
 	}
 
+	/**
+	 * @return true, if changed signals are to be pushed to ef clients (server side) or requested to be pushed by ef servers (client side)
+	 */
+	public boolean isEfPushModeEnabled() {
+		return efPushModeEnabled;
+	}
+
+	/**
+	 * @return true, if ef clients send their Transceive commands without waiting for the acknowledgement. It is consumed in the next cycle
+	 */
+	public boolean isEfPipelinedTransceive() {
+		return efPipelinedTransceive;
+	}
+
+	/**
+	 * @return number of cycles the acknowledgement of a pipelined Transceive may be outstanding, before the input signals are invalidated
+	 */
+	public int getEfMaxStaleCycles() {
+		return efMaxStaleCycles;
+	}
+
+	/**
+	 * @return time [ms] an ef server is given to acknowledge a command, before the connection is supposed to be broken
+	 */
+	public int getEfResponseTimeout() {
+		return efResponseTimeout;
+	}
+
+	/**
+	 * @return true, if signals are to be exchanged with ef clients and servers in the compact wire format
+	 */
+	public boolean isEfCompactEncodingEnabled() {
+		return efCompactEncodingEnabled;
+	}
+
+	/**
+	 * @return true, if signed integers are to be exchanged as differences to their preceding values (compact wire format only)
+	 */
+	public boolean isEfDeltaEncodingEnabled() {
+		return efDeltaEncodingEnabled;
+	}
+
 	protected void waitUntilShutdownComplete(){
         int times100ms;
         for(times100ms = 0; times100ms < 100 && !readyToShutdown; times100ms++){
@@ -1520,6 +2420,19 @@ public class JPac extends Thread {
         }
     }
         
+    private static class RunnableTask extends DeferredTaskQueue.Task{
+        private final Runnable runnable;
+
+        private RunnableTask(Runnable runnable){
+            this.runnable = runnable;
+        }
+
+        @Override
+        protected void run(){
+            runnable.run();
+        }
+    }
+
     class ShutdownHook extends Thread{
         public ShutdownHook(){
             setName(getClass().getSimpleName());
@@ -1606,6 +2519,92 @@ public class JPac extends Thread {
         }
     }
     
+    /**
+     * counting lock used in low latency module hand off mode. Modules check back by means of an atomic counter.
+     * The last one unparks jPac, which spins for a given period of time before it parks itself.
+     */
+    protected class ParkingCountingLock extends CountingLock{
+        private final    AtomicInteger count    = new AtomicInteger();
+        private final    AtomicInteger maxcount = new AtomicInteger();
+        private volatile Thread        waiter   = null;
+
+        @Override
+        protected void increment(){
+            count.incrementAndGet();
+            maxcount.incrementAndGet();
+        }
+
+        @Override
+        protected boolean decrement() throws InconsistencyException{
+            int localCount = count.decrementAndGet();
+            if (localCount < 0){
+                throw new InconsistencyException("ParkingCountingLock.decrement(): module counter inconsistent !!!!!!");
+            }
+            if (localCount == 0){
+                Thread localWaiter = waiter;
+                if (localWaiter != null){
+                    LockSupport.unpark(localWaiter);
+                }
+            }
+            return localCount == 0;
+        }
+
+        @Override
+        protected int getCount(){
+            return count.get();
+        }
+
+        @Override
+        protected int getMaxCount(){
+            return maxcount.get();
+        }
+
+        @Override
+        protected void reset(){
+            count.set(0);
+            maxcount.set(0);
+        }
+
+        @Override
+        protected void waitForUnlock(){
+            waiter = Thread.currentThread();
+            try{
+                spin(System.nanoTime() + moduleHandOffSpinTime);
+                while(count.get() > 0 && !shutdownRequest.isRequested()){
+                    LockSupport.parkNanos(this, 100000000L);
+                }
+            }
+            finally{
+                waiter = null;
+            }
+        }
+
+        @Override
+        protected void waitForUnlock(long waittime){//nanoseconds
+            if (waittime > 0){
+                long deadline = System.nanoTime() + waittime;
+                waiter = Thread.currentThread();
+                try{
+                    spin(Math.min(deadline, System.nanoTime() + moduleHandOffSpinTime));
+                    long remainingTime;
+                    while(count.get() > 0 && (remainingTime = deadline - System.nanoTime()) > 0){
+                        LockSupport.parkNanos(this, remainingTime);
+                    }
+                }
+                finally{
+                    waiter = null;
+                }
+            }
+            else{
+                if (Log.isDebugEnabled()) Log.debug("cycle time expired before synchronization on modules !!!!!!: " + (-waittime) + " ns");
+            }
+        }
+
+        private void spin(long spinEndTime){
+            while(count.get() > 0 && spinEndTime - System.nanoTime() > 0);
+        }
+    }
+
     protected class Synchronisation{
         private boolean       requested                = false;
         private boolean       acknowledged             = false;
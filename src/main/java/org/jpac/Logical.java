@@ -131,10 +131,10 @@ public class Logical extends Signal{
      * @param state: state, the logical is set to
      */
     public void setDeferred(boolean state){
-        LogicalValue localWrapperValue = new LogicalValue();
-        localWrapperValue.set(state);
-        localWrapperValue.setValid(true);
-        setValueDeferred(localWrapperValue);
+        DeferredSet deferredSet = DeferredSet.LOGICALS.acquire(this);
+        ((LogicalValue)deferredSet.getValue()).set(state);
+        deferredSet.getValue().setValid(true);
+        setValueDeferred(deferredSet);
     }
 
     /**
@@ -209,7 +209,8 @@ public class Logical extends Signal{
      * @return see above
      */
     public ProcessEvent becomes(boolean state){
-        return new LogicalBecomes(this, state);
+        LogicalBecomes event = getEventCache().get(LogicalBecomes.class, state ? 1L : 0L, 0L);
+        return event != null ? event : getEventCache().put(new LogicalBecomes(this, state), state ? 1L : 0L, 0L);
     }
 
     /**
@@ -217,7 +218,8 @@ public class Logical extends Signal{
      * @return see above
      */ 
     public ProcessEvent toggles(){
-        return new LogicalToggles(this);
+        LogicalToggles event = getEventCache().get(LogicalToggles.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new LogicalToggles(this), 0L, 0L);
     }
 
     /**
@@ -226,7 +228,8 @@ public class Logical extends Signal{
      * @return see above
      */
     public ProcessEvent state(boolean state){
-        return new LogicalState(this,state);
+        LogicalState event = getEventCache().get(LogicalState.class, state ? 1L : 0L, 0L);
+        return event != null ? event : getEventCache().put(new LogicalState(this,state), state ? 1L : 0L, 0L);
     }
 
     /**
@@ -38,6 +38,7 @@ public class LogicalBecomes extends LogicalEvent{
     }
     
     public void setState(boolean state){
+        uncache();
         this.state = state;
     }
 
@@ -30,7 +30,8 @@ package org.jpac;
  * @author berndschuster
  */
 abstract class LogicalEvent extends ProcessEvent{
-    protected Logical logical;
+    protected Logical  logical;
+    private   Signal[] observedSignals;
     
     LogicalEvent(Logical logical){
         super();
@@ -38,6 +39,7 @@ abstract class LogicalEvent extends ProcessEvent{
     }
     
     public void setLogical(Logical logical){
+        uncache();
         this.logical = logical;
     }
     
@@ -49,4 +51,12 @@ abstract class LogicalEvent extends ProcessEvent{
     public String toString(){
         return getClass().getSimpleName() + "(" + logical + ")";
     }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        if (observedSignals == null || observedSignals[0] != logical){
+            observedSignals = new Signal[]{logical};
+        }
+        return observedSignals;
+    }
 }
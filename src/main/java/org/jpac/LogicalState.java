@@ -38,6 +38,7 @@ public class LogicalState extends LogicalEvent{
     }
     
     public void setState(boolean state){
+        uncache();
         this.state = state;
     }
 
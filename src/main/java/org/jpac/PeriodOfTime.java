@@ -30,10 +30,12 @@ package org.jpac;
  * @author berndschuster
  */
 public class PeriodOfTime extends ProcessEvent{
-    private long           periodOfTime;
-    private long           timeoutTime;
-    private JPac.CycleMode cycleMode;
-    private NthCycle       nthCycle;
+    private long             periodOfTime;
+    private long             timeoutTime;
+    private JPac.CycleMode   cycleMode;
+    private int              cycleCount;
+    private long             timeoutCycle;
+    private TimingWheel.Node periodNode;
 
     /**
      * 
@@ -47,6 +49,7 @@ public class PeriodOfTime extends ProcessEvent{
         this.cycleMode = JPac.getInstance().getCycleMode();
         switch(this.cycleMode){
             case FreeRunning: 
+            case VirtualTime: 
                 break;
             case Bound:
             case LazyBound:
@@ -56,7 +59,8 @@ public class PeriodOfTime extends ProcessEvent{
                 if (cycleCount > Integer.MAX_VALUE){
                     cycleCount = Integer.MAX_VALUE;
                 }
-                nthCycle = new NthCycle((int)cycleCount);
+                this.cycleCount = (int)cycleCount;
+                startPeriod();
                 break;
         }
     };
@@ -73,6 +77,7 @@ public class PeriodOfTime extends ProcessEvent{
         this.cycleMode    = JPac.getInstance().getCycleMode();
         switch(this.cycleMode){
             case FreeRunning: 
+            case VirtualTime: 
                 break;
             case Bound:
             case LazyBound:
@@ -82,7 +87,8 @@ public class PeriodOfTime extends ProcessEvent{
                 if (cycleCount > Integer.MAX_VALUE){
                     cycleCount = Integer.MAX_VALUE;
                 }
-                nthCycle = new NthCycle((int)cycleCount);
+                this.cycleCount = (int)cycleCount;
+                startPeriod();
                 break;
         }
     };
@@ -95,9 +101,12 @@ public class PeriodOfTime extends ProcessEvent{
             case FreeRunning:
                 localFired = timeoutTime < System.nanoTime();
                 break;
+            case VirtualTime:
+                localFired = timeoutTime <= JPac.getInstance().getNanoTime();
+                break;
             case Bound:
             case LazyBound:
-                localFired = nthCycle.fire();
+                localFired = JPac.getInstance().getCycleNumber() >= timeoutCycle;
                 break;
         }
        return localFired;
@@ -109,11 +118,47 @@ public class PeriodOfTime extends ProcessEvent{
             case FreeRunning:
                 timeoutTime = System.nanoTime() + periodOfTime;
                 break;
+            case VirtualTime:
+                timeoutTime = JPac.getInstance().getNanoTime() + periodOfTime;
+                break;
             case Bound:
             case LazyBound:
-                nthCycle.reset();
+                startPeriod();
                 break;
         }
         super.reset();
     }    
+
+    private void startPeriod(){
+        //fired, when cycleCount cycles passed, but not before the next cycle
+        timeoutCycle = JPac.getInstance().getCycleNumber() + Math.max(cycleCount, 1);
+    }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        //in cycle bound modes evaluated by jPac, when the period of time has passed
+        return cycleMode == JPac.CycleMode.Bound || cycleMode == JPac.CycleMode.LazyBound ? NOSIGNALS : null;
+    }
+
+    /**
+     * used by jPac to supervise the end of the period of time
+     */
+    protected void armPeriod(){
+        if (periodNode == null){
+            periodNode = new TimingWheel.Node(){
+                @Override
+                protected boolean expire(){
+                    JPac.getInstance().indicateDeadlineReached(PeriodOfTime.this);
+                    return true;
+                }
+            };
+        }
+        JPac.getInstance().getCycleTimingWheel().arm(periodNode, timeoutCycle);
+    }
+
+    protected void cancelPeriod(){
+        if (periodNode != null){
+            JPac.getInstance().getCycleTimingWheel().cancel(periodNode);
+        }
+    }
 }
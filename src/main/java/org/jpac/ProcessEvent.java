@@ -26,15 +26,16 @@
 package org.jpac;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * base class for all process events which can be await()ed by modules
  */
 public abstract class ProcessEvent extends Fireable{
-    final static int                   STACKTRACEOFFSET = 3;
-    
     private   boolean                  timedout;
     private   boolean                  timeoutActive;
+    private   TimingWheel.Node         timeoutNode;
     private   boolean                  emergencyStopOccured;
     private   String                   emergencyStopCause;
     private   boolean                  shutdownRequested;
@@ -43,6 +44,7 @@ public abstract class ProcessEvent extends Fireable{
     private   long                     timeoutNanoTime;
     private   String                   statusString;
     private   ArrayList<Fireable>      monitoredEvents;
+    private   ProcessEventCache        eventCache;//cache, this process event is handed out by
     
     private   int                      tracePoint;//debug
 
@@ -106,8 +108,8 @@ public abstract class ProcessEvent extends Fireable{
      * @throws MonitorException thrown, if a monitored event occured
      * @throws InconsistencyException thrown, if JPac encountered an internal error
      */
-    public synchronized ProcessEvent await(long nanoseconds) throws EventTimedoutException, EmergencyStopException, ShutdownRequestException, ProcessException, OutputInterlockException, InputInterlockException, MonitorException, InconsistencyException{
-        awaitImpl(true, nanoseconds, true);
+    public ProcessEvent await(long nanoseconds) throws EventTimedoutException, EmergencyStopException, ShutdownRequestException, ProcessException, OutputInterlockException, InputInterlockException, MonitorException, InconsistencyException{
+        synchronizedAwaitImpl(true, nanoseconds);
         if (isTimedout())
             throw new EventTimedoutException(this);
         return this;
@@ -126,25 +128,31 @@ public abstract class ProcessEvent extends Fireable{
      * @throws MonitorException thrown, if a monitored event occured
      * @throws InconsistencyException thrown, if JPac encountered an internal error
      */
-    public synchronized ProcessEvent await() throws EmergencyStopException, ShutdownRequestException, ProcessException, OutputInterlockException, InputInterlockException, MonitorException, InconsistencyException{
+    public ProcessEvent await() throws EmergencyStopException, ShutdownRequestException, ProcessException, OutputInterlockException, InputInterlockException, MonitorException, InconsistencyException{
         //do not propagate EventTimedoutException because
         //timeout conditions are not handled here
-        awaitImpl(false, 0, true);
+        synchronizedAwaitImpl(false, 0);
         return this;
     }
 
+    private void synchronizedAwaitImpl(boolean withTimeout, long nanoseconds) throws ShutdownRequestException, EmergencyStopException, ProcessException, OutputInterlockException, InputInterlockException, MonitorException, InconsistencyException{
+        if (JPac.getInstance().isLowLatencyModuleHandOff()){
+            //modules are parked without holding the monitor of the awaited event,
+            //which would pin the carrier of a virtual thread
+            awaitImpl(withTimeout, nanoseconds, true);
+        }
+        else{
+            synchronized(this){
+                awaitImpl(withTimeout, nanoseconds, true);
+            }
+        }
+    }
+
     private ProcessEvent awaitImpl(boolean withTimeout, long nanoseconds, boolean noteStatus) throws ShutdownRequestException, EmergencyStopException, ProcessException, OutputInterlockException, InputInterlockException, MonitorException, InconsistencyException{
-        StackTraceElement[] stackTrace;
-        StackTraceElement   stackTraceElement; 
-        CharString[]        stacktraceSignals;
-        int                 traceLength;
-        int                 i,j;
-        String              methodName; 
-        
-        if (!(Thread.currentThread() instanceof AbstractModule)){
+        if (AbstractModule.getCurrentModule() == null){
             throw new InconsistencyException("ProcessEvents cannot be awaited outside the work() context of modules");
         }
-        AbstractModule module = (AbstractModule)Thread.currentThread();
+        AbstractModule module = AbstractModule.getCurrentModule();
         //reinitialize state var's
         reset();
         //if notation of the modules status is requested, do it here
@@ -160,61 +168,41 @@ public abstract class ProcessEvent extends Fireable{
         setObservingModule(module);
         module.setAwaitedEvent(this);
         //propagagate current trace point
-        stackTrace         = module.getStackTrace();
-        stacktraceSignals  = module.getStackTraceSignals();
-        traceLength        = stackTrace.length;
-        i                  = 0;
-        j                  = traceLength;
-        if (module.isRunLocally()) {
-	        //trace back to Module.work()
-	        do{j--;} while(j > 0 && !stackTrace[j].getMethodName().equals("work"));
-	        if (j >= 0 && stackTrace[j].getMethodName().equals("work")){
-	            do{
-	                stackTraceElement = stackTrace[j]; 
-	                methodName        = stackTraceElement.getMethodName();
-	                stacktraceSignals[i].set(stackTraceElement.getClassName() + "." + methodName + "(): " + stackTraceElement.getLineNumber());
-	                i++;j--;
-	            }
-	            while(j >= STACKTRACEOFFSET && i < stacktraceSignals.length);
-	        }
-	        while(i < stacktraceSignals.length){
-	            stacktraceSignals[i++].invalidate();
-	        }
+        if (module.isRunLocally() && !module.getJPac().isCapturingStackTraceOnDemand()) {
+            module.updateStackTraceSignals();
         }
         //register myself as an active waiting event
+        setReleased(false);
         register();
         //prepare timeout related vars
         setTimeoutPeriod(nanoseconds);
         setTimeoutNanoTime(JPac.getInstance().getExpandedCycleNanoTime() + nanoseconds);
         timeoutActive = withTimeout;
+        JPac.getInstance().armTimeout(this);
         //now lay observing module to sleep until this event occurs
-        synchronized(this){
-            if (module.isAwakenedByProcessEvent()){
-                //tell the automation controller that one of the modules, awakened by an process event
-                //has come to an end for this cycle
-                tracePoint = 1;
-                module.setAwakenedByProcessEvent(false);
-                tracePoint = 2;
-                module.storeSleepNanoTime();
-                tracePoint = 3;
-                module.getJPac().indicateCheckBack(this);
-                tracePoint = 4;
-            }
-            else{
-                tracePoint = 99;
-            }
-            //wait, until an ProcessEvent or a timeout occurs
-            do{
-                try {wait();
-                } 
-                catch (InterruptedException ex) {
-                    Log.info("InterruptedException occured for " + this);
-                }
-              }
-            while(!isTimedout() && !isFired() && !isMonitoredEventOccured() && !isEmergencyStopOccured() && !isShutdownRequested() && !isProcessExceptionThrown());
+        if (module.getJPac().isLowLatencyModuleHandOff()){
+            checkBack(module);
+            //park, until jPac releases the module
+            awaitRelease(module.getJPac().getModuleHandOffSpinTime());
             module.storeWakeUpNanoTime();
             module.resetSleepNanoTime();// invalidate sleepNanoTime
         }
+        else{
+            synchronized(this){
+                checkBack(module);
+                //wait, until an ProcessEvent or a timeout occurs
+                do{
+                    try {wait();
+                    } 
+                    catch (InterruptedException ex) {
+                        Log.info("InterruptedException occured for " + this);
+                    }
+                  }
+                while(!isTimedout() && !isFired() && !isMonitoredEventOccured() && !isEmergencyStopOccured() && !isShutdownRequested() && !isProcessExceptionThrown());
+                module.storeWakeUpNanoTime();
+                module.resetSleepNanoTime();// invalidate sleepNanoTime
+            }
+        }
         //if notation of the status was requested on call, remove it here
         if (noteStatus){
             module.getStatus().leave();
@@ -244,6 +232,36 @@ public abstract class ProcessEvent extends Fireable{
         return this;
     }
 
+    private void checkBack(AbstractModule module) throws InconsistencyException{
+        if (module.isAwakenedByProcessEvent()){
+            //tell the automation controller that one of the modules, awakened by an process event
+            //has come to an end for this cycle
+            tracePoint = 1;
+            module.setAwakenedByProcessEvent(false);
+            tracePoint = 2;
+            module.storeSleepNanoTime();
+            tracePoint = 3;
+            module.getJPac().indicateCheckBack(this);
+            tracePoint = 4;
+        }
+        else{
+            tracePoint = 99;
+        }
+    }
+
+    private void awaitRelease(long spinTime){
+        if (!isReleased() && spinTime > 0){
+            long spinEndTime = System.nanoTime() + spinTime;
+            while(!isReleased() && spinEndTime - System.nanoTime() > 0);
+        }
+        while(!isReleased()){
+            LockSupport.park(this);
+            if (Thread.interrupted()){
+                Log.info("InterruptedException occured for " + this);
+            }
+        }
+    }
+
     /**
      * used to implement a conjunctive process event inline
      * @param anotherProcessEvent an process event which is "and'ed" to this process event 
@@ -324,7 +342,7 @@ public abstract class ProcessEvent extends Fireable{
         this.timeoutPeriod = timeoutPeriod;
     }
 
-    private long getTimeoutNanoTime() {
+    protected long getTimeoutNanoTime() {
         return timeoutNanoTime;
     }
 
@@ -356,6 +374,78 @@ public abstract class ProcessEvent extends Fireable{
         return this.monitoredEventOccured;
     }
 
+    @Override
+    public void monitor() throws InconsistencyException{
+        //a monitored process event might be held beyond the next await() and must not be handed out by predicates again
+        uncache();
+        super.monitor();
+    }
+
+    protected void setEventCache(ProcessEventCache eventCache){
+        this.eventCache = eventCache;
+    }
+
+    /**
+     * used to withdraw this process event from the cache of the signal or timer, which handed it out (see JPac property "ReuseProcessEvents").
+     * Must be called, before its fire condition is altered.
+     */
+    protected void uncache(){
+        if (eventCache != null){
+            eventCache.remove(this);
+        }
+    }
+
+    protected boolean hasMonitoredEvents() {
+        return monitoredEvents != null && !monitoredEvents.isEmpty();
+    }
+
+    protected boolean isTimeoutActive() {
+        return timeoutActive;
+    }
+
+    /**
+     * @return the node used by jPac to supervise the timeout of this event
+     */
+    protected TimingWheel.Node getTimeoutNode() {
+        if (timeoutNode == null){
+            timeoutNode = new TimingWheel.Node(){
+                @Override
+                protected boolean expire(){
+                    boolean expired = evaluateTimedOutCondition();
+                    if (expired){
+                        JPac.getInstance().indicateDeadlineReached(ProcessEvent.this);
+                    }
+                    return expired;
+                }
+            };
+        }
+        return timeoutNode;
+    }
+
+    protected boolean isTimeoutSupervised() {
+        return timeoutNode != null && timeoutNode.isArmed();
+    }
+
+    /**
+     * @param events list of combined process events
+     * @return the union of the signals observed by the given process events or null, if at least one of them does not declare its signals
+     */
+    protected static Signal[] getObservedSignals(List<ProcessEvent> events){
+        ArrayList<Signal> signals = new ArrayList<>();
+        for (ProcessEvent pe: events){
+            Signal[] observedSignals = pe.getObservedSignals();
+            if (observedSignals == null){
+                return null;
+            }
+            for (Signal s: observedSignals){
+                if (!signals.contains(s)){
+                    signals.add(s);
+                }
+            }
+        }
+        return signals.toArray(NOSIGNALS);
+    }
+
     @Override
     protected boolean isProcessExceptionThrown(){
     	//check own exception
@@ -0,0 +1,154 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ProcessEventCache.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac;
+
+import java.util.ArrayList;
+
+/**
+ * cache of the process events returned by the predicates of a signal or timer (becomes(), exceeds(), expires() ...).
+ * If ReuseProcessEvents is enabled, a predicate called inside the context of a module returns the same instance 
+ * on every call with the same parameters. Instances are cached per calling module, so an instance is never awaited by
+ * two modules. It is reset on every await() or monitor().
+ * An instance is handed out at most once between two returns of the module from await(), so a predicate used twice
+ * inside a combined event yields two instances. Instances, which are monitored or whose fire condition is altered by
+ * one of their setters, are withdrawn from the cache.
+ * The number of cached instances is limited. If the limit is reached, the least recently used instance is replaced.
+ * @author berndschuster
+ */
+public class ProcessEventCache {
+    private static final int MAXSIZE = 16;
+
+    private static class Entry{
+        private AbstractModule module;
+        private Class<?>       predicate;
+        private long           parameter1;
+        private long           parameter2;
+        private ProcessEvent   event;
+        private long           wakeUpCount;//wake up count of the module, when the event has been handed out last
+        private long           cycleNumber;//cycle, in which the event has been handed out last
+    }
+
+    private ArrayList<Entry> entries;
+
+    protected ProcessEventCache(){
+        this.entries = new ArrayList<>();
+    }
+
+    /**
+     * used to retrieve a cached process event
+     * @param predicate class of the process event
+     * @param parameter1 first parameter of the predicate
+     * @param parameter2 second parameter of the predicate
+     * @return the process event cached for the calling module or null, if not present, already handed out since the last
+     *         return of the module from await() or process events are not reused
+     */
+    protected <T extends ProcessEvent> T get(Class<T> predicate, long parameter1, long parameter2){
+        AbstractModule module = reusingModule();
+        if (module == null){
+            return null;
+        }
+        synchronized(this){
+            for (int i = 0; i < entries.size(); i++){
+                Entry entry = entries.get(i);
+                if (entry.module == module && entry.predicate == predicate && entry.parameter1 == parameter1 && entry.parameter2 == parameter2 && !isHandedOut(entry)){
+                    handOut(entry);
+                    return predicate.cast(entry.event);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * used to cache a newly created process event for the calling module
+     * @param event process event to be cached
+     * @param parameter1 first parameter of the predicate
+     * @param parameter2 second parameter of the predicate
+     * @return the event
+     */
+    protected <T extends ProcessEvent> T put(T event, long parameter1, long parameter2){
+        AbstractModule module = reusingModule();
+        if (module != null){
+            synchronized(this){
+                Entry entry = null;
+                if (entries.size() < MAXSIZE){
+                    entry = new Entry();
+                    entries.add(entry);
+                }
+                else{
+                    //replace the least recently used entry, which is not in use by its module
+                    for (int i = 0; i < entries.size(); i++){
+                        Entry e = entries.get(i);
+                        if (!isHandedOut(e) && (entry == null || e.cycleNumber < entry.cycleNumber)){
+                            entry = e;
+                        }
+                    }
+                    if (entry != null){
+                        entry.event.setEventCache(null);
+                    }
+                }
+                if (entry != null){
+                    entry.module     = module;
+                    entry.predicate  = event.getClass();
+                    entry.parameter1 = parameter1;
+                    entry.parameter2 = parameter2;
+                    entry.event      = event;
+                    event.setEventCache(this);
+                    handOut(entry);
+                }
+            }
+        }
+        return event;
+    }
+
+    /**
+     * used to withdraw a process event from the cache
+     * @param event 
+     */
+    protected synchronized void remove(ProcessEvent event){
+        for (int i = 0; i < entries.size(); i++){
+            if (entries.get(i).event == event){
+                entries.remove(i);
+                break;
+            }
+        }
+        event.setEventCache(null);
+    }
+
+    private void handOut(Entry entry){
+        entry.wakeUpCount = entry.module.getWakeUpCount();
+        entry.cycleNumber = JPac.getInstance().getCycleNumber();
+    }
+
+    private boolean isHandedOut(Entry entry){
+        //handed out since the module returned from await() last
+        return entry.wakeUpCount == entry.module.getWakeUpCount();
+    }
+
+    private AbstractModule reusingModule(){
+        return JPac.getInstance().isReusingProcessEvents() ? AbstractModule.getCurrentModule() : null;
+    }
+}
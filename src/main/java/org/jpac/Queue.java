@@ -78,7 +78,7 @@ public class Queue<T> {
      * @throws org.jpac.InconsistencyException 
      */
     public void enqueue(T item) throws SignalAccessException, InconsistencyException{        
-        if (!Thread.currentThread().equals(producer)){
+        if (!AbstractModule.getCurrentThread().equals(producer)){
             throw new SignalAccessException("queue " + this + " can only be enqueued by " + producer.getQualifiedName());
         }
         if (isFull()){
@@ -100,7 +100,7 @@ public class Queue<T> {
      */
     public T dequeue() throws SignalAccessException{
         T item = null;
-        if (!Thread.currentThread().equals(consumer)){
+        if (!AbstractModule.getCurrentThread().equals(consumer)){
             throw new SignalAccessException("queue " + this + " can only be dequeued by " + consumer.getQualifiedName());
         }
         if (isEmpty()){
@@ -121,7 +121,7 @@ public class Queue<T> {
      */
     public T peek() throws SignalAccessException{
         T item = null;
-        if (!Thread.currentThread().equals(consumer)){
+        if (!AbstractModule.getCurrentThread().equals(consumer)){
             throw new SignalAccessException("queue " + this + " can only be dequeued by " + consumer.getQualifiedName());
         }
         if (isEmpty()){
@@ -175,11 +175,11 @@ public class Queue<T> {
      */
     public int getSize() throws SignalAccessException{
       int result = 0;
-      if (Thread.currentThread().equals(producer)){
+      if (AbstractModule.getCurrentThread().equals(producer)){
           result = prodSize;
-      } else if (Thread.currentThread().equals(consumer)){
+      } else if (AbstractModule.getCurrentThread().equals(consumer)){
           result = consSize;
-      } else if (Thread.currentThread().equals(JPac.getInstance())){
+      } else if (AbstractModule.getCurrentThread().equals(JPac.getInstance())){
           result = queue.size();
       } else {
           throw new SignalAccessException("queue must not be accessed by a module which is neither producer nor consumer");
@@ -26,8 +26,6 @@
 package org.jpac;
 
 import java.io.Serializable;
-import java.util.Observable;
-import java.util.Observer;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 
@@ -36,7 +34,7 @@ import org.slf4j.Logger;
  * @author berndschuster
  */
 @Deprecated
-public class RemoteSignalOutput implements Observer, Serializable{
+public class RemoteSignalOutput implements Serializable{
     static final long   serialVersionUID = -7729942942678069016L;
     static       Logger Log              = LoggerFactory.getLogger("jpac.Remote");
 
@@ -60,17 +58,11 @@ public class RemoteSignalOutput implements Observer, Serializable{
         this.transport              = new RemoteSignalTransport(this.index, identifier, remoteSignalIdentifier);
     } 
 
-    @Override
-    public void update(Observable o, Object arg) {
+    public void update(Signal signal) {
         try{
-            if (o instanceof Signal){
-               //copy state of the signal to the transport container
-                transport.setValid(((Signal)o).isValid());
-                transport.setCloneOfValue(((Signal)o).getValue());
-            }
-            else{
-                Log.error(this + " cannot be updated by " + o);
-            }
+            //copy state of the signal to the transport container
+            transport.setValid(signal.isValid());
+            transport.setCloneOfValue(signal.getValue());
         }
         catch(Exception exc){
             Log.error("Error: ", exc);
@@ -28,13 +28,12 @@ package org.jpac;
 import java.lang.Thread.State;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Observable;
-import java.util.Observer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Queue;
-import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 import org.slf4j.LoggerFactory;
 import org.jpac.alarm.Alarm;
@@ -48,12 +47,18 @@ import org.slf4j.Logger;
  * implements the base features of a signal
  * 
  */
-public abstract class Signal extends Observable implements Observer {
+public abstract class Signal {
 	public final static String PROXYQUALIFIER = "$Proxy";     
 	
     private   enum ConnTask{CONNECT,DISCONNECT, REMOTECONNECT, REMOTEDISCONNECT, SIGNALOBSERVERCONNECT, SIGNALOBSERVERDISCONNECT};
     
     static    Logger Log = LoggerFactory.getLogger("jpac.Signal");
+
+    private   static final Signal[]             NOSIGNALS             = new Signal[0];
+    private   static final SignalObserver[]     NOSIGNALOBSERVERS     = new SignalObserver[0];
+    @SuppressWarnings("deprecation")
+    private   static final RemoteSignalOutput[] NOREMOTESIGNALOUTPUTS = new RemoteSignalOutput[0];
+
     private   String                     identifier;
     protected long                       lastChangeCycleNumber;
     protected long                       propagatedLastChangeCycleNumber;    
@@ -61,9 +66,13 @@ public abstract class Signal extends Observable implements Observer {
     protected JPac                       jPac;
     private   boolean                    connectedAsTarget;
     protected AbstractModule             containingModule;
-    private   Set<Signal>                observingSignals;
+    //observers are held in copy-on-write arrays, which are replaced by the jPac thread only
+    //(deferredConnect/deferredDisconnect) and iterated without locking during propagate()
+    private   volatile Signal[]          observingSignals;
+    private   volatile SignalObserver[]  observingSignalObservers;
     @SuppressWarnings("deprecation")
-	private   Set<RemoteSignalOutput>    observingRemoteSignalOutputs;
+	private   volatile RemoteSignalOutput[] observingRemoteSignalOutputs;
+    private   volatile boolean           changed;
     private   Queue<ConnectionTask>      connectionTasks;
     protected Supplier<?>                intrinsicFunction;
     
@@ -75,6 +84,13 @@ public abstract class Signal extends Observable implements Observer {
     protected boolean                    intrinsicFunctionExceptionLogged;
     protected boolean                    inApplyIntrinsicFunction;
     protected IoDirection                ioDirection;
+    private   final AtomicBoolean        enqueuedForPropagation;//enqueued by jPac, modules and netty threads concurrently
+    private   Signal                     sourceSignal;
+    private   int                        propagationRank;
+    private   ArrayList<Fireable>        awaitingEvents;//awaited events depending on this signal. Maintained by jPac
+    private   boolean                    awaitingEventsAffected;
+    private   ProcessEventCache          eventCache;
+    private   int                        handle;
     
     @SuppressWarnings("deprecation")
 	public Signal(AbstractModule containingModule, String identifier, Supplier<?> intrinsicFunction, IoDirection ioDirection) throws SignalAlreadyExistsException{
@@ -88,13 +104,21 @@ public abstract class Signal extends Observable implements Observer {
         this.jPac                             = JPac.getInstance();
         this.connectedAsTarget                = false;
         this.containingModule                 = containingModule;
-        this.observingSignals                 = Collections.synchronizedSet(new HashSet<Signal>());
-        this.observingRemoteSignalOutputs     = Collections.synchronizedSet(new HashSet<RemoteSignalOutput>());
+        this.observingSignals                 = NOSIGNALS;
+        this.observingSignalObservers         = NOSIGNALOBSERVERS;
+        this.observingRemoteSignalOutputs     = NOREMOTESIGNALOUTPUTS;
+        this.changed                          = false;
         this.connectionTasks                  = new ArrayBlockingQueue<ConnectionTask>(100);
         this.initializing                     = false;
         this.justConnectedAsSource            = false;
         this.intrinsicFunctionExceptionLogged = false;
         this.inApplyIntrinsicFunction         = false;
+        this.enqueuedForPropagation           = new AtomicBoolean(false);
+        this.sourceSignal                     = null;
+        this.propagationRank                  = 0;
+        this.awaitingEvents                   = null;
+        this.awaitingEventsAffected           = false;
+        this.handle                           = -1;
 
         this.value              		      = getTypedValue();
         this.propagatedValue    			  = getTypedValue(); 
@@ -144,6 +168,9 @@ public abstract class Signal extends Observable implements Observer {
         	}
         }
         SignalRegistry.getInstance().add(this);
+        if (this.intrinsicFunction != null){
+            SignalRegistry.getInstance().registerIntrinsicFunctionSignal(this);
+        }
     }
         
     protected IoDirection invert(IoDirection ioDirection) {
@@ -161,7 +188,7 @@ public abstract class Signal extends Observable implements Observer {
         //if the signal was connected as source signal in the last cycle
         //let its value be propagated to all observing signals
         if (isJustConnectedAsSource()){
-            super.setChanged();
+            changed = true;
         }
         setJustConnectedAsSource(false);
         //propagate changes occured during the last cycle
@@ -170,9 +197,35 @@ public abstract class Signal extends Observable implements Observer {
             propagatedLastChangeCycleNumber = JPac.getInstance().getCycleNumber();
             if (Log.isDebugEnabled()) Log.debug ("propagate signal " + this);
             propagateSignalInternally();
+            if (awaitingEvents != null && !awaitingEvents.isEmpty() && !awaitingEventsAffected){
+                //let jPac evaluate the events depending on this signal
+                awaitingEventsAffected = true;
+                jPac.indicateObservedSignalChanged(this);
+            }
             notifyObservers();
         }
     }
+
+    /**
+     * used to pass the propagated state of this signal to all of its observers.
+     * Called by the jPac thread only, so the observer arrays can be iterated without locking
+     */
+    @SuppressWarnings("deprecation")
+    private void notifyObservers(){
+        clearChanged();
+        Signal[] signals = observingSignals;
+        for (int i = 0; i < signals.length; i++){
+            signals[i].update(this);
+        }
+        SignalObserver[] signalObservers = observingSignalObservers;
+        for (int i = 0; i < signalObservers.length; i++){
+            signalObservers[i].update(this);
+        }
+        RemoteSignalOutput[] remoteSignalOutputs = observingRemoteSignalOutputs;
+        for (int i = 0; i < remoteSignalOutputs.length; i++){
+            remoteSignalOutputs[i].update(this);
+        }
+    }
     
     @SuppressWarnings("deprecation")
 	protected void handleConnections() throws SignalAlreadyConnectedException{
@@ -221,9 +274,14 @@ public abstract class Signal extends Observable implements Observer {
 	            if (targetSignal.getIntrinsicFunction() != null){
 	                throw new SignalAccessException("cannot connect to signal with initrinsic function set: " + targetSignal);
 	            }
+	            if (isConnectedTo(targetSignal)){
+	                throw new SignalAccessException("cannot connect to signal " + targetSignal + " because it is a source of " + this + " (cyclic connection)");
+	            }
 	            try{
 	                connectionTasks.add(new ConnectionTask(ConnTask.CONNECT, targetSignal));
+	                SignalRegistry.getInstance().enqueueChangedSignal(this);
 	                targetSignal.setConnectedAsTarget(true);
+	                targetSignal.setSourceSignal(this);
 	            }
 	            catch(IllegalStateException exc){
 	                Log.error("Error connectionTask queue full: ", exc);
@@ -246,6 +304,7 @@ public abstract class Signal extends Observable implements Observer {
             if (Log.isDebugEnabled()) Log.debug(this + ".disconnect(" + targetSignal + ")");
             try{
                 connectionTasks.add(new ConnectionTask(ConnTask.DISCONNECT, targetSignal));
+                SignalRegistry.getInstance().enqueueChangedSignal(this);
             }
             catch(IllegalStateException exc){
                 Log.error("Error connectionTask queue full: ", exc);
@@ -264,21 +323,56 @@ public abstract class Signal extends Observable implements Observer {
         if (targetSignal.getIntrinsicFunction() != null){
             throw new SignalAccessException("cannot connect to signal with initrinsic function set: " + targetSignal);
         }
-        addObserver(targetSignal);
-        observingSignals.add(targetSignal);
+        observingSignals = added(observingSignals, targetSignal);
+        //the target and all signals connected to it are propagated after this signal
+        targetSignal.setSourceSignal(this);
+        updatePropagationRanks(targetSignal, propagationRank + 1);
         //invoke propagation of the state of this signal to the new target
         setJustConnectedAsSource(true);       
     }
     
     protected void deferredDisconnect(Signal targetSignal){
         if (Log.isDebugEnabled()) Log.debug(this + ".deferredDisconnect(" + targetSignal + ")");
-        deleteObserver(targetSignal);
+        observingSignals = removed(observingSignals, targetSignal);
         targetSignal.setConnectedAsTarget(false);
         //invalidate target signal
         try{targetSignal.invalidate();} catch(SignalAccessException exc) {/*cannot happen here*/};
-        observingSignals.remove(targetSignal);
+        //the target signal becomes the root of its own chain of connected signals
+        targetSignal.setSourceSignal(null);
+        updatePropagationRanks(targetSignal, 0);
     }
     
+    /**
+     * used to check, if this signal is connected to the given signal directly or indirectly as a target
+     * @param signal
+     * @return true, if the given signal is this signal or one of its sources
+     */
+    protected boolean isConnectedTo(Signal signal){
+        Signal s = this;
+        while(s != null && s != signal){
+            s = s.getSourceSignal();
+        }
+        return s == signal;
+    }
+
+    /**
+     * used to assign the given propagation rank to the signal and ascending ranks to all signals connected to it directly or indirectly
+     * @param signal
+     * @param rank 
+     */
+    protected void updatePropagationRanks(Signal signal, int rank){
+        ArrayDeque<Signal> signals = new ArrayDeque<>();
+        signal.setPropagationRank(rank);
+        signals.add(signal);
+        while(!signals.isEmpty()){
+            Signal s = signals.poll();
+            for (Signal target: s.getObservingSignals()){
+                target.setPropagationRank(s.getPropagationRank() + 1);
+                signals.add(target);
+            }
+        }
+    }
+
     /**
      * used to connect a signal to a RemoteSignalOutput. One signal can be connected
      * to multiple RemoteSignalOutputs.
@@ -295,6 +389,7 @@ public abstract class Signal extends Observable implements Observer {
 //            }
             try{
                 connectionTasks.add(new ConnectionTask(ConnTask.REMOTECONNECT, targetSignal));
+                SignalRegistry.getInstance().enqueueChangedSignal(this);
                 targetSignal.setConnectedAsTarget(true);
             }
             catch(IllegalStateException exc){
@@ -318,6 +413,7 @@ public abstract class Signal extends Observable implements Observer {
             if (Log.isDebugEnabled()) Log.debug(this + ".disconnect(" + targetSignal + ")");
             try{
                 connectionTasks.add(new ConnectionTask(ConnTask.REMOTEDISCONNECT, targetSignal));
+                SignalRegistry.getInstance().enqueueChangedSignal(this);
             }
             catch(IllegalStateException exc){
                 Log.error("Error connectionTask queue full: ", exc);
@@ -334,18 +430,16 @@ public abstract class Signal extends Observable implements Observer {
         if (targetSignal.isConnectedAsTarget()){
             throw new SignalAlreadyConnectedException(targetSignal);
         }
-        addObserver(targetSignal);
-        observingRemoteSignalOutputs.add(targetSignal);
+        observingRemoteSignalOutputs = added(observingRemoteSignalOutputs, targetSignal);
     }
     
     @SuppressWarnings("deprecation")
 	protected void deferredDisconnect(RemoteSignalOutput targetSignal){
         if (Log.isDebugEnabled()) Log.debug(this + ".deferredDisconnect(" + targetSignal + ")");
-        deleteObserver(targetSignal);
+        observingRemoteSignalOutputs = removed(observingRemoteSignalOutputs, targetSignal);
         targetSignal.setConnectedAsTarget(false);
         //invalidate target signal
         targetSignal.invalidate();
-        observingRemoteSignalOutputs.remove(targetSignal);
     }
 
     /**
@@ -361,6 +455,7 @@ public abstract class Signal extends Observable implements Observer {
             }
             try{
                 connectionTasks.add(new ConnectionTask(ConnTask.SIGNALOBSERVERCONNECT, targetObserver));
+                SignalRegistry.getInstance().enqueueChangedSignal(this);
                 targetObserver.setConnectedAsTarget(true);
             }
             catch(IllegalStateException exc){
@@ -381,6 +476,7 @@ public abstract class Signal extends Observable implements Observer {
             if (Log.isDebugEnabled()) Log.debug(this + ".disconnect(" + targetObserver + ")");
             try{
                 connectionTasks.add(new ConnectionTask(ConnTask.SIGNALOBSERVERDISCONNECT, targetObserver));
+                SignalRegistry.getInstance().enqueueChangedSignal(this);
             }
             catch(IllegalStateException exc){
                 Log.error("Error connectionTask queue full: ", exc);
@@ -396,17 +492,47 @@ public abstract class Signal extends Observable implements Observer {
 //        if (targetObserver.isConnectedAsTarget()){
 //            throw new SignalAlreadyConnectedException(targetObserver);
 //        }
-        addObserver(targetObserver);
+        observingSignalObservers = added(observingSignalObservers, targetObserver);
         //invoke propagation of the state of this signal to the new target
         setJustConnectedAsSource(true);
     }
     
     protected void deferredDisconnect(SignalObserver targetObserver){
         if (Log.isDebugEnabled()) Log.debug(this + ".deferredDisconnect(" + targetObserver + ")");
-        deleteObserver(targetObserver);
+        observingSignalObservers = removed(observingSignalObservers, targetObserver);
         targetObserver.setConnectedAsTarget(false);
     }
 
+    /**
+     * returns a copy of the given observer array with the element appended.
+     * The given array is returned unchanged, if it already contains the element
+     */
+    private static <T> T[] added(T[] array, T element){
+        for (T e: array){
+            if (e == element){
+                return array;
+            }
+        }
+        T[] newArray = Arrays.copyOf(array, array.length + 1);
+        newArray[array.length] = element;
+        return newArray;
+    }
+
+    /**
+     * returns a copy of the given observer array with the element removed.
+     * The given array is returned unchanged, if it does not contain the element
+     */
+    private static <T> T[] removed(T[] array, T element){
+        for (int i = 0; i < array.length; i++){
+            if (array[i] == element){
+                T[] newArray = Arrays.copyOf(array, array.length - 1);
+                System.arraycopy(array, i + 1, newArray, i, array.length - i - 1);
+                return newArray;
+            }
+        }
+        return array;
+    }
+
     /**
      * @return the identifier
      */
@@ -425,8 +551,15 @@ public abstract class Signal extends Observable implements Observer {
      * @return the value
      */
     public Value getValue(){
+        return getValue(AbstractModule.getAccessContext());
+    }
+
+    private Value getValue(int context){
+        if (isReadableWithoutLock(context)){
+            return isForeignContext(context) ? propagatedValue : value;
+        }
         synchronized(this){        
-            return accessedByForeignModule() ? propagatedValue : value;
+            return isForeignContext(context) ? propagatedValue : value;
         }
     }
     
@@ -437,19 +570,23 @@ public abstract class Signal extends Observable implements Observer {
     protected void setIntrinsicFct(Supplier intrinsicFunction){
         assertSignalAccess();
         this.intrinsicFunction = intrinsicFunction;
+        if (intrinsicFunction != null){
+            SignalRegistry.getInstance().registerIntrinsicFunctionSignal(this);
+        }
     }
 
     /**
      * @return the value, if valid
      */
     protected Value getValidatedValue() throws SignalInvalidException {
-        if (!accessedByForeignModule() && intrinsicFunction != null && !inApplyIntrinsicFunction){
+        int context = AbstractModule.getAccessContext();
+        if (!isForeignContext(context) && intrinsicFunction != null && !inApplyIntrinsicFunction){
             applyIntrinsicFunction();//reflect actual state of function to containing module immediately
         }
-        if (!isValid()){
+        if (!isValid(context)){
             throw new SignalInvalidException(this.toString());
         }
-        return getValue();
+        return getValue(context);
     }
     
     /**
@@ -486,11 +623,19 @@ public abstract class Signal extends Observable implements Observer {
     }
 
     protected void setValueDeferred(Value value){
-        JPac.getInstance().invokeLater(new SetValueRunner(this, value));
+        JPac.getInstance().invokeLater(new DeferredSet(this, value));
+    }
+
+    /**
+     * used to hand over a pooled deferred alteration of this signal to jPac
+     * @param deferredSet 
+     */
+    void setValueDeferred(DeferredSet deferredSet){
+        JPac.getInstance().invokeLater(deferredSet);
     }
 
     public void invalidateDeferred(){
-        JPac.getInstance().invokeLater(new InvalidateRunner(this));
+        JPac.getInstance().invokeLater(DeferredSet.INVALIDATIONS.acquire(this));
     }
     /**
      * @return the propagatedValue
@@ -510,7 +655,11 @@ public abstract class Signal extends Observable implements Observer {
         return containingModule;
     }
 
-    public Set<Signal> getObservingSignals(){
+    /**
+     * Since 3.1 an array is returned instead of the live set of observing signals
+     * @return the signals this signal is connected to as a source. The returned array must not be modified
+     */
+    public Signal[] getObservingSignals(){
         return observingSignals;
     }
     
@@ -524,9 +673,17 @@ public abstract class Signal extends Observable implements Observer {
     }
 
     public boolean isValid() {
+        return isValid(AbstractModule.getAccessContext());
+    }
+
+    private boolean isValid(int context) {
         boolean valid = false;
-        synchronized(this){
-            valid = accessedByForeignModule() || accessedByJPac() ? propagatedValue != null && propagatedValue.isValid() : value != null && value.isValid();
+        if (isReadableWithoutLock(context)){
+            valid = isForeignContext(context) || context == AbstractModule.JPACCONTEXT ? propagatedValue != null && propagatedValue.isValid() : value != null && value.isValid();
+        } else {
+            synchronized(this){
+                valid = isForeignContext(context) || context == AbstractModule.JPACCONTEXT ? propagatedValue != null && propagatedValue.isValid() : value != null && value.isValid();
+            }
         }
         return valid;
     }
@@ -562,7 +719,8 @@ public abstract class Signal extends Observable implements Observer {
      * @return see above
      */
     public ProcessEvent becomesValid(){
-        return new SignalValid(this);
+        SignalValid event = getEventCache().get(SignalValid.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new SignalValid(this), 0L, 0L);
     }
 
     /**
@@ -570,7 +728,8 @@ public abstract class Signal extends Observable implements Observer {
      * @return see above
      */
     public ProcessEvent becomesInvalid(){
-        return new SignalInvalid(this);
+        SignalInvalid event = getEventCache().get(SignalInvalid.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new SignalInvalid(this), 0L, 0L);
     }
  
     /**
@@ -590,14 +749,29 @@ public abstract class Signal extends Observable implements Observer {
     /**
      * signal has been changed during the actual cycle
      */
-    @Override
     public void setChanged(){
         synchronized(this){
-            lastChangeNanoTime     = System.nanoTime();
+            lastChangeNanoTime     = jPac.getNanoTime();
             lastChangeCycleNumber  = jPac.getCycleNumber();
-            super.setChanged();//change flag of Observable
+            changed                = true;
+            //let jPac propagate this change in its next propagation pass
+            SignalRegistry.getInstance().enqueueChangedSignal(this);
         }
     }
+
+    /**
+     * @return true, if the signal has been changed since its last propagation
+     */
+    public boolean hasChanged(){
+        return changed;
+    }
+
+    /**
+     * used to reset the change flag of the signal after it has been propagated
+     */
+    protected void clearChanged(){
+        changed = false;
+    }
     
     /**
      * Returns true, if the signal has changed its value or got valid/invalid
@@ -610,18 +784,27 @@ public abstract class Signal extends Observable implements Observer {
      */
     public boolean isChanged(){
         boolean retChanged = false;
-        synchronized(this){
-            retChanged = accessedByForeignModule() || accessedByJPac() ? propagatedLastChangeCycleNumber == jPac.getCycleNumber() : lastChangeCycleNumber == jPac.getCycleNumber();
+        int     context    = AbstractModule.getAccessContext();
+        if (isReadableWithoutLock(context)){
+            retChanged = isForeignContext(context) || context == AbstractModule.JPACCONTEXT ? propagatedLastChangeCycleNumber == jPac.getCycleNumber() : lastChangeCycleNumber == jPac.getCycleNumber();
+        } else {
+            synchronized(this){
+                retChanged = isForeignContext(context) || context == AbstractModule.JPACCONTEXT ? propagatedLastChangeCycleNumber == jPac.getCycleNumber() : lastChangeCycleNumber == jPac.getCycleNumber();
+            }
         }
         return retChanged;
     }
     
    /**
-    * returns an unique handle for this signal
+    * returns an unique handle for this signal. Handles are assigned densely by the signal registry
     * 
     */
     public int getHandle() {
-    	return getQualifiedIdentifier().hashCode();
+    	return handle;
+    }
+
+    protected void setHandle(int handle) {
+        this.handle = handle;
     }
     
     protected void assertContainingModule() throws SignalAccessException{
@@ -631,11 +814,12 @@ public abstract class Signal extends Observable implements Observer {
     }
 
     protected void assertSignalAccess() throws SignalAccessException{
-        if(accessedByForeignModule()){
+        int context = AbstractModule.getAccessContext();
+        if(isForeignContext(context)){
             throw new SignalAccessException("signal " + this + " cannot be altered by foreign modules");
         }
         //if connected as a target signal, it cannot be accessed by a module using set(...) directly
-        if (isConnectedAsTarget() && !accessedByJPac()){
+        if (isConnectedAsTarget() && context != AbstractModule.JPACCONTEXT){
             throw new SignalAccessException("signal " + this + " cannot be altered directly, because it's connected as target ");
         }
     }
@@ -648,18 +832,22 @@ public abstract class Signal extends Observable implements Observer {
     }
     
     
-    @Override
-    public void update(Observable o, Object arg){
+    /**
+     * used to take over the state of a source signal this signal is connected to as a target.
+     * Called by the jPac thread during the propagation of the source signal
+     * @param sourceSignal 
+     */
+    protected final void update(Signal sourceSignal){
         synchronized(this){
             try{
                 //take over the valid state of the source signal ...
-                setValid(((Signal)o).isValid());
+                setValid(sourceSignal.isValid());
                 if (value.isValid()){
                     //...  and its value, if valid ...
-                    updateValue(o, arg);
+                    updateValue(sourceSignal, null);
                 }
                 //propagate alteration of valid state and/or value
-                propagate(); 
+                jPac.getSignalPropagator().propagateTarget(this); 
             }
             catch(Exception exc){
                 Log.error("Error: ", exc);
@@ -668,20 +856,81 @@ public abstract class Signal extends Observable implements Observer {
     }
     
     private boolean accessedByForeignModule(){
-        boolean isForeignModule;
-        Thread  thread = Thread.currentThread();
-        isForeignModule = !thread.equals(jPac) && !thread.equals(containingModule) || //access inside work
-                          thread.equals(jPac) && jPac.getProcessedModule() != null && jPac.getProcessedModule() != containingModule; //access inside inEveryCycleDo()
-//        isForeignModule = !(thread.equals(containingModule) || 
-//                            (thread.equals(jPac) && (jPac.getProcessedModule() == null || jPac.getProcessedModule() == containingModule))
-//                           );
-        return isForeignModule;
+        return isForeignContext(AbstractModule.getAccessContext());
     }
     
-    private boolean accessedByJPac(){
-        return Thread.currentThread().equals(jPac) && (jPac.getProcessedModule() == null);
+    /**
+     * @param context access context of the calling thread as returned by AbstractModule.getAccessContext()
+     * @return true, if the signal is accessed neither by jPac nor inside work() or inEveryCycleDo() of its containing module
+     */
+    private boolean isForeignContext(int context){
+        return context != AbstractModule.JPACCONTEXT && context != containingModule.getModuleIndex();
+    }
+
+    /**
+     * Modules and jPac never run concurrently: The value is written by the containing module only and 
+     * the propagated value by jPac only, each of them handing over to the other at the cycle boundaries.
+     * Therefore, if fast signal access is enabled, reads inside these contexts need not acquire the monitor of the signal.
+     * Threads not related to any module (OPC UA, ef command handlers ...) still synchronize on it.
+     * @param context access context of the calling thread as returned by AbstractModule.getAccessContext()
+     */
+    private boolean isReadableWithoutLock(int context){
+        return context != AbstractModule.FOREIGNCONTEXT && jPac.isFastSignalAccess();
     }
     
+    protected Signal getSourceSignal() {
+        return sourceSignal;
+    }
+
+    protected void setSourceSignal(Signal sourceSignal) {
+        this.sourceSignal = sourceSignal;
+    }
+
+    protected int getPropagationRank() {
+        return propagationRank;
+    }
+
+    protected void setPropagationRank(int propagationRank) {
+        this.propagationRank = propagationRank;
+    }
+
+    /**
+     * @return the cache of the process events returned by the predicates of this signal
+     */
+    protected synchronized ProcessEventCache getEventCache() {
+        if (eventCache == null){
+            eventCache = new ProcessEventCache();
+        }
+        return eventCache;
+    }
+
+    protected ArrayList<Fireable> getAwaitingEvents() {
+        if (awaitingEvents == null){
+            awaitingEvents = new ArrayList<>();
+        }
+        return awaitingEvents;
+    }
+
+    protected void setAwaitingEventsAffected(boolean awaitingEventsAffected) {
+        this.awaitingEventsAffected = awaitingEventsAffected;
+    }
+
+    protected boolean isEnqueuedForPropagation() {
+        return enqueuedForPropagation.get();
+    }
+
+    /**
+     * used to mark this signal as enqueued for propagation
+     * @return true, if the signal was not enqueued before. Only the caller, who got true, must enqueue it
+     */
+    protected boolean markEnqueuedForPropagation() {
+        return enqueuedForPropagation.compareAndSet(false, true);
+    }
+
+    protected void setEnqueuedForPropagation(boolean enqueuedForPropagation) {
+        this.enqueuedForPropagation.set(enqueuedForPropagation);
+    }
+
     protected boolean isJustConnectedAsSource() {
         return justConnectedAsSource;
     }
@@ -741,28 +990,4 @@ public abstract class Signal extends Observable implements Observer {
             this.target = targetObserver;
         }  
     }
-    
-    private class SetValueRunner implements Runnable{
-        private Signal signal;
-        private Value  value;
-        public SetValueRunner(Signal signal, Value value){
-            this.signal = signal;
-            this.value  = value;
-        }
-        @Override
-        public void run() {
-            try{signal.setValue(value);}catch(SignalAccessException exc){/*cannot happen*/};
-        }        
-    }
-
-    private class InvalidateRunner implements Runnable{
-        private Signal signal;
-        public InvalidateRunner(Signal signal){
-            this.signal = signal;
-        }
-        @Override
-        public void run() {
-            try{signal.invalidate();}catch(SignalAccessException exc){/*cannot happen*/};
-        }        
-    }
-}
\ No newline at end of file
+}
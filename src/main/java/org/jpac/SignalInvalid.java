@@ -30,7 +30,8 @@ package org.jpac;
  * @author berndschuster
  */
 public class SignalInvalid extends ProcessEvent{
-    Signal signal;
+    Signal           signal;
+    private Signal[] observedSignals;
     public SignalInvalid(Signal signal){
         this.signal = signal;
     }
@@ -49,6 +50,12 @@ public class SignalInvalid extends ProcessEvent{
         }
         return equal;
     }
-    
 
+    @Override
+    protected Signal[] getObservedSignals(){
+        if (observedSignals == null || observedSignals[0] != signal){
+            observedSignals = new Signal[]{signal};
+        }
+        return observedSignals;
+    }
 }
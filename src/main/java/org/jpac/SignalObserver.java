@@ -25,13 +25,18 @@
 
 package org.jpac;
 
-import java.util.Observer;
-
 /**
- *
+ * observer of a signal (see Signal.connect(SignalObserver)).
+ * Since 3.1 it no longer extends java.util.Observer, because Signal is no longer a java.util.Observable.
+ * Implementations must replace their update(Observable, Object) by update(Signal)
  * @author berndschuster
  */
-public interface SignalObserver extends Observer{
+public interface SignalObserver{
+    /**
+     * called by the jPac thread, if the given signal, this observer is connected to, has been propagated
+     * @param signal the propagated signal
+     */
+    public void update(Signal signal);
     public void setConnectedAsTarget(boolean connected);
     public boolean isConnectedAsTarget();
 }
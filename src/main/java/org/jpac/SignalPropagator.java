@@ -0,0 +1,128 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : SignalPropagator.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * used by jPac to propagate signal alterations along the connections of signals in a single, non recursive pass.
+ * Every signal carries its propagation rank, which is its distance to the root of the chain of connected signals it belongs to.
+ * Signals are processed in ascending order of their rank, so every signal is propagated after its source signal
+ * has been propagated.
+ * @author berndschuster
+ */
+public class SignalPropagator {
+    private ArrayList<ArrayList<Signal>> levels;             //signals to be propagated, grouped by their propagation rank
+    private int                          currentLevel;
+    private boolean                      propagating;
+    private int                          propagationDepth;    //depth reached during the last pass
+    private int                          maxPropagationDepth; //max. depth reached since start up
+    private Thread                       owner;
+    
+    protected SignalPropagator(Thread owner){
+        this.levels              = new ArrayList<>();
+        this.currentLevel        = 0;
+        this.propagating         = false;
+        this.propagationDepth    = 0;
+        this.maxPropagationDepth = 0;
+        this.owner               = owner;
+    }
+    
+    /**
+     * used to propagate the alterations of the given signals and of all signals connected to them directly or indirectly
+     * @param signals the signals to propagate
+     * @throws SignalInvalidException 
+     */
+    protected void propagate(List<Signal> signals) throws SignalInvalidException{
+        try{
+            propagating  = true;
+            currentLevel = 0;
+            for (Signal s: signals){
+                schedule(s);
+            }
+            propagationDepth = 0;
+            for (currentLevel = 0; currentLevel < levels.size(); currentLevel++){
+                ArrayList<Signal> level = levels.get(currentLevel);
+                if (!level.isEmpty()){
+                    propagationDepth = currentLevel;
+                    //signals scheduled during the propagation of this level are appended to higher levels
+                    for (int i = 0; i < level.size(); i++){
+                        level.get(i).propagate();
+                    }
+                    level.clear();
+                }
+            }
+            if (propagationDepth > maxPropagationDepth){
+                maxPropagationDepth = propagationDepth;
+            }
+        }
+        finally{
+            for (ArrayList<Signal> level: levels){
+                level.clear();
+            }
+            propagating = false;
+        }
+    }
+    
+    /**
+     * used by a target signal to let its alteration be propagated to its observers.
+     * Inside a propagation pass the target signal is scheduled for its level, otherwise it is propagated immediately.
+     * @param signal the altered target signal
+     * @throws SignalInvalidException 
+     */
+    protected void propagateTarget(Signal signal) throws SignalInvalidException{
+        if (propagating && Thread.currentThread() == owner){
+            schedule(signal);
+        }
+        else{
+            signal.propagate();
+        }
+    }
+    
+    private void schedule(Signal signal){
+        //a signal is never propagated on a level below the current one
+        int rank = Math.max(signal.getPropagationRank(), currentLevel);
+        while(levels.size() <= rank){
+            levels.add(new ArrayList<>());
+        }
+        levels.get(rank).add(signal);
+    }
+
+    /**
+     * @return the depth of the connection chains, which has been reached during the last propagation pass
+     */
+    public int getPropagationDepth(){
+        return propagationDepth;
+    }
+
+    /**
+     * @return the max. depth of the connection chains, which has been reached since start up
+     */
+    public int getMaxPropagationDepth(){
+        return maxPropagationDepth;
+    }
+}
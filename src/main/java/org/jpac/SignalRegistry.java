@@ -25,7 +25,13 @@
 
 package org.jpac;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * central registry for all signals instantiated inside an application
@@ -33,12 +39,24 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author berndschuster
  */
 public class SignalRegistry {
+    private static final int                   INITIALCAPACITY = 1024;
+    
     private static SignalRegistry              instance;
-    private ConcurrentHashMap<Integer, Signal> signals;
+    private Signal[]                           signals;                  //registered signals indexed by their handle
+    private volatile int                       size;                     //number of handles assigned so far
+    private ConcurrentHashMap<String, Signal>  signalsByIdentifier;      //registered signals indexed by their qualified identifier
+    private ConcurrentLinkedQueue<Signal>      changedSignals;           //signals to be handled by jPac in the next propagation pass
+    private Set<Signal>                        intrinsicFunctionSignals; //signals, whose intrinsic function must be applied in every cycle
+    private ArrayList<Signal>                  pendingSignals;           //reused by jPac on every propagation pass
     
     protected SignalRegistry(){
-        instance      = null;
-        signals       = new ConcurrentHashMap<Integer, Signal>();
+        instance                 = null;
+        signals                  = new Signal[INITIALCAPACITY];
+        size                     = 0;
+        signalsByIdentifier      = new ConcurrentHashMap<String, Signal>();
+        changedSignals           = new ConcurrentLinkedQueue<Signal>();
+        intrinsicFunctionSignals = ConcurrentHashMap.newKeySet();
+        pendingSignals           = new ArrayList<Signal>();
     }
     /**
      * @return the instance of the signal registry
@@ -51,45 +69,129 @@ public class SignalRegistry {
     }
      
     /**
-     * used to add a signal to the registry
+     * used to add a signal to the registry. The signal is assigned a dense handle,
+     * which is stable for the lifetime of the application
      * @param signal
      */
-    public void add(Signal signal) throws SignalAlreadyExistsException{
+    public synchronized void add(Signal signal) throws SignalAlreadyExistsException{
         String identifier = signal.getQualifiedIdentifier();
-        if (signals.get(identifier.hashCode()) != null){
-            throw new SignalAlreadyExistsException(getSignal(identifier));
+        Signal existingSignal = signalsByIdentifier.putIfAbsent(identifier, signal);
+        if (existingSignal != null){
+            throw new SignalAlreadyExistsException(existingSignal);
+        }
+        if (size == signals.length){
+            signals = Arrays.copyOf(signals, 2 * signals.length);
         }
-        signals.put(identifier.hashCode(), signal);
+        signal.setHandle(size);
+        signals[size] = signal;
+        size++;//publishes the new entry to unsynchronized readers
     }
 
-    public void remove(Signal signal) throws SignalNotRegisteredException{
-        if (signals.contains(signal)){
-           signals.remove(signal);
+    /**
+     * used to remove a signal from the registry. Its handle is not reassigned to other signals
+     * @param signal
+     */
+    public synchronized void remove(Signal signal) throws SignalNotRegisteredException{
+        int handle = signal.getHandle();
+        if (handle >= 0 && handle < size && signals[handle] == signal){
+           signals[handle] = null;
+           signalsByIdentifier.remove(signal.getQualifiedIdentifier());
+           intrinsicFunctionSignals.remove(signal);
         }
         else{
             throw new SignalNotRegisteredException(signal.getQualifiedIdentifier());
         }
     }
-    /*
-     * @return the ArrayList of registered signals
+    
+    /**
+     * Since 3.1 the registered signals are returned as an unmodifiable list instead of the map keyed by the hash code
+     * of their qualified identifiers. Use getSignal(int) or getSignal(String) to look up a single signal
+     * @return the list of registered signals ordered by their handles
+     */
+    public List<Signal> getSignals(){
+        //read the volatile size first: the array read afterwards holds at least size entries
+        int      n        = size;
+        Signal[] s        = signals;
+        ArrayList<Signal> list = new ArrayList<>(n);
+        for (int i = 0; i < n && i < s.length; i++){
+            if (s[i] != null){
+                list.add(s[i]);
+            }
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * @return the number of handles assigned so far. Handles of removed signals are included
      */
-    public ConcurrentHashMap<Integer, Signal> getSignals(){
-        return signals;
+    public int getHandleCount(){
+        return size;
     }
     
     public Signal getSignal(String qualifiedIdentifier) throws SignalNotRegisteredException{
-        Signal signal = signals.get(qualifiedIdentifier.hashCode());
+        Signal signal = signalsByIdentifier.get(qualifiedIdentifier);
         if (signal == null){
             throw new SignalNotRegisteredException(qualifiedIdentifier);
         }
         return signal; 
     }
 
-    public Signal getSignal(int hashCode) throws SignalNotRegisteredException{
-        Signal signal = signals.get(hashCode);
+    public Signal getSignal(int handle) throws SignalNotRegisteredException{
+        Signal signal = null;
+        if (handle >= 0 && handle < size){
+            signal = signals[handle];
+        }
         if (signal == null){
-            throw new SignalNotRegisteredException("signal with hashcode " + hashCode);
+            throw new SignalNotRegisteredException("signal with handle " + handle);
         }        
         return signal;
     }
+
+    /**
+     * used to enqueue a signal, which must be handled by jPac in the next propagation pass:
+     * it has been changed or (dis)connections have been requested for it
+     * @param signal
+     */
+    protected void enqueueChangedSignal(Signal signal){
+        if (signal.markEnqueuedForPropagation()){
+            changedSignals.add(signal);
+        }
+    }
+
+    /**
+     * used to register a signal, whose intrinsic function must be applied by jPac in every cycle
+     * @param signal
+     */
+    protected void registerIntrinsicFunctionSignal(Signal signal){
+        intrinsicFunctionSignals.add(signal);
+    }
+
+    /**
+     * used by jPac to retrieve the signals enqueued since the last propagation pass.
+     * Signals enqueued while the returned list is being processed are returned on the next call.
+     * @param includingIntrinsicFunctionSignals if true, all signals with an intrinsic function are returned, too
+     * @return the list of pending signals. It is reused on the next call
+     */
+    protected ArrayList<Signal> pollChangedSignals(boolean includingIntrinsicFunctionSignals){
+        Signal signal;
+        pendingSignals.clear();
+        while((signal = changedSignals.poll()) != null){
+            pendingSignals.add(signal);
+        }
+        if (includingIntrinsicFunctionSignals){
+            for (Signal s: intrinsicFunctionSignals){
+                if (s.getIntrinsicFunction() == null){
+                    //intrinsic function has been removed in the meantime
+                    intrinsicFunctionSignals.remove(s);
+                } else if (s.markEnqueuedForPropagation()){
+                    pendingSignals.add(s);
+                }
+            }
+        }
+        //signals altered from now on must be enqueued again
+        for (Signal s: pendingSignals){
+            s.setEnqueuedForPropagation(false);
+        }
+        return pendingSignals;
+    }
 }
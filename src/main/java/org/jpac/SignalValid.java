@@ -30,7 +30,8 @@ package org.jpac;
  * @author berndschuster
  */
 public class SignalValid extends ProcessEvent{
-    Signal signal;
+    Signal           signal;
+    private Signal[] observedSignals;
     public SignalValid(Signal signal){
         this.signal = signal;
     }
@@ -49,6 +50,12 @@ public class SignalValid extends ProcessEvent{
         }
         return equal;
     }
-    
 
+    @Override
+    protected Signal[] getObservedSignals(){
+        if (observedSignals == null || observedSignals[0] != signal){
+            observedSignals = new Signal[]{signal};
+        }
+        return observedSignals;
+    }
 }
@@ -237,10 +237,10 @@ public class SignedInteger extends Signal{
      * @param value: value, the signed integer is set to
      */
     public void setDeferred(int value){
-        SignedIntegerValue localWrapperValue = new SignedIntegerValue();
-        localWrapperValue.set(value);
-        localWrapperValue.setValid(true);
-        setValueDeferred(localWrapperValue);
+        DeferredSet deferredSet = DeferredSet.SIGNEDINTEGERS.acquire(this);
+        ((SignedIntegerValue)deferredSet.getValue()).set(value);
+        deferredSet.getValue().setValid(true);
+        setValueDeferred(deferredSet);
     }
     
 
@@ -267,7 +267,8 @@ public class SignedInteger extends Signal{
      * @param threshold: threshold to be supervised
      */    
     public SignedIntegerExceeds exceeds(int threshold){
-        return new SignedIntegerExceeds(this, threshold);
+        SignedIntegerExceeds event = getEventCache().get(SignedIntegerExceeds.class, threshold, 0L);
+        return event != null ? event : getEventCache().put(new SignedIntegerExceeds(this, threshold), threshold, 0L);
     }
 
     /**
@@ -275,7 +276,8 @@ public class SignedInteger extends Signal{
      * @param threshold: threshold to be supervised
      */    
     public SignedIntegerFallsBelow fallsBelow(int threshold){
-        return new SignedIntegerFallsBelow(this, threshold);
+        SignedIntegerFallsBelow event = getEventCache().get(SignedIntegerFallsBelow.class, threshold, 0L);
+        return event != null ? event : getEventCache().put(new SignedIntegerFallsBelow(this, threshold), threshold, 0L);
     }
 
     /**
@@ -285,6 +287,7 @@ public class SignedInteger extends Signal{
      * @param threshold: threshold to be supervised
      */    
     public SignedIntegerChanges changes(int baseValue, int threshold){
+        //not cached: base values are commonly taken from the current value of the signal
         return new SignedIntegerChanges(this, baseValue, threshold);
     }
 
@@ -292,7 +295,8 @@ public class SignedInteger extends Signal{
      * returns a process event (SignedIntegerChanges), which is fired, if the signed integer changes
      */    
     public SignedIntegerChanges changes(){
-        return new SignedIntegerChanges(this, 0, 0);
+        SignedIntegerChanges event = getEventCache().get(SignedIntegerChanges.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new SignedIntegerChanges(this, 0, 0), 0L, 0L);
     }
 
     private void assertRange(int newValue) throws NumberOutOfRangeException{
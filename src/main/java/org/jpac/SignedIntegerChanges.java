@@ -48,6 +48,7 @@ public class SignedIntegerChanges extends SignedIntegerEvent{
      * @param baseValue 
      */
     public void setBaseValue(int baseValue){
+        uncache();
         this.baseValue = baseValue;
     }
     
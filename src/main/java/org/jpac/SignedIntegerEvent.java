@@ -31,6 +31,7 @@ package org.jpac;
  */
 abstract class SignedIntegerEvent extends ProcessEvent{
     protected SignedInteger signedInteger;
+    private   Signal[]      observedSignals;
     protected int           threshold;
     
     
@@ -41,6 +42,7 @@ abstract class SignedIntegerEvent extends ProcessEvent{
     }
     
     public void setSignedInteger(SignedInteger signedInteger){
+        uncache();
         this.signedInteger = signedInteger;
     }
     
@@ -53,6 +55,7 @@ abstract class SignedIntegerEvent extends ProcessEvent{
      * @param threshold 
      */
     public void setThreshold(int threshold){
+        uncache();
         this.threshold = threshold;
     }
     
@@ -64,4 +67,12 @@ abstract class SignedIntegerEvent extends ProcessEvent{
     public String toString(){
         return getClass().getSimpleName() + "(" + signedInteger + ")";
     }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        if (observedSignals == null || observedSignals[0] != signedInteger){
+            observedSignals = new Signal[]{signedInteger};
+        }
+        return observedSignals;
+    }
 }
@@ -0,0 +1,127 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : TaskClass.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   :
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac;
+
+/**
+ * task class used to run modules and cyclic tasks at a rate lower than the jPac cycle.
+ * The period of a task class is a multiple of the cycle time of jPac. Its members are serviced in every cycle,
+ * whose number (minus the phase offset given in cycles) is a multiple of the period given in cycles.
+ * All task classes share the time line of jPac. The phase offset can be used to spread the load of several task classes
+ * of the same period over the cycles.
+ * Modules inherit the task class of their containing module, if no task class is assigned to them. Modules and cyclic
+ * tasks without a task class are serviced in every cycle.
+ * Process events awaited by a module are evaluated in every cycle. If they are fired in a cycle, in which the task class of the module
+ * is not due, they are latched until its next due cycle.
+ * @author berndschuster
+ */
+public class TaskClass {
+    private String name;
+    private long   period;
+    private long   phaseOffset;
+    private long   periodCycles;
+    private long   phaseOffsetCycles;
+
+    /**
+     * used to construct a task class
+     * @param name name of the task class
+     * @param period period of the task class in nano seconds. Must be a multiple of the cycle time of jPac. In module contexts use helper values ns,millis,ms,sec to specify: 100 * ms
+     * @param phaseOffset phase offset of the task class in nano seconds. Must be a multiple of the cycle time of jPac and less than the period
+     * @throws WrongUseException thrown, if period or phase offset do not match the cycle time or if a task class of the same name already exists
+     */
+    public TaskClass(String name, long period, long phaseOffset) throws WrongUseException{
+        long cycleTime = JPac.getInstance().getCycleTime();
+        if (period <= 0 || period % cycleTime != 0){
+            throw new WrongUseException("period of task class '" + name + "' must be a multiple of the cycle time (" + cycleTime + " ns)");
+        }
+        if (phaseOffset < 0 || phaseOffset >= period || phaseOffset % cycleTime != 0){
+            throw new WrongUseException("phase offset of task class '" + name + "' must be a multiple of the cycle time (" + cycleTime + " ns) less than its period");
+        }
+        this.name              = name;
+        this.period            = period;
+        this.phaseOffset       = phaseOffset;
+        this.periodCycles      = period / cycleTime;
+        this.phaseOffsetCycles = phaseOffset / cycleTime;
+        JPac.getInstance().registerTaskClass(this);
+    }
+
+    /**
+     * used to construct a task class without phase offset
+     * @param name name of the task class
+     * @param period period of the task class in nano seconds. Must be a multiple of the cycle time of jPac
+     * @throws WrongUseException thrown, if period does not match the cycle time or if a task class of the same name already exists
+     */
+    public TaskClass(String name, long period) throws WrongUseException{
+        this(name, period, 0L);
+    }
+
+    /**
+     * @param cycleNumber number of a jPac cycle
+     * @return true, if the members of this task class are to be serviced in the given cycle
+     */
+    public boolean isDue(long cycleNumber){
+        return periodCycles == 1 || Math.floorMod(cycleNumber - phaseOffsetCycles, periodCycles) == 0;
+    }
+
+    /**
+     * @return the name of the task class
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the period of the task class in nano seconds
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return the phase offset of the task class in nano seconds
+     */
+    public long getPhaseOffset() {
+        return phaseOffset;
+    }
+
+    /**
+     * @return the period of the task class in cycles
+     */
+    public long getPeriodCycles() {
+        return periodCycles;
+    }
+
+    /**
+     * @return the phase offset of the task class in cycles
+     */
+    public long getPhaseOffsetCycles() {
+        return phaseOffsetCycles;
+    }
+
+    @Override
+    public String toString(){
+        return getClass().getSimpleName() + "(" + name + ", " + period + " ns, " + phaseOffset + " ns)";
+    }
+}
@@ -24,17 +24,24 @@
  */
 
 package org.jpac;
+
+import java.util.ArrayList;
+
 /**
  * a timer
  * @author berndschuster
  */
 public class Timer {
-    private long           lastPollCycle;
-    private long           periodOfTime;
-    private long           timeoutTime;
-    private long           timeoutCycle;
-    private JPac.CycleMode cycleMode;
-    private String         name;
+    private long                    lastPollCycle;
+    private long                    periodOfTime;
+    private long                    timeoutTime;
+    private long                    timeoutCycle;
+    private long                    stopCycle;//cycle, in which the timer has been stopped while running
+    private JPac.CycleMode          cycleMode;
+    private String                  name;
+    private TimingWheel.Node        timeoutNode;
+    private ArrayList<TimerExpires> expiresEvents;//indexed events awaiting the expiry of this timer
+    private ProcessEventCache       eventCache;
     
     public Timer(){
         this("NN");
@@ -61,6 +68,7 @@ public class Timer {
         this.lastPollCycle = JPac.getInstance().getCycleNumber();
         switch(cycleMode){
             case FreeRunning:
+            case VirtualTime:
                 break;
             case Bound:
             case LazyBound:
@@ -71,14 +79,24 @@ public class Timer {
             default:
         }
         timeoutTime = JPac.getInstance().getExpandedCycleNanoTime() + periodOfTime;
+        JPac.getInstance().armTimer(this);
     }
     
     /**
      * used to stop the timer.
      */
     public void stop(){
+        boolean wasRunning = isRunning();
         timeoutTime  = 0;
         timeoutCycle = 0;
+        if (wasRunning){
+            //events awaiting the expiry of this timer are fired in the next cycle
+            stopCycle = JPac.getInstance().getCycleNumber();
+            JPac.getInstance().indicateTimerStopped(this);
+        }
+        else if (timeoutNode != null){
+            JPac.getInstance().cancelTimer(this);
+        }
     }
     
     /**
@@ -96,6 +114,7 @@ public class Timer {
         boolean running = false;
         switch(cycleMode){
             case FreeRunning:
+            case VirtualTime:
                  running = timeoutTime > JPac.getInstance().getCycleNanoTime();
                  break;
 
@@ -116,8 +135,82 @@ public class Timer {
         return isRunning() ? timeoutTime - JPac.getInstance().getCycleNanoTime(): 0L;
     }
     
+    /**
+     * @return true, if the state of the timer changed from "running" to "expired" in the current cycle
+     */
+    protected boolean hasExpiredInThisCycle(){
+        boolean expired = false;
+        switch(cycleMode){
+            case FreeRunning:
+            case VirtualTime:
+                 expired = timeoutTime > JPac.getInstance().getPreviousCycleNanoTime() && timeoutTime <= JPac.getInstance().getCycleNanoTime();
+                 break;
+
+            case Bound:
+            case LazyBound:
+                 expired = timeoutCycle == JPac.getInstance().getCycleNumber();
+                 break;
+        }
+        return expired;
+    }
+
+    /**
+     * @return true, if the timer has been stopped while running in the previous cycle and has not been restarted since
+     */
+    protected boolean hasBeenStoppedInPreviousCycle(){
+        return stopCycle != 0L && stopCycle == JPac.getInstance().getCycleNumber() - 1 && !isRunning();
+    }
+
+    protected JPac.CycleMode getCycleMode(){
+        return cycleMode;
+    }
+
+    protected long getTimeoutTime(){
+        return timeoutTime;
+    }
+
+    protected long getTimeoutCycle(){
+        return timeoutCycle;
+    }
+
+    /**
+     * @return the node used by jPac to supervise the expiry of this timer
+     */
+    protected TimingWheel.Node getTimeoutNode(){
+        if (timeoutNode == null){
+            timeoutNode = new TimingWheel.Node(){
+                @Override
+                protected boolean expire(){
+                    boolean expired = !isRunning();
+                    if (expired){
+                        for (TimerExpires te: getExpiresEvents()){
+                            JPac.getInstance().indicateDeadlineReached(te);
+                        }
+                    }
+                    return expired;
+                }
+            };
+        }
+        return timeoutNode;
+    }
+
+    protected ArrayList<TimerExpires> getExpiresEvents(){
+        if (expiresEvents == null){
+            expiresEvents = new ArrayList<>();
+        }
+        return expiresEvents;
+    }
+
     public TimerExpires expires(){
-        return new TimerExpires(this);
+        TimerExpires event = getEventCache().get(TimerExpires.class, 0L, 0L);
+        return event != null ? event : getEventCache().put(new TimerExpires(this), 0L, 0L);
+    }
+
+    private synchronized ProcessEventCache getEventCache(){
+        if (eventCache == null){
+            eventCache = new ProcessEventCache();
+        }
+        return eventCache;
     }
     
     @Override
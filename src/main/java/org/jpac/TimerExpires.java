@@ -41,12 +41,35 @@ public class TimerExpires extends ProcessEvent{
 
     @Override
     public boolean fire() throws ProcessException {
+        if (JPac.getInstance().isIndexedEventEvaluation()){
+            //evaluated only in cycles, in which the timer expired or in the cycle after it has been stopped.
+            //Stopping the timer fires this event, if it has been awaited while the timer was running
+            return timer.hasExpiredInThisCycle() || (timer.hasBeenStoppedInPreviousCycle() && lastRunningCycle != 0L && lastRunningCycle < JPac.getInstance().getCycleNumber());
+        }
         if (timer.isRunning()){
             lastRunningCycle = JPac.getInstance().getCycleNumber();
         }
         //return true during the cycle, in which the state of the timer changes from "running" to "expired"
         return (!timer.isRunning()) && (lastRunningCycle == JPac.getInstance().getCycleNumber() - 1);
     }
+
+    @Override
+    protected Signal[] getObservedSignals(){
+        //evaluated by jPac, when the timer expires
+        return NOSIGNALS;
+    }
+
+    @Override
+    protected void setIndexed(boolean indexed){
+        super.setIndexed(indexed);
+        if (indexed){
+            lastRunningCycle = timer.isRunning() ? JPac.getInstance().getCycleNumber() : 0L;
+        }
+    }
+
+    protected Timer getTimer(){
+        return timer;
+    }
     
     @Override
     public String toString(){
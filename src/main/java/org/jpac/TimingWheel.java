@@ -0,0 +1,226 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : TimingWheel.java   
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac;
+
+/**
+ * hierarchical timing wheel used by jPac to supervise deadlines (timeouts of awaited process events, expiry of timers).
+ * Deadlines are given in the time base of the wheel (cycle numbers or nano seconds) and are mapped to ticks
+ * of the given resolution. Arming and canceling a node takes constant time. When the wheel is advanced,
+ * only those nodes are touched, whose tick has been reached. They are handed over to the list of due nodes, which are
+ * checked in every cycle until they are expired.
+ * @author berndschuster
+ */
+public class TimingWheel {
+    private static final int  LEVELBITS = 8;
+    private static final int  SLOTS     = 1 << LEVELBITS;
+    private static final int  SLOTMASK  = SLOTS - 1;
+    private static final int  LEVELS    = 4;
+    private static final int  DUE       = -1;
+
+    /**
+     * node supervised by a timing wheel. Every supervised object holds its own node, which is reused on every arming.
+     */
+    public static abstract class Node{
+        private Node    prev;
+        private Node    next;
+        private long    tick;
+        private int     level;
+        private int     slot;
+        private boolean armed;
+
+        /**
+         * called by jPac, if the tick of this node has been reached.
+         * @return true, if the node has expired and is to be removed from the wheel, false, if it is to be checked again in the next cycle
+         */
+        protected abstract boolean expire();
+
+        public boolean isArmed(){
+            return armed;
+        }
+    }
+
+    private Node[][] slots;
+    private Node     dueNodes;
+    private long     resolution;
+    private long     currentTick;
+    private boolean  started;
+    private int      size;
+    private int      dueSize;
+
+    /**
+     * @param resolution resolution of a tick in the time base of the wheel
+     */
+    protected TimingWheel(long resolution){
+        this.slots       = new Node[LEVELS][SLOTS];
+        this.dueNodes    = null;
+        this.resolution  = resolution > 0 ? resolution : 1;
+        this.currentTick = 0;
+        this.started     = false;
+        this.size        = 0;
+        this.dueSize     = 0;
+    }
+
+    /**
+     * used to arm the given node. If it is already armed, it is rearmed with the given deadline
+     * @param node node to be armed
+     * @param deadline deadline in the time base of the wheel
+     */
+    protected synchronized void arm(Node node, long deadline){
+        if (node.armed){
+            unlink(node);
+        }
+        else{
+            size++;
+        }
+        node.tick  = Math.floorDiv(deadline, resolution);
+        node.armed = true;
+        place(node);
+    }
+
+    /**
+     * used to cancel the given node. Nothing happens, if it is not armed
+     * @param node 
+     */
+    protected synchronized void cancel(Node node){
+        if (node.armed){
+            unlink(node);
+            node.armed = false;
+            size--;
+        }
+    }
+
+    /**
+     * used to advance the wheel up to the given time and to expire the due nodes
+     * @param time current time in the time base of the wheel
+     */
+    protected synchronized void advance(long time){
+        long tick = Math.floorDiv(time, resolution);
+        if (!started || size == 0){
+            //nothing to cascade on the way
+            currentTick = tick;
+            started     = true;
+        }
+        while(currentTick < tick){
+            currentTick++;
+            //cascade the slots of the higher levels, which are due for the current tick
+            for (int level = 1; level < LEVELS && ((currentTick >> (LEVELBITS * level - LEVELBITS)) & SLOTMASK) == 0; level++){
+                int  index = (int)(currentTick >> (LEVELBITS * level)) & SLOTMASK;
+                Node node  = slots[level][index];
+                slots[level][index] = null;
+                while(node != null){
+                    Node next = node.next;
+                    node.prev = null;
+                    node.next = null;
+                    place(node);
+                    node = next;
+                }
+            }
+            //hand over the nodes of the current tick to the list of due nodes
+            int  index = (int)currentTick & SLOTMASK;
+            Node node  = slots[0][index];
+            slots[0][index] = null;
+            while(node != null){
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                linkDue(node);
+                node = next;
+            }
+            if (size == dueSize){
+                //no more nodes pending inside the wheel
+                currentTick = tick;
+            }
+        }
+        //check the due nodes
+        Node node = dueNodes;
+        while(node != null){
+            Node next = node.next;
+            if (node.expire()){
+                cancel(node);
+            }
+            node = next;
+        }
+    }
+
+    private void place(Node node){
+        long delta = node.tick - currentTick;
+        if (delta <= 0){
+            linkDue(node);
+            return;
+        }
+        int level = 0;
+        while(level < LEVELS - 1 && delta >= (1L << (LEVELBITS * (level + 1)))){
+            level++;
+        }
+        int index  = (int)(node.tick >> (LEVELBITS * level)) & SLOTMASK;
+        node.level = level;
+        node.slot  = index;
+        node.prev  = null;
+        node.next  = slots[level][index];
+        if (node.next != null){
+            node.next.prev = node;
+        }
+        slots[level][index] = node;
+    }
+
+    private void linkDue(Node node){
+        node.level = DUE;
+        dueSize++;
+        node.prev  = null;
+        node.next  = dueNodes;
+        if (node.next != null){
+            node.next.prev = node;
+        }
+        dueNodes = node;
+    }
+
+    private void unlink(Node node){
+        if (node.level == DUE){
+            dueSize--;
+        }
+        if (node.prev != null){
+            node.prev.next = node.next;
+        }
+        else if (node.level == DUE){
+            dueNodes = node.next;
+        }
+        else{
+            slots[node.level][node.slot] = node.next;
+        }
+        if (node.next != null){
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * @return the number of armed nodes
+     */
+    public synchronized int size(){
+        return size;
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : VirtualThreads.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac;
+
+import java.lang.reflect.Method;
+
+/**
+ * used to create virtual threads (Java 21+) for modules and asynchronous tasks.
+ * Virtual threads are accessed by reflection, because elbfisch is compiled for older platforms.
+ * @author berndschuster
+ */
+class VirtualThreads {
+    private static final Method ofVirtual;
+    private static final Method name;
+    private static final Method unstarted;
+
+    static{
+        Method localOfVirtual = null;
+        Method localName      = null;
+        Method localUnstarted = null;
+        try{
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            localOfVirtual = Thread.class.getMethod("ofVirtual");
+            localName      = builderClass.getMethod("name", String.class);
+            localUnstarted = builderClass.getMethod("unstarted", Runnable.class);
+        }
+        catch(ClassNotFoundException | NoSuchMethodException exc){
+            //virtual threads are not supported by this jvm
+            localOfVirtual = null;
+        }
+        ofVirtual = localOfVirtual;
+        name      = localName;
+        unstarted = localUnstarted;
+    }
+
+    /**
+     * @return true, if the jvm supports virtual threads
+     */
+    static boolean isSupported(){
+        return ofVirtual != null;
+    }
+
+    /**
+     * used to create an unstarted virtual thread
+     * @param threadName name of the thread
+     * @param task task to be run by the thread
+     * @return the virtual thread
+     */
+    static Thread newThread(String threadName, Runnable task){
+        if (!isSupported()){
+            throw new UnsupportedOperationException("virtual threads are not supported by this jvm (Java 21+ required)");
+        }
+        try{
+            Object builder = ofVirtual.invoke(null);
+            builder = name.invoke(builder, threadName);
+            return (Thread)unstarted.invoke(builder, task);
+        }
+        catch(ReflectiveOperationException exc){
+            throw new UnsupportedOperationException("failed to create virtual thread " + threadName, exc);
+        }
+    }
+}
@@ -40,6 +40,7 @@ import org.jpac.SignalAccessException;
 import org.jpac.SignalAlreadyExistsException;
 import org.jpac.SignalInvalidException;
 import org.jpac.Value;
+import org.jpac.jfr.AlarmRaisedEvent;
 
 
 /**
@@ -187,6 +188,9 @@ public class Alarm extends Signal{
            if(Log.isDebugEnabled()) { Log.debug("Alarm(" + this.message + ").set: state : " + state + "; wasValidBefore: " + wasValidBefore  + "; lastState: " + lastState ); }
            AlarmQueue.getInstance().incrementPendingAlarmsCount(severity);
            AlarmQueue.getInstance().incrementOpenAlarmsCount(severity);
+           if (JPac.getInstance().isEmittingFlightRecorderEvents()){
+               AlarmRaisedEvent.emit(getQualifiedIdentifier(), message, String.valueOf(severity));
+           }
         }
         else if (!state && wasValidBefore && lastState){
            //transition from true to false or true to invalid
@@ -219,7 +223,7 @@ public class Alarm extends Signal{
      */
     public boolean isPending() throws SignalInvalidException{
         boolean pending = false;
-        if (Thread.currentThread() == getContainingModule() || Thread.currentThread() == jPac){
+        if (AbstractModule.getCurrentThread() == getContainingModule() || AbstractModule.getCurrentThread() == jPac){
             pending = ((LogicalValue)getValue()).is(true);
         }
         else{
@@ -233,7 +237,7 @@ public class Alarm extends Signal{
      */
     public boolean isAcknowledged(){
         boolean state = false;
-        if (Thread.currentThread() == getContainingModule() || Thread.currentThread() == jPac){
+        if (AbstractModule.getCurrentThread() == getContainingModule() || AbstractModule.getCurrentThread() == jPac){
             state = acknowledged.is(true);
         }
         else{
@@ -253,7 +257,7 @@ public class Alarm extends Signal{
         if (!allowed){
             throw new AlarmPendingException(this);
         }
-        if (Thread.currentThread() == getContainingModule() || Thread.currentThread() == jPac){
+        if (AbstractModule.getCurrentThread() == getContainingModule() || AbstractModule.getCurrentThread() == jPac){
             setAcknowlegded(true);
         }
         else{
@@ -305,6 +309,8 @@ public class Alarm extends Signal{
         //physically copy the value to the propagated value
         ((LogicalValue)getPropagatedValue()).copy((LogicalValue)getValue());
         propagatedAcknowledged.copy(acknowledged);
+        //let the alarm queue take notice of the propagated alarm
+        AlarmQueue.getInstance().update(this);
     }
 
     @Override
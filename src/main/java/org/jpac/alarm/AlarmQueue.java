@@ -42,7 +42,7 @@ import org.jpac.ProcessException;
  * implemented as singleton
  * @author berndschuster
  */
-public class AlarmQueue extends Observable implements Observer{
+public class AlarmQueue extends Observable{
     static  Logger Log = LoggerFactory.getLogger("jpac.Alarm");    
     
     private static final int                    QUEUESIZE = 2000;
@@ -104,8 +104,6 @@ public class AlarmQueue extends Observable implements Observer{
         alarms.add(lastIndex, alarm);
         alarmIndices.put(alarm.getContainingModule().getQualifiedName() + '.' + alarm.getIdentifier(), lastIndex);
         lastIndex++;
-        //register myself as an observer for the registered alarm
-        alarm.addObserver(this);
     }
 
     /*
@@ -121,24 +119,25 @@ public class AlarmQueue extends Observable implements Observer{
        
     }
 
-    @Override
-    public void update(Observable o, Object o1) {
-        if (o instanceof Alarm){
-           //queue changed alarm
-           boolean succeeded = queue.offer(new AlarmQueueEntry((Alarm)o));
-           if (succeeded){
-               //if the observer has not already been notified
-               if (!hasChanged()){
-                   //inform it about a new queued alarm to be handled by it
-                   setChanged();
-                   notifyObservers(o);
-               }               
-           }
-           else
-           {
-              Log.error("Failed to queue alarm " + o); 
-           }
-        }
+    /**
+     * called by the jPac thread, if the given registered alarm has been propagated
+     * @param alarm 
+     */
+    void update(Alarm alarm) {
+       //queue changed alarm
+       boolean succeeded = queue.offer(new AlarmQueueEntry(alarm));
+       if (succeeded){
+           //if the observer has not already been notified
+           if (!hasChanged()){
+               //inform it about a new queued alarm to be handled by it
+               setChanged();
+               notifyObservers(alarm);
+           }               
+       }
+       else
+       {
+          Log.error("Failed to queue alarm " + alarm); 
+       }
     }
     /**
      * used to add an observer to alarm queue. Only one observer a time is permitted
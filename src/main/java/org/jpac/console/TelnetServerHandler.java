@@ -20,8 +20,11 @@ import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandler.Sharable;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -203,9 +206,19 @@ public class TelnetServerHandler extends SimpleChannelInboundHandler<String> {
                     try{
                         File file = new File(JPac.getInstance().getHistogramFile());                        
                         PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file)), true);
-                        rf.get().forEach(h -> out.println(h.toCSV()));
+                        out.println(Histogram.getCSVHeader());
+                        ArrayList<Histogram> histograms = rf.get();
+                        histograms.forEach(h -> out.println(h.toCSV()));
                         out.close();
-                        result =  "histogram stored to " + file.getCanonicalPath() + "\r\n";
+                        //store the complete histograms in binary form beside the csv file
+                        File binaryFile = new File(file.getPath().replaceFirst("\\.csv$", "") + ".bin");
+                        try(DataOutputStream bout = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(binaryFile)))){
+                            bout.writeInt(histograms.size());
+                            for (Histogram h: histograms){
+                                h.write(bout);
+                            }
+                        }
+                        result =  "histogram stored to " + file.getCanonicalPath() + " and " + binaryFile.getCanonicalPath() + "\r\n";
                     } 
                     catch (IOException | InterruptedException | java.util.concurrent.ExecutionException exc) {
                         result = ANSI_RED + exc.getMessage() + ANSI_RESET + "\r\n";
@@ -252,7 +265,7 @@ public class TelnetServerHandler extends SimpleChannelInboundHandler<String> {
                         result.append(ANSI_RED + "search string ending with '*' not allowed in this context" + ANSI_RESET  + "\r\n");
                     }
                     else{
-                        SignalRegistry.getInstance().getSignals().values().stream()
+                        SignalRegistry.getInstance().getSignals().stream()
                             .filter(s -> matches(s.getQualifiedIdentifier(), searchString))
                             .forEach(s -> {result.append(setValue(s, valueAsString) + "\r\n");});
                         if (result.length() == 0){
@@ -275,7 +288,7 @@ public class TelnetServerHandler extends SimpleChannelInboundHandler<String> {
                     StringBuffer listOfSignalIdentifiers = new StringBuffer();
                     String searchString                  = (String)pr.getParameterValue(0);
                     listOfSignalIdentifiers.append(ANSI_GREEN);
-                    SignalRegistry.getInstance().getSignals().values().stream()
+                    SignalRegistry.getInstance().getSignals().stream()
                             .filter(s -> matches(s.getQualifiedIdentifier(), searchString))
                             .sorted((s1,s2) -> s1.getQualifiedIdentifier().compareTo(s2.getQualifiedIdentifier()))
                             .forEach(s -> listOfSignalIdentifiers.append(s + "\r\n"));
@@ -58,7 +58,7 @@ public class Browse extends Command{
     //server
     @Override
     public Acknowledgement handleRequest(CommandHandler commandHandler) {
-    	listOfGetHandleAcks = SignalRegistry.getInstance().getSignals().values().stream().map(s -> new GetHandleAcknowledgement(s)).collect(Collectors.toList());
+    	listOfGetHandleAcks = SignalRegistry.getInstance().getSignals().stream().map(s -> new GetHandleAcknowledgement(s)).collect(Collectors.toList());
         acknowledgement     = new BrowseAcknowledgement(listOfGetHandleAcks);
         return acknowledgement;
     }
@@ -32,8 +32,13 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jpac.IoDirection;
 import org.jpac.Signal;
+import org.jpac.JPac;
+import org.jpac.SignalAlreadyConnectedException;
 import org.jpac.SignalRegistry;
+import org.jpac.jfr.TransceiveEvent;
 import org.jpac.vioss.ef.SignalTransport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,6 +51,11 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
     protected Logger    Log       = LoggerFactory.getLogger("jpac.ef");
     
     static final List<CommandHandler> listOfActiveCommandHandlers = new ArrayList<>();
+    
+    //counters exposed by the metrics service
+    static final AtomicLong           connectionsEstablished      = new AtomicLong();
+    static final AtomicLong           commandsHandled             = new AtomicLong();
+    static final AtomicLong           commandsFailed              = new AtomicLong();
 
     protected ByteBuf in;
     protected ByteBuf out;
@@ -60,16 +70,30 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
 	protected int                               index;     
 	protected boolean                           signalsAddedOrRemoved;	
 	protected long                              elbfischInstanceHash;
+	protected boolean                           pushMode;
+	protected PushChanges                       pushChanges;
+	protected ChannelHandlerContext             context;
+	protected ByteBuf                           pushBuf;
+	protected Runnable                          pushChangesTask;
+	protected CompactTransportCodec             clientInputCodec;
+	protected CompactTransportCodec             clientOutputCodec;
+	protected ArrayList<SignalTransport>        updatedClientInputTransports;//client input transports, whose signals changed. Accessed by the jPac thread only
     
     public CommandHandler(InetSocketAddress remoteSocketAddress){
         this.remoteSocketAddress                 = remoteSocketAddress;
         this.listOfClientInputTransports         = new HashMap<>();
         this.listOfClientOutputTransports        = new HashMap<>();
         this.firstSignalValueTransmission        = true;
+        this.clientInputCodec                    = new CompactTransportCodec();
+        this.clientOutputCodec                   = new CompactTransportCodec();
+        this.updatedClientInputTransports        = new ArrayList<>();
         
         this.messageFactory                      = new MessageFactory(this);
         this.signalsAddedOrRemoved               = false;
         this.elbfischInstanceHash                = 0;
+        this.pushMode                            = false;
+        this.pushChanges                         = new PushChanges(listOfClientInputTransports, clientInputCodec);
+        this.pushChangesTask                     = this::writePushChanges;
         
         synchronized(listOfActiveCommandHandlers) {
         	listOfActiveCommandHandlers.add(this);
@@ -79,7 +103,9 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelRegistered(ChannelHandlerContext ctx) throws Exception {
         super.channelRegistered(ctx);
-        out = ctx.alloc().buffer(32000);
+        context = ctx;
+        out     = ctx.alloc().buffer(32000);
+        pushBuf = ctx.alloc().buffer(32000);
     }
      
     @Override
@@ -89,6 +115,11 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
         
         try{        
             in      = (ByteBuf) msg;
+            int receivedBytes = in.readableBytes();
+            TransceiveEvent event = null;
+            if (JPac.getInstance().isEmittingFlightRecorderEvents() && TransceiveEvent.isRecorded()){
+                event = beginTransceiveEvent();
+            }
             command = (Command)messageFactory.getRecycledMessage(in);
             Log.debug("received command {}", command);
             acknowledgement = command.handleRequest(this);
@@ -96,16 +127,44 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
             out.clear();
             acknowledgement.encode(out);
             out.retain();//"out" should be reused for all acknowledgements until context is closed
+            if (event != null && command instanceof Transceive){
+                commitTransceiveEvent(event, receivedBytes, (Transceive)command);
+            }
             ctx.writeAndFlush(out);
             in.release();
+            commandsHandled.incrementAndGet();
         } catch(Exception exc){
+            commandsFailed.incrementAndGet();
             Log.error("Error: ", exc);
         }
     }
     
+    private TransceiveEvent beginTransceiveEvent(){
+        TransceiveEvent event = new TransceiveEvent();
+        event.begin();
+        return event;
+    }
+
+    private void commitTransceiveEvent(TransceiveEvent event, int receivedBytes, Transceive transceive){
+        event.end();
+        if (event.shouldCommit()){
+            event.remote          = remoteSocketAddress.toString();
+            event.serverSide      = true;
+            event.bytesReceived   = receivedBytes;
+            event.bytesSent       = out.writerIndex();
+            event.signalsReceived = transceive.getTransportsCount();
+            event.signalsSent     = ((TransceiveAcknowledgement)transceive.getAcknowledgement()).getTransportsCount();
+            event.commit();
+        }
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception{
         super.channelInactive(ctx);
+        //stop observing the signals sent to the client
+        synchronized(listOfClientInputTransports) {
+            listOfClientInputTransports.values().forEach((st)-> st.getConnectedSignal().disconnect(st));
+        }
         //disconnect all received signals, and invalidate them
         synchronized(listOfClientOutputTransports) {
 	        listOfClientOutputTransports.keySet().forEach(
@@ -125,6 +184,7 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception{
         super.channelActive(ctx);
+        connectionsEstablished.incrementAndGet();
         Log.info("remote connection for ef://" + remoteSocketAddress.getHostName() + ":" + remoteSocketAddress.getPort() + " established");
         firstSignalValueTransmission = true;//invoke transfer of all client input signals on first transmission regardless if changed or not
     }
@@ -137,6 +197,10 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
 	            listOfActiveCommandHandlers.remove(this);
 	        }
         }
+        synchronized(this){
+            pushMode = false;
+            pushBuf.release();
+        }
     }
     
     @Override
@@ -149,11 +213,46 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
         return listOfActiveCommandHandlers;
     }
 
+    /**
+     * @return the number of connections established by ef clients since start up
+     */
+    public static long getNumberOfConnectionsEstablished(){
+        return connectionsEstablished.get();
+    }
+
+    /**
+     * @return the number of commands received from ef clients and handled successfully since start up
+     */
+    public static long getNumberOfCommandsHandled(){
+        return commandsHandled.get();
+    }
+
+    /**
+     * @return the number of commands received from ef clients, whose handling failed
+     */
+    public static long getNumberOfCommandsFailed(){
+        return commandsFailed.get();
+    }
+
     protected void registerClientInputSignal(int handle) {
         Signal          signal = SignalRegistry.getInstance().getSignal(handle);
         SignalTransport st     = new SignalTransport(signal);
+        st.setUpdatedTransports(updatedClientInputTransports);
         synchronized(listOfClientInputTransports){
-        	listOfClientInputTransports.put(handle, st);
+        	SignalTransport replacedSt = listOfClientInputTransports.put(handle, st);
+        	if (replacedSt != null){
+        	    //handle subscribed again: the replaced transport must neither be updated nor encoded any more
+        	    signal.disconnect(replacedSt);
+        	    clientInputCodec.removeSlot(replacedSt);
+        	}
+        	clientInputCodec.addSlot(st);
+        }
+        try{
+            //changes of the signal are collected by updatedClientInputTransports (see transferChangedSignalsToClientInputTransports())
+            signal.connect(st);
+        }
+        catch(SignalAlreadyConnectedException exc){
+            Log.error("Error: ", exc);
         }
     }
    
@@ -163,6 +262,7 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
         signal.setConnectedAsTarget(true);
         synchronized(listOfClientOutputTransports){
         	listOfClientOutputTransports.put(handle, st);
+        	clientOutputCodec.addSlot(st);
         }
         Log.debug("register " + signal);
     }
@@ -172,6 +272,7 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
     	st.getConnectedSignal().disconnect(st);
         synchronized(listOfClientInputTransports){
         	listOfClientInputTransports.remove(handle);
+        	clientInputCodec.removeSlot(st);
         }
     }
    
@@ -181,6 +282,29 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
         st.getConnectedSignal().invalidateDeferred();
         synchronized(listOfClientOutputTransports){
         	listOfClientOutputTransports.remove(handle);
+        	clientOutputCodec.removeSlot(st);
+        }
+    }
+
+    /**
+     * leaves the next subscription slot of the given direction vacant, because the subscription of a signal failed.
+     * Keeps the slots assigned by client and server in line (see CompactTransportCodec)
+     * @param ioDirection
+     */
+    protected void reserveSlot(IoDirection ioDirection) {
+        switch(ioDirection){
+            case INPUT:
+                synchronized(listOfClientInputTransports){
+                    clientInputCodec.reserveSlot();
+                }
+                break;
+            case OUTPUT:
+                synchronized(listOfClientOutputTransports){
+                    clientOutputCodec.reserveSlot();
+                }
+                break;
+            default:
+                break;
         }
     }
 
@@ -189,19 +313,96 @@ public class CommandHandler extends ChannelInboundHandlerAdapter {
      */
     public void transferChangedClientOutputTransportsToSignals(){
         synchronized(listOfClientOutputTransports){
-            listOfClientOutputTransports.values().forEach((st)-> st.getConnectedSignal().setValue(st.getValue()));
+            ArrayList<SignalTransport> changedTransports = clientOutputCodec.takeChangedTransports();
+            for (int i = 0; i < changedTransports.size(); i++){
+                SignalTransport st = changedTransports.get(i);
+                st.getConnectedSignal().setValue(st.getValue());
+            }
         }
     }
 
     /**
-     * called by EfService on JPac thread in every cycle
+     * called by EfService on JPac thread in every cycle. Just the transports of the signals changed since
+     * the last call are handled (collected by SignalTransport.update())
      */
     public void transferChangedSignalsToClientInputTransports(){
+        if (updatedClientInputTransports.isEmpty()){
+            return;
+        }
         synchronized(listOfClientInputTransports){
-            listOfClientInputTransports.values().forEach((st)->	st.setValue(st.getConnectedSignal().getValue()));
+            for (int i = 0; i < updatedClientInputTransports.size(); i++){
+                updatedClientInputTransports.get(i).takeOverUpdate();
+            }
+            updatedClientInputTransports.clear();
         }
     }
 
+    /**
+     * called by EfService on JPac thread in every cycle. If the client subscribed in push mode,
+     * the client input signals changed in this cycle are sent to it right away
+     */
+    public void pushChangedClientInputTransports(){
+        if (pushMode && context != null && context.channel().isActive()){
+            //encoded on the event loop to keep pushed changes and acknowledgements in the order of their encoding
+            //(required by the delta encoding of the compact wire format)
+            context.executor().execute(pushChangesTask);
+        }
+    }
+
+    protected synchronized void writePushChanges(){
+        if (pushMode && context.channel().isActive()){
+            if (pushBuf.refCnt() > 1){
+                //preceding push still in transmission: leave its buffer to the channel
+                pushBuf.release();
+                pushBuf = context.alloc().buffer(32000);
+            }
+            pushBuf.clear();
+            pushChanges.encode(pushBuf);
+            if (pushChanges.getTransportsCount() > 0){
+                pushBuf.retain();//"pushBuf" should be reused for all pushes until context is closed
+                context.writeAndFlush(pushBuf);
+            }
+        }
+    }
+
+    /**
+     * @param pushMode true: changed client input signals are pushed to the client (see Subscribe.OPTIONPUSHMODE)
+     */
+    protected void setPushMode(boolean pushMode){
+        this.pushMode = pushMode;
+    }
+
+    /**
+     * @return true, if changed client input signals are pushed to the client
+     */
+    public boolean isPushMode(){
+        return this.pushMode;
+    }
+
+    /**
+     * @param compactEncoding true: client input signals are sent in the compact wire format (see Subscribe.OPTIONCOMPACTENCODING)
+     * @param deltaEncoding true: signed integers are delta encoded (see Subscribe.OPTIONDELTAENCODING)
+     */
+    protected void setCompactEncoding(boolean compactEncoding, boolean deltaEncoding){
+        synchronized(listOfClientInputTransports){
+            clientInputCodec.setEncodingEnabled(compactEncoding, deltaEncoding);
+        }
+    }
+
+    /**
+     * @return the codec of the client input signals in the compact wire format
+     */
+    public CompactTransportCodec getClientInputCodec(){
+        return this.clientInputCodec;
+    }
+
+    /**
+     * @return the codec of the client output signals in the compact wire format
+     */
+    public CompactTransportCodec getClientOutputCodec(){
+        return this.clientOutputCodec;
+    }
+
     /**
      * @return the listOfClientInputTransports
      */
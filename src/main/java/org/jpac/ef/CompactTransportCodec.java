@@ -0,0 +1,365 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : CompactTransportCodec.java (versatile input output subsystem)
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   :
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package org.jpac.ef;
+
+import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.jpac.BasicSignalType;
+import org.jpac.InconsistencyException;
+import org.jpac.LogicalValue;
+import org.jpac.vioss.ef.SignalTransport;
+
+/**
+ * maintains the subscription slots of the signal transports of one direction of an ef connection.
+ * Transports marked as changed are listed by their slot, so that the cost of their transmission depends on the number of
+ * changed transports instead of the number of subscribed ones.
+ * Encodes and decodes the transports in the compact wire format (v2), negotiated on subscription (see Subscribe.OPTIONCOMPACTENCODING):
+ * <pre>
+ *   format marker         : byte   (COMPACTFORMAT or COMPACTDELTAFORMAT)
+ *   number of transports  : varint
+ *   subscription slots    : varint per transport
+ *   validity bitmap       : one bit per transport
+ *   logical values bitmap : one bit per logical transport
+ *   values                : per valid transport, which is not a logical (see SignalTransport.encodeCompactly())
+ * </pre>
+ * Subscription slots are assigned in the order, in which the signals are subscribed, separately for input and output signals.
+ * Slots of signals, whose subscription failed, are left vacant, so that client and server agree on them without further negotiation.
+ * The format marker cannot occur as first byte of the transports count of the legacy format. Therefore the receiving side
+ * decodes either format, independent of the negotiation.
+ * @author berndschuster
+ */
+public class CompactTransportCodec {
+    public  static final byte COMPACTFORMAT      = (byte)0x80;//transports encoded in the compact format
+    public  static final byte COMPACTDELTAFORMAT = (byte)0x81;//compact format, signed integers encoded as difference to the preceding transmission
+
+    protected ArrayList<SignalTransport> slots;
+    protected ArrayList<SignalTransport> transports;//transports decoded by the last transmission
+    protected ArrayList<SignalTransport> changedTransports;//transports taken by the last call of takeChangedTransports()
+    protected boolean[]                  changedSlots;//true, if the transport assigned to the slot is listed as changed
+    protected int[]                      listOfChangedSlots;
+    protected int                        changedSlotsCount;
+    protected boolean                    encodingEnabled;
+    protected boolean                    deltaEncodingEnabled;
+
+    public CompactTransportCodec(){
+        this.slots                = new ArrayList<>();
+        this.transports           = new ArrayList<>();
+        this.changedTransports    = new ArrayList<>();
+        this.changedSlots         = new boolean[16];
+        this.listOfChangedSlots   = new int[16];
+        this.changedSlotsCount    = 0;
+        this.encodingEnabled      = false;
+        this.deltaEncodingEnabled = false;
+    }
+
+    /**
+     * assigns the next subscription slot to the given transport. If it is marked as changed, it is listed as such
+     * @param signalTransport
+     */
+    public synchronized void addSlot(SignalTransport signalTransport){
+        signalTransport.setSlot(slots.size(), this);
+        slots.add(signalTransport);
+        ensureCapacity();
+        if (signalTransport.isChanged()){
+            markChanged(signalTransport);
+        }
+    }
+
+    /**
+     * reassigns the subscription slots to the given transports in the order of the collection. Used for transports,
+     * which are not subscribed through this codec (see Transceive(HashMap, HashMap)). Transports marked as changed are listed as such
+     * @param signalTransports
+     */
+    public synchronized void assignSlots(Collection<SignalTransport> signalTransports){
+        clear();
+        for (SignalTransport st: signalTransports){
+            addSlot(st);
+        }
+    }
+
+    /**
+     * leaves the next subscription slot vacant (subscription of the signal failed)
+     */
+    public synchronized void reserveSlot(){
+        slots.add(null);
+        ensureCapacity();
+    }
+
+    protected void ensureCapacity(){
+        if (slots.size() > changedSlots.length){
+            changedSlots       = Arrays.copyOf(changedSlots, 2 * slots.size());
+            listOfChangedSlots = Arrays.copyOf(listOfChangedSlots, 2 * slots.size());
+        }
+    }
+
+    /**
+     * lists the given transport as changed. Called by SignalTransport.setChanged()
+     * @param signalTransport
+     */
+    public synchronized void markChanged(SignalTransport signalTransport){
+        int slot = signalTransport.getSlot();
+        if (slot != SignalTransport.NOSLOT && !changedSlots[slot]){
+            changedSlots[slot]                      = true;
+            listOfChangedSlots[changedSlotsCount++] = slot;
+        }
+    }
+
+    /**
+     * takes the transports listed as changed, in the order of their change, and resets their changed flag.
+     * The returned list is reused by the next call
+     * @return the changed transports
+     */
+    public synchronized ArrayList<SignalTransport> takeChangedTransports(){
+        changedTransports.clear();
+        for (int i = 0; i < changedSlotsCount; i++){
+            int             slot = listOfChangedSlots[i];
+            SignalTransport st   = slots.get(slot);
+            changedSlots[slot] = false;
+            if (st != null && st.isChanged()){
+                st.setChanged(false);
+                changedTransports.add(st);
+            }
+        }
+        changedSlotsCount = 0;
+        return changedTransports;
+    }
+
+    /**
+     * frees the subscription slot of the given transport
+     * @param signalTransport
+     */
+    public synchronized void removeSlot(SignalTransport signalTransport){
+        int slot = signalTransport.getSlot();
+        if (slot >= 0 && slot < slots.size() && slots.get(slot) == signalTransport){
+            slots.set(slot, null);
+        }
+        signalTransport.setSlot(SignalTransport.NOSLOT, null);
+    }
+
+    /**
+     * frees all subscription slots
+     */
+    public synchronized void clear(){
+        slots.forEach((st) -> {if (st != null) st.setSlot(SignalTransport.NOSLOT, null);});
+        slots.clear();
+        Arrays.fill(changedSlots, false);
+        changedSlotsCount = 0;
+    }
+
+    /**
+     * @param encodingEnabled true: transports are encoded in the compact format
+     * @param deltaEncodingEnabled true: signed integers are encoded as difference to their preceding transmission
+     */
+    public synchronized void setEncodingEnabled(boolean encodingEnabled, boolean deltaEncodingEnabled){
+        this.encodingEnabled      = encodingEnabled;
+        this.deltaEncodingEnabled = encodingEnabled && deltaEncodingEnabled;
+    }
+
+    /**
+     * @return true, if transports are encoded in the compact format
+     */
+    public boolean isEncodingEnabled(){
+        return this.encodingEnabled;
+    }
+
+    /**
+     * @return true, if signed integers are encoded as difference to their preceding transmission
+     */
+    public boolean isDeltaEncodingEnabled(){
+        return this.deltaEncodingEnabled;
+    }
+
+    /**
+     * @param byteBuf
+     * @return true, if the transports to be read next from the given buffer are encoded in the compact format. The reader index is left untouched
+     */
+    public static boolean isCompactlyEncoded(ByteBuf byteBuf){
+        byte marker = byteBuf.getByte(byteBuf.readerIndex());
+        return marker == COMPACTFORMAT || marker == COMPACTDELTAFORMAT;
+    }
+
+    /**
+     * encodes the transports listed as changed. Their changed flag is reset.
+     * Must be called while holding the monitor of the collection of transports
+     * @param byteBuf
+     * @return number of transports encoded
+     */
+    public int encode(ByteBuf byteBuf){
+        ArrayList<SignalTransport> encodedTransports = takeChangedTransports();
+        int                        logicalsCount     = 0;
+        for (int i = 0; i < encodedTransports.size(); i++){
+            if (encodedTransports.get(i).getSignalType() == BasicSignalType.Logical){
+                logicalsCount++;
+            }
+        }
+        byteBuf.writeByte(deltaEncodingEnabled ? COMPACTDELTAFORMAT : COMPACTFORMAT);
+        writeVarInt(byteBuf, encodedTransports.size());
+        for (int i = 0; i < encodedTransports.size(); i++){
+            writeVarInt(byteBuf, encodedTransports.get(i).getSlot());
+        }
+        //validity bitmap
+        int bits = 0;
+        for (int i = 0; i < encodedTransports.size(); i++){
+            if (encodedTransports.get(i).getValue().isValid()){
+                bits |= 1 << (i & 7);
+            }
+            if ((i & 7) == 7 || i == encodedTransports.size() - 1){
+                byteBuf.writeByte(bits);
+                bits = 0;
+            }
+        }
+        //logical values bitmap
+        int logicalIndex = 0;
+        for (int i = 0; i < encodedTransports.size(); i++){
+            SignalTransport st = encodedTransports.get(i);
+            if (st.getSignalType() == BasicSignalType.Logical){
+                if (((LogicalValue)st.getValue()).get()){
+                    bits |= 1 << (logicalIndex & 7);
+                }
+                if ((logicalIndex & 7) == 7 || logicalIndex == logicalsCount - 1){
+                    byteBuf.writeByte(bits);
+                    bits = 0;
+                }
+                logicalIndex++;
+            }
+        }
+        //values
+        for (int i = 0; i < encodedTransports.size(); i++){
+            SignalTransport st = encodedTransports.get(i);
+            if (st.getSignalType() != BasicSignalType.Logical && st.getValue().isValid()){
+                st.encodeCompactly(byteBuf, deltaEncodingEnabled);
+            }
+        }
+        return encodedTransports.size();
+    }
+
+    /**
+     * decodes transports directly into the transports assigned to their subscription slots and marks them as changed.
+     * Must be called while holding the monitor of the collection of transports
+     * @param byteBuf
+     * @return number of transports decoded
+     * @throws InconsistencyException thrown, if a transport refers to a vacant subscription slot
+     */
+    public int decode(ByteBuf byteBuf) throws InconsistencyException{
+        boolean deltaEncoded  = byteBuf.readByte() == COMPACTDELTAFORMAT;
+        int     length        = readVarInt(byteBuf);
+        int     logicalsCount = 0;
+        transports.clear();
+        for (int i = 0; i < length; i++){
+            int slot = readVarInt(byteBuf);
+            SignalTransport st = slot < slots.size() ? slots.get(slot) : null;
+            if (st == null){
+                throw new InconsistencyException("received signal transport for vacant subscription slot " + slot);
+            }
+            transports.add(st);
+            if (st.getSignalType() == BasicSignalType.Logical){
+                logicalsCount++;
+            }
+        }
+        //validity bitmap
+        int bits = 0;
+        for (int i = 0; i < length; i++){
+            if ((i & 7) == 0){
+                bits = byteBuf.readUnsignedByte();
+            }
+            transports.get(i).getValue().setValid((bits & (1 << (i & 7))) != 0);
+        }
+        //logical values bitmap
+        int logicalIndex = 0;
+        for (int i = 0; i < length && logicalsCount > 0; i++){
+            SignalTransport st = transports.get(i);
+            if (st.getSignalType() == BasicSignalType.Logical){
+                if ((logicalIndex & 7) == 0){
+                    bits = byteBuf.readUnsignedByte();
+                }
+                ((LogicalValue)st.getValue()).set((bits & (1 << (logicalIndex & 7))) != 0);
+                logicalIndex++;
+            }
+        }
+        //values
+        for (int i = 0; i < length; i++){
+            SignalTransport st = transports.get(i);
+            if (st.getSignalType() != BasicSignalType.Logical && st.getValue().isValid()){
+                st.decodeCompactly(byteBuf, deltaEncoded);
+            }
+            st.setChanged(true);
+        }
+        return length;
+    }
+
+    /**
+     * writes an unsigned variable length integer (7 bits per byte, least significant group first)
+     * @param byteBuf
+     * @param value
+     */
+    public static void writeVarInt(ByteBuf byteBuf, int value){
+        while ((value & ~0x7F) != 0){
+            byteBuf.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        byteBuf.writeByte(value);
+    }
+
+    /**
+     * reads an unsigned variable length integer written by writeVarInt()
+     * @param byteBuf
+     * @return the value read
+     */
+    public static int readVarInt(ByteBuf byteBuf){
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do{
+            b      = byteBuf.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        while((b & 0x80) != 0 && shift < 35);
+        return value;
+    }
+
+    /**
+     * writes a signed variable length integer (zig zag encoded, so that values of small magnitude take few bytes)
+     * @param byteBuf
+     * @param value
+     */
+    public static void writeSignedVarInt(ByteBuf byteBuf, int value){
+        writeVarInt(byteBuf, (value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * reads a signed variable length integer written by writeSignedVarInt()
+     * @param byteBuf
+     * @return the value read
+     */
+    public static int readSignedVarInt(ByteBuf byteBuf){
+        int value = readVarInt(byteBuf);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
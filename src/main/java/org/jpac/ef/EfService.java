@@ -115,6 +115,7 @@ public class EfService implements Runnable{
             CommandHandler.getListOfActiveCommandHandlers().forEach((commandHandler)-> {
                 commandHandler.transferChangedClientOutputTransportsToSignals();
                 commandHandler.transferChangedSignalsToClientInputTransports();
+                commandHandler.pushChangedClientInputTransports();
             });
         }
     }
@@ -38,7 +38,7 @@ public class MessageFactory {
 
     public MessageFactory(CommandHandler commandHandler) {
     	this.commandHandler     = commandHandler;
-    	this.recycledTransceive = new Transceive(commandHandler.getListOfClientInputTransports(), commandHandler.getListOfClientOutputTransports());
+    	this.recycledTransceive = new Transceive(commandHandler.getListOfClientInputTransports(), commandHandler.getListOfClientOutputTransports(), commandHandler.getClientInputCodec(), commandHandler.getClientOutputCodec());
     }
     
     public static Message getMessage(ByteBuf byteBuf) {
@@ -75,6 +75,10 @@ public class MessageFactory {
     	return MessageId.fromInt(byteBuf.readShort());
     }
 
+    public static MessageId peekMessageId(ByteBuf byteBuf) {
+    	return MessageId.fromInt(byteBuf.getShort(byteBuf.readerIndex()));
+    }
+
     protected static Message getCommand(MessageId commandId) {
     	Message message = null;
         switch(commandId) {
@@ -126,6 +130,9 @@ public class MessageFactory {
         case AckApply:
             message = new ApplyAcknowledgement();
             break;
+        case PushChanges:
+            message = null;//pushed changes can only be received by a recycled instance   
+            break;
          default:
         }
         return message;
@@ -48,7 +48,10 @@ public enum MessageId {
     AckBrowse       (-05),
     AckSubscribe    (-06),
     AckUnsubscribe  (-07),
-    AckApply        (- 8);
+    AckApply        (- 8),
+    PushChanges     ( 20);
+
+    private static final MessageId[] VALUES = values();//cached to avoid cloning values() on every decode
 
     private short id;
 
@@ -75,7 +78,7 @@ public enum MessageId {
     public static MessageId fromInt(int id){
         boolean found = false;
         int     idx   = 0;
-        MessageId[] ids = MessageId.values();
+        MessageId[] ids = VALUES;
         for(int i = 0; i < ids.length && !found; i++){
             found = ids[i].id == id;
             if (found){
@@ -31,6 +31,7 @@ import java.util.List;
 
 import org.jpac.BasicSignalType;
 import org.jpac.CharString;
+import org.jpac.JPac;
 import org.jpac.Signal;
 import org.jpac.SignalNotRegisteredException;
 import org.jpac.SignalRegistry;
@@ -40,12 +41,18 @@ import org.jpac.SignalRegistry;
  * @author berndschuster
  */
 public class Subscribe extends Command{    
+    public static final int OPTIONPUSHMODE        = 0x01;//changed client input signals are pushed by the server
+    public static final int OPTIONCOMPACTENCODING = 0x02;//signal transports are encoded in the compact wire format (see CompactTransportCodec)
+    public static final int OPTIONDELTAENCODING   = 0x04;//signed integers are delta encoded by the compact wire format
+    
     protected List<SubscriptionTransport> listOfSubScriptionTransports;
+    protected int                         options;//options requested by the client
     
     //server
     public Subscribe(){
         super(MessageId.CmdSubscribe);
         this.listOfSubScriptionTransports = new ArrayList<>();
+        this.options                      = 0;
     }
     
     //client
@@ -53,6 +60,12 @@ public class Subscribe extends Command{
         this();
         this.listOfSubScriptionTransports = handles;
     }
+
+    //client
+    public Subscribe(ArrayList<SubscriptionTransport> handles, int options){
+        this(handles);
+        this.options = options;
+    }
     
     //client
     @Override
@@ -60,6 +73,7 @@ public class Subscribe extends Command{
         super.encode(byteBuf);
         byteBuf.writeInt(listOfSubScriptionTransports.size());
         listOfSubScriptionTransports.forEach((st) -> st.encode(byteBuf));
+        byteBuf.writeInt(options);
     }
     
     //server
@@ -73,6 +87,8 @@ public class Subscribe extends Command{
             listOfSubScriptionTransports.add(st);
             Log.debug("received: {}", st);
         }
+        //options are not sent by clients of older versions
+        options = byteBuf.readableBytes() >= Integer.BYTES ? byteBuf.readInt() : 0;
     }
     
     //server
@@ -112,9 +128,26 @@ public class Subscribe extends Command{
             catch(Exception exc){
                 result = Result.GeneralFailure;                
             }
+            if (result != Result.NoFault){
+                //keep the subscription slots in line with the ones assigned by the client
+                commandHandler.reserveSlot(st.getIoDirection());
+            }
             listOfResults.add(result.getValue());
         }
-        acknowledgement = new SubscribeAcknowledgement(listOfResults);
+        //grant the requested options supported by this instance
+        int grantedOptions = 0;
+        if ((options & OPTIONPUSHMODE) != 0 && JPac.getInstance().isEfPushModeEnabled()){
+            grantedOptions |= OPTIONPUSHMODE;
+        }
+        if ((options & OPTIONCOMPACTENCODING) != 0 && JPac.getInstance().isEfCompactEncodingEnabled()){
+            grantedOptions |= OPTIONCOMPACTENCODING;
+            if ((options & OPTIONDELTAENCODING) != 0 && JPac.getInstance().isEfDeltaEncodingEnabled()){
+                grantedOptions |= OPTIONDELTAENCODING;
+            }
+        }
+        commandHandler.setPushMode((grantedOptions & OPTIONPUSHMODE) != 0);
+        commandHandler.setCompactEncoding((grantedOptions & OPTIONCOMPACTENCODING) != 0, (grantedOptions & OPTIONDELTAENCODING) != 0);
+        acknowledgement = new SubscribeAcknowledgement(listOfResults, grantedOptions);
         return acknowledgement;
     }
 
@@ -126,6 +159,10 @@ public class Subscribe extends Command{
         return acknowledgement;
     }
     
+    public int getOptions(){
+        return this.options;
+    }
+
     @Override
     public String toString(){
         return super.toString() + "(" + (listOfSubScriptionTransports != null ? listOfSubScriptionTransports.size() : "") + ")";
@@ -35,20 +35,31 @@ import java.util.List;
  */
 public class SubscribeAcknowledgement extends Acknowledgement{
     protected List<Integer> listOfResults;
+    protected int           grantedOptions;//options of Subscribe granted by the server
     
     public SubscribeAcknowledgement(){
         super(MessageId.AckSubscribe);
-        listOfResults = new ArrayList<>();
+        listOfResults  = new ArrayList<>();
+        grantedOptions = 0;
     }
 
     public SubscribeAcknowledgement(List<Integer> listOfResults){
         this();
         this.listOfResults = listOfResults;
     }
+
+    public SubscribeAcknowledgement(List<Integer> listOfResults, int grantedOptions){
+        this(listOfResults);
+        this.grantedOptions = grantedOptions;
+    }
     
     public List<Integer> getListOfResults(){
         return this.listOfResults;
     }
+
+    public int getGrantedOptions(){
+        return this.grantedOptions;
+    }
         
     //server side
     @Override
@@ -56,6 +67,7 @@ public class SubscribeAcknowledgement extends Acknowledgement{
         super.encode(byteBuf);
         byteBuf.writeInt(listOfResults.size());
         listOfResults.forEach((r) -> byteBuf.writeInt(r));
+        byteBuf.writeInt(grantedOptions);
     }
 
     //client side
@@ -66,6 +78,8 @@ public class SubscribeAcknowledgement extends Acknowledgement{
         for(int i = 0; i < length; i++){
             listOfResults.add(byteBuf.readInt());
         }
+        //options are not granted by servers of older versions
+        grantedOptions = byteBuf.readableBytes() >= Integer.BYTES ? byteBuf.readInt() : 0;
     }
     
  @Override
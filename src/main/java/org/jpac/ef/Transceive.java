@@ -26,6 +26,7 @@
 package org.jpac.ef;
 
 import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
 import java.util.HashMap;
 
 import org.jpac.vioss.ef.SignalTransport;
@@ -37,8 +38,9 @@ import org.jpac.vioss.ef.SignalTransport;
 public class Transceive extends Command{    
     protected HashMap<Integer, SignalTransport> listOfClientOutputTransports;
     protected int                               transportsCount;
-    protected int                               transportsCountIndex;
     protected SignalTransport                   receivedSignalTransport;
+    protected CompactTransportCodec             clientOutputCodec;
+    protected boolean                           ownCodec;//codec private to this command: transports are assigned to it on every encoding
     
     //client, server
     public Transceive(HashMap<Integer, SignalTransport> listOfClientInputTransports, HashMap<Integer, SignalTransport> listOfClientOutputTransports){
@@ -46,30 +48,40 @@ public class Transceive extends Command{
         this.listOfClientOutputTransports  = listOfClientOutputTransports;
         this.acknowledgement               = new TransceiveAcknowledgement(listOfClientInputTransports);
         this.receivedSignalTransport       = new SignalTransport();
+        this.clientOutputCodec             = new CompactTransportCodec();
+        this.ownCodec                      = true;
+    }
+
+    //client, server
+    public Transceive(HashMap<Integer, SignalTransport> listOfClientInputTransports, HashMap<Integer, SignalTransport> listOfClientOutputTransports, CompactTransportCodec clientInputCodec, CompactTransportCodec clientOutputCodec){
+        super(MessageId.CmdTransceive);
+        this.listOfClientOutputTransports  = listOfClientOutputTransports;
+        this.acknowledgement               = new TransceiveAcknowledgement(listOfClientInputTransports, clientInputCodec);
+        this.receivedSignalTransport       = new SignalTransport();
+        this.clientOutputCodec             = clientOutputCodec;
     }
     
     //client
     @Override
     public void encode(ByteBuf byteBuf){
         super.encode(byteBuf);
-    	transportsCountIndex  = byteBuf.writerIndex();
-        byteBuf.writeInt(0);//reserve space for the transports count
-    	transportsCount       = 0;
         synchronized(listOfClientOutputTransports) {
-        	listOfClientOutputTransports.values().forEach((st) -> {
-	        		if (st.isChanged()) {
-	        			st.encode(byteBuf);
-	        			st.setChanged(false);
-	        			transportsCount++;
-	        		}
-	        	});			
+            if (ownCodec){
+                clientOutputCodec.assignSlots(listOfClientOutputTransports.values());
+            }
+            if (clientOutputCodec.isEncodingEnabled()){
+                transportsCount = clientOutputCodec.encode(byteBuf);
+            }
+            else{
+                //just the transports changed since the last transmission
+                ArrayList<SignalTransport> changedTransports = clientOutputCodec.takeChangedTransports();
+                transportsCount = changedTransports.size();
+                byteBuf.writeInt(transportsCount);
+                for (int i = 0; i < transportsCount; i++){
+                    changedTransports.get(i).encode(byteBuf);
+                }
+            }
         }
-        //insert actual number of transports to be transmitted into the stream
-        int lastWriterIndex = byteBuf.writerIndex();
-        byteBuf.writerIndex(transportsCountIndex);
-        byteBuf.writeInt(transportsCount);
-        //and restore writer index
-        byteBuf.writerIndex(lastWriterIndex); 
     }
     
     //server
@@ -77,13 +89,26 @@ public class Transceive extends Command{
     public void decode(ByteBuf byteBuf){
     	SignalTransport target;
         super.decode(byteBuf);
+        if (CompactTransportCodec.isCompactlyEncoded(byteBuf)){
+            synchronized(listOfClientOutputTransports) {
+                transportsCount = clientOutputCodec.decode(byteBuf);
+            }
+            return;
+        }
         int length = byteBuf.readInt();
+        transportsCount = length;
         synchronized(listOfClientOutputTransports) {
 	        for(int i = 0; i < length; i++){
-	            receivedSignalTransport.decode(byteBuf);
-	            target = listOfClientOutputTransports.get(receivedSignalTransport.getHandle());
-	            target.copyData(receivedSignalTransport);
-	            target.setChanged(true);
+	            //decode directly into the subscribed transport
+	            target = listOfClientOutputTransports.get(SignalTransport.peekHandle(byteBuf));
+	            if (target != null){
+	                target.decode(byteBuf);
+	                target.setChanged(true);
+	            }
+	            else{
+	                //signal not subscribed (any more): just skip it
+	                receivedSignalTransport.decode(byteBuf);
+	            }
 	        }			
         }
     }
@@ -104,6 +129,13 @@ public class Transceive extends Command{
         return this.listOfClientOutputTransports;
     }
     
+    /**
+     * @return number of signal transports encoded or decoded by the last transmission
+     */
+    public int getTransportsCount(){
+        return this.transportsCount;
+    }
+
     @Override
     public String toString(){
         return super.toString() + "(" + (listOfClientOutputTransports != null ? listOfClientOutputTransports.size() : "") + ")";
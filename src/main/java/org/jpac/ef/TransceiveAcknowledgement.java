@@ -26,6 +26,7 @@
 package org.jpac.ef;
 
 import io.netty.buffer.ByteBuf;
+import java.util.ArrayList;
 import java.util.HashMap;
 
 import org.jpac.vioss.ef.SignalTransport;
@@ -37,39 +38,51 @@ import org.jpac.vioss.ef.SignalTransport;
 public class TransceiveAcknowledgement extends Acknowledgement{
     protected HashMap<Integer, SignalTransport> listOfClientInputTransports;
     protected int                               transportsCount;
-    protected int                               transportsCountIndex;
     protected SignalTransport                   receivedSignalTransport;
+    protected CompactTransportCodec             clientInputCodec;
+    protected boolean                           ownCodec;//codec private to this acknowledgement: transports are assigned to it on every encoding
 
 
     //client/server
     public TransceiveAcknowledgement(HashMap<Integer, SignalTransport> listOfClientInputTransports){
-        super(MessageId.AckTransceive);
+        this(MessageId.AckTransceive, listOfClientInputTransports, new CompactTransportCodec());
+        this.ownCodec = true;
+    }
+
+    //client/server
+    public TransceiveAcknowledgement(HashMap<Integer, SignalTransport> listOfClientInputTransports, CompactTransportCodec clientInputCodec){
+        this(MessageId.AckTransceive, listOfClientInputTransports, clientInputCodec);
+    }
+
+    //client/server
+    protected TransceiveAcknowledgement(MessageId messageId, HashMap<Integer, SignalTransport> listOfClientInputTransports, CompactTransportCodec clientInputCodec){
+        super(messageId);
         this.listOfClientInputTransports = listOfClientInputTransports;     
         this.receivedSignalTransport     = new SignalTransport();
+        this.clientInputCodec            = clientInputCodec;
     }
     
     //server
     @Override
     public void encode(ByteBuf byteBuf){
         super.encode(byteBuf);
-    	transportsCountIndex  = byteBuf.writerIndex();
-        byteBuf.writeInt(0);//reserve space for the transports count
-    	transportsCount       = 0;
         synchronized(listOfClientInputTransports) {
-	        listOfClientInputTransports.values().forEach((st) -> {
-	        		if (st.isChanged()) {
-	        			st.encode(byteBuf);
-	        			st.setChanged(false);
-	        			transportsCount++;
-	        		}
-	        	});			
+            if (ownCodec){
+                clientInputCodec.assignSlots(listOfClientInputTransports.values());
+            }
+            if (clientInputCodec.isEncodingEnabled()){
+                transportsCount = clientInputCodec.encode(byteBuf);
+            }
+            else{
+                //just the transports changed since the last transmission
+                ArrayList<SignalTransport> changedTransports = clientInputCodec.takeChangedTransports();
+                transportsCount = changedTransports.size();
+                byteBuf.writeInt(transportsCount);
+                for (int i = 0; i < transportsCount; i++){
+                    changedTransports.get(i).encode(byteBuf);
+                }
+            }
         }
-        //insert actual number of transports to be transmitted into the stream
-        int lastWriterIndex = byteBuf.writerIndex();
-        byteBuf.writerIndex(transportsCountIndex);
-        byteBuf.writeInt(transportsCount);
-        //and restore writer index
-        byteBuf.writerIndex(lastWriterIndex);        
     }
     
     //client
@@ -78,13 +91,26 @@ public class TransceiveAcknowledgement extends Acknowledgement{
     	SignalTransport target = null;
     	
         super.decode(byteBuf);
+        if (CompactTransportCodec.isCompactlyEncoded(byteBuf)){
+            synchronized(listOfClientInputTransports) {
+                transportsCount = clientInputCodec.decode(byteBuf);
+            }
+            return;
+        }
         int length = byteBuf.readInt();
+        transportsCount = length;
         synchronized(listOfClientInputTransports) {
 	        for(int i = 0; i < length; i++){
-	        	receivedSignalTransport.decode(byteBuf);
-	        	target = listOfClientInputTransports.get(receivedSignalTransport.getHandle());
-	    		target.copyData(receivedSignalTransport);
-	    		target.setChanged(true);
+	        	//decode directly into the subscribed transport
+	        	target = listOfClientInputTransports.get(SignalTransport.peekHandle(byteBuf));
+	        	if (target != null){
+	        		target.decode(byteBuf);
+	        		target.setChanged(true);
+	        	}
+	        	else{
+	        		//signal not subscribed (any more): just skip it
+	        		receivedSignalTransport.decode(byteBuf);
+	        	}
 	        }
         }
     }
@@ -93,6 +119,13 @@ public class TransceiveAcknowledgement extends Acknowledgement{
         return this.listOfClientInputTransports;
     }   
     
+    /**
+     * @return number of signal transports encoded or decoded by the last transmission
+     */
+    public int getTransportsCount(){
+        return this.transportsCount;
+    }
+
     @Override
     public String toString(){
         return super.toString() + (listOfClientInputTransports != null ? ", " +  listOfClientInputTransports.size() : "") + ")";
@@ -0,0 +1,78 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : AlarmRaisedEvent.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * emitted, whenever an alarm is raised (transition from false or invalid to true)
+ * @author berndschuster
+ */
+@Name("org.jpac.alarm.AlarmRaised")
+@Label("Alarm Raised")
+@Category({"Elbfisch", "alarm"})
+@Description("an alarm has been raised")
+public class AlarmRaisedEvent extends Event{
+    private static final EventType EVENTTYPE = EventType.getEventType(AlarmRaisedEvent.class);
+
+    /**
+     * @return true, if this event type is enabled in a running recording. Checked before an event is instantiated
+     */
+    public static boolean isRecorded(){
+        return EVENTTYPE.isEnabled();
+    }
+
+    @Label("Alarm")
+    public String alarm;
+
+    @Label("Message")
+    public String message;
+
+    @Label("Severity")
+    public String severity;
+
+    /**
+     * used to emit an event, if the event type is enabled in the running recording
+     * @param alarm qualified identifier of the alarm
+     * @param message message of the alarm
+     * @param severity severity of the alarm
+     */
+    public static void emit(String alarm, String message, String severity){
+        if (isRecorded()){
+            AlarmRaisedEvent event = new AlarmRaisedEvent();
+            event.alarm    = alarm;
+            event.message  = message;
+            event.severity = severity;
+            event.commit();
+        }
+    }
+}
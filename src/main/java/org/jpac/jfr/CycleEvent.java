@@ -0,0 +1,109 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : CycleEvent.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * emitted once per jPac cycle. The duration of the event covers the cycle from its start up to the point,
+ * where jPac begins to wait for the end of the cycle. The durations of the phases are accumulated
+ * over the marks set by jPac in the course of the cycle.
+ * @author berndschuster
+ */
+@Name("org.jpac.Cycle")
+@Label("Cycle")
+@Category({"Elbfisch", "jPac"})
+@Description("one jPac cycle broken down into its phases")
+@StackTrace(false)
+public class CycleEvent extends Event{
+    private static final EventType EVENTTYPE = EventType.getEventType(CycleEvent.class);
+
+    /**
+     * @return true, if this event type is enabled in a running recording. Checked before an event is instantiated
+     */
+    public static boolean isRecorded(){
+        return EVENTTYPE.isEnabled();
+    }
+
+    @Label("Cycle Number")
+    public long cycleNumber;
+
+    @Label("Deferred Tasks")
+    @Timespan(Timespan.NANOSECONDS)
+    public long deferredTasks;
+
+    @Label("Signal Propagation")
+    @Timespan(Timespan.NANOSECONDS)
+    public long signalPropagation;
+
+    @Label("Cyclic Tasks")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cyclicTasks;
+
+    @Label("Ef Exchange")
+    @Timespan(Timespan.NANOSECONDS)
+    public long efExchange;
+
+    @Label("Remote Push")
+    @Timespan(Timespan.NANOSECONDS)
+    public long remotePush;
+
+    @Label("Fireables")
+    @Timespan(Timespan.NANOSECONDS)
+    public long fireables;
+
+    @Label("InEveryCycleDo")
+    @Timespan(Timespan.NANOSECONDS)
+    public long inEveryCycleDos;
+
+    @Label("Modules")
+    @Timespan(Timespan.NANOSECONDS)
+    public long modules;
+
+    /**
+     * used to take over the phase durations accumulated by jPac
+     * @param phaseDurations [ns] in the order deferred tasks, signal propagation, cyclic tasks, ef exchange,
+     *                       remote push, fireables, inEveryCycleDo, modules
+     */
+    public void setPhaseDurations(long[] phaseDurations){
+        deferredTasks     = phaseDurations[0];
+        signalPropagation = phaseDurations[1];
+        cyclicTasks       = phaseDurations[2];
+        efExchange        = phaseDurations[3];
+        remotePush        = phaseDurations[4];
+        fireables         = phaseDurations[5];
+        inEveryCycleDos   = phaseDurations[6];
+        modules           = phaseDurations[7];
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : FlightRecorderSupport.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.jfr;
+
+/**
+ * tells, if the events of this package can be emitted on the running jvm. The flight recorder api (jdk.jfr)
+ * is available from Java 11 and OpenJDK 8u262 on. If it is missing, the event classes must not be touched at all.
+ * Building this package requires jdk.jfr as well: a JDK 11+ (or OpenJDK 8u262+) without "--release 8".
+ * @author berndschuster
+ */
+public final class FlightRecorderSupport {
+    private static final boolean AVAILABLE = checkAvailability();
+
+    private FlightRecorderSupport(){
+    }
+
+    private static boolean checkAvailability(){
+        try{
+            Class.forName("jdk.jfr.Event");
+            return true;
+        }
+        catch(ClassNotFoundException | LinkageError exc){
+            return false;
+        }
+    }
+
+    /**
+     * @return true, if the jdk flight recorder api is present
+     */
+    public static boolean isAvailable(){
+        return AVAILABLE;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : IOExchangeEvent.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * emitted for every invocation of IOHandler.run() by jPac. The duration of the event is the time
+ * consumed by the io handler inside the cycle.
+ * @author berndschuster
+ */
+@Name("org.jpac.IOExchange")
+@Label("IO Exchange")
+@Category({"Elbfisch", "vioss"})
+@Description("process image exchange of an io handler run by jPac")
+@StackTrace(false)
+public class IOExchangeEvent extends Event{
+    private static final EventType EVENTTYPE = EventType.getEventType(IOExchangeEvent.class);
+
+    /**
+     * @return true, if this event type is enabled in a running recording. Checked before an event is instantiated
+     */
+    public static boolean isRecorded(){
+        return EVENTTYPE.isEnabled();
+    }
+
+    @Label("IO Handler")
+    public String ioHandler;
+
+    @Label("Input Signals")
+    public int inputSignals;
+
+    @Label("Output Signals")
+    public int outputSignals;
+
+    @Label("Cycle Number")
+    public long cycleNumber;
+}
@@ -0,0 +1,88 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : ModuleActivationEvent.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * emitted, whenever a module, awakened by a process event, lays itself to sleep again
+ * @author berndschuster
+ */
+@Name("org.jpac.ModuleActivation")
+@Label("Module Activation")
+@Category({"Elbfisch", "jPac"})
+@Description("activation of a module from being awakened by a process event until it awaits the next one")
+@StackTrace(false)
+public class ModuleActivationEvent extends Event{
+    private static final EventType EVENTTYPE = EventType.getEventType(ModuleActivationEvent.class);
+
+    /**
+     * @return true, if this event type is enabled in a running recording. Checked before an event is instantiated
+     */
+    public static boolean isRecorded(){
+        return EVENTTYPE.isEnabled();
+    }
+
+    @Label("Module")
+    public String module;
+
+    @Label("Awakening Event")
+    public String awakeningEvent;
+
+    @Label("Cycle Number")
+    public long cycleNumber;
+
+    @Label("Active Time")
+    @Description("time elapsed between the wake up and the next await() of the module")
+    @Timespan(Timespan.NANOSECONDS)
+    public long activeTime;
+
+    /**
+     * used to emit an event, if the event type is enabled in the running recording
+     * @param module qualified name of the module
+     * @param awakeningEvent the process event, which awakened the module
+     * @param cycleNumber the cycle, in which the module has been active
+     * @param activeTime [ns] time between wake up and sleep
+     */
+    public static void emit(String module, Object awakeningEvent, long cycleNumber, long activeTime){
+        if (isRecorded()){
+            ModuleActivationEvent event = new ModuleActivationEvent();
+            event.module         = module;
+            event.awakeningEvent = awakeningEvent != null ? awakeningEvent.toString() : null;
+            event.cycleNumber    = cycleNumber;
+            event.activeTime     = activeTime;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : TransceiveEvent.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * emitted for every Transceive command exchanged over an ef connection, on the client
+ * as well as on the server side
+ * @author berndschuster
+ */
+@Name("org.jpac.ef.Transceive")
+@Label("Ef Transceive")
+@Category({"Elbfisch", "ef"})
+@Description("exchange of changed signal values over an ef connection")
+@StackTrace(false)
+public class TransceiveEvent extends Event{
+    private static final EventType EVENTTYPE = EventType.getEventType(TransceiveEvent.class);
+
+    /**
+     * @return true, if this event type is enabled in a running recording. Checked before an event is instantiated
+     */
+    public static boolean isRecorded(){
+        return EVENTTYPE.isEnabled();
+    }
+
+    @Label("Remote")
+    public String remote;
+
+    @Label("Server Side")
+    public boolean serverSide;
+
+    @Label("Bytes Sent")
+    @DataAmount
+    public int bytesSent;
+
+    @Label("Bytes Received")
+    @DataAmount
+    public int bytesReceived;
+
+    @Label("Signals Sent")
+    public int signalsSent;
+
+    @Label("Signals Received")
+    public int signalsReceived;
+}
@@ -0,0 +1,197 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : MetricsServerHandler.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.metrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.jpac.AbstractModule;
+import org.jpac.JPac;
+import org.jpac.SignalRegistry;
+import org.jpac.alarm.AlarmQueue;
+import org.jpac.ef.CommandHandler;
+import org.jpac.statistics.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * renders the runtime figures of jPac in the Prometheus text exposition format (version 0.0.4).
+ * Histograms are rendered from snapshot copies. Scalar figures are read without synchronization, 
+ * so a scrape never blocks the jPac cycle.
+ * @author berndschuster
+ */
+public class MetricsServerHandler extends SimpleChannelInboundHandler<FullHttpRequest>{
+    private static final String   CONTENTTYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES   = {0.5, 0.9, 0.99, 0.999};
+    private static final double   NANOS       = 1.0E9;
+
+    private final Logger Log = LoggerFactory.getLogger("jpac.metrics");
+
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, FullHttpRequest request) throws Exception {
+        FullHttpResponse response;
+        if (request.method() != HttpMethod.GET){
+            response = newResponse(HttpResponseStatus.METHOD_NOT_ALLOWED, "method not allowed\n");
+        } else if (!request.uri().equals(MetricsService.PATH) && !request.uri().startsWith(MetricsService.PATH + "?")){
+            response = newResponse(HttpResponseStatus.NOT_FOUND, "not found\n");
+        } else {
+            response = newResponse(HttpResponseStatus.OK, render());
+        }
+        boolean keepAlive = HttpUtil.isKeepAlive(request);
+        if (keepAlive){
+            HttpUtil.setKeepAlive(response, true);
+            ctx.writeAndFlush(response);
+        } else {
+            ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
+        }
+    }
+
+    @Override
+    public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+        Log.error("Error: ", cause);
+        ctx.close();
+    }
+
+    private FullHttpResponse newResponse(HttpResponseStatus status, String content){
+        ByteBuf          buffer   = Unpooled.copiedBuffer(content, StandardCharsets.UTF_8);
+        FullHttpResponse response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, status, buffer);
+        response.headers().set(HttpHeaderNames.CONTENT_TYPE, CONTENTTYPE);
+        response.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, buffer.readableBytes());
+        return response;
+    }
+
+    /**
+     * @return the metrics in Prometheus text exposition format
+     */
+    protected String render(){
+        JPac          jPac = JPac.getInstance();
+        StringBuilder sb   = new StringBuilder(8192);
+
+        gauge(sb, "elbfisch_cycle_time_seconds", "configured cycle time", jPac.getCycleTime() / NANOS);
+        counter(sb, "elbfisch_cycles_total", "number of cycles run since start up", jPac.getCycleNumber());
+        counter(sb, "elbfisch_cycles_exceeded_total", "number of cycles, which exceeded the cycle time", jPac.getNumberOfCyclesExceeded());
+        gauge(sb, "elbfisch_remaining_cycle_time_min_seconds", "minimum time remaining at the end of a cycle", jPac.getMinRemainingCycleTime() / NANOS);
+        gauge(sb, "elbfisch_remaining_cycle_time_max_seconds", "maximum time remaining at the end of a cycle", jPac.getMaxRemainingCycleTime() / NANOS);
+        gauge(sb, "elbfisch_cycle_start_jitter_max_seconds", "maximum delay of a cycle start against its schedule", jPac.getMaxCycleStartJitter() / NANOS);
+
+        //histograms of jPac and its modules
+        ArrayList<AbstractModule> modules = new ArrayList<>(jPac.getModules().values());
+        List<Histogram>           systemHistograms = new ArrayList<>();
+        for (Histogram h: jPac.getHistograms()){
+            if (h != null && modules.stream().noneMatch(m -> m.getHistogram() == h)){
+                systemHistograms.add(h);
+            }
+        }
+        header(sb, "elbfisch_system_seconds", "time consumption of system internal actions per cycle", "summary");
+        for (Histogram h: systemHistograms){
+            summary(sb, "elbfisch_system_seconds", "histogram", h.getIdentifier(), h.snapshot());
+        }
+        header(sb, "elbfisch_module_seconds", "time consumption of the modules per cycle", "summary");
+        for (AbstractModule m: modules){
+            if (m.getHistogram() != null){
+                summary(sb, "elbfisch_module_seconds", "module", m.getQualifiedName(), m.getHistogram().snapshot());
+            }
+        }
+
+        //ef service
+        int activeConnections;
+        synchronized(CommandHandler.getListOfActiveCommandHandlers()){
+            activeConnections = CommandHandler.getListOfActiveCommandHandlers().size();
+        }
+        gauge(sb, "elbfisch_ef_connections_active", "number of active ef client connections", activeConnections);
+        counter(sb, "elbfisch_ef_connections_total", "number of ef client connections established since start up", CommandHandler.getNumberOfConnectionsEstablished());
+        counter(sb, "elbfisch_ef_commands_total", "number of ef commands handled since start up", CommandHandler.getNumberOfCommandsHandled());
+        counter(sb, "elbfisch_ef_commands_failed_total", "number of ef commands, whose handling failed", CommandHandler.getNumberOfCommandsFailed());
+
+        //alarms
+        AlarmQueue alarmQueue = AlarmQueue.getInstance();
+        header(sb, "elbfisch_alarms_pending", "number of pending alarms", "gauge");
+        sample(sb, "elbfisch_alarms_pending{severity=\"alarm\"}", alarmQueue.getPendingAlarmsCountForSeverityAlarm());
+        sample(sb, "elbfisch_alarms_pending{severity=\"warning\"}", alarmQueue.getPendingAlarmsCountForSeverityWarning());
+        sample(sb, "elbfisch_alarms_pending{severity=\"message\"}", alarmQueue.getPendingAlarmsCountForSeverityMessage());
+        header(sb, "elbfisch_alarms_open", "number of open (not acknowledged) alarms", "gauge");
+        sample(sb, "elbfisch_alarms_open{severity=\"alarm\"}", alarmQueue.getOpenAlarmsCountForSeverityAlarm());
+        sample(sb, "elbfisch_alarms_open{severity=\"warning\"}", alarmQueue.getOpenAlarmsCountForSeverityWarning());
+        sample(sb, "elbfisch_alarms_open{severity=\"message\"}", alarmQueue.getOpenAlarmsCountForSeverityMessage());
+
+        //signals
+        gauge(sb, "elbfisch_signals_registered", "number of signals registered", SignalRegistry.getInstance().getSignals().size());
+        gauge(sb, "elbfisch_modules", "number of modules", modules.size());
+        return sb.toString();
+    }
+
+    private void header(StringBuilder sb, String name, String help, String type){
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void sample(StringBuilder sb, String name, double value){
+        sb.append(name).append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)){
+            sb.append((long)value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    private void gauge(StringBuilder sb, String name, String help, double value){
+        header(sb, name, help, "gauge");
+        sample(sb, name, value);
+    }
+
+    private void counter(StringBuilder sb, String name, String help, double value){
+        header(sb, name, help, "counter");
+        sample(sb, name, value);
+    }
+
+    private void summary(StringBuilder sb, String name, String labelName, String labelValue, Histogram.Snapshot snapshot){
+        String label = labelName + "=\"" + escape(labelValue) + "\"";
+        for (double q: QUANTILES){
+            sample(sb, name + "{" + label + ",quantile=\"" + q + "\"}", snapshot.getValueAtPercentile(100.0 * q) / NANOS);
+        }
+        sample(sb, name + "_sum{" + label + "}", snapshot.getTotalSum() / NANOS);
+        sample(sb, name + "_count{" + label + "}", snapshot.getTotalCount());
+    }
+
+    private String escape(String labelValue){
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : MetricsService.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.metrics;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import java.net.BindException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * embedded http server providing the runtime figures of jPac in the Prometheus text exposition format
+ * under the path /metrics. The metrics are rendered by the netty worker thread serving the request.
+ * @author berndschuster
+ */
+public class MetricsService implements Runnable{
+    public static final  int    DEFAULTPORT = 9464;
+    public static final  String PATH        = "/metrics";
+
+    private final Logger Log = LoggerFactory.getLogger("jpac.metrics");
+
+    private ChannelFuture        channelFuture;
+    private EventLoopGroup       bossGroup;
+    private EventLoopGroup       workerGroup;
+    private final String         bindAddress;
+    private final int            port;
+
+    public MetricsService(String bindAddress, int port){
+        this.bindAddress = bindAddress;
+        this.port        = port;
+    }
+
+    @Override
+    public void run(){
+        try{
+            bossGroup         = new NioEventLoopGroup(1);
+            workerGroup       = new NioEventLoopGroup(1);
+            ServerBootstrap b = new ServerBootstrap();
+            b.group(bossGroup, workerGroup)
+             .channel(NioServerSocketChannel.class)
+             .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    public void initChannel(SocketChannel ch) throws Exception {
+                        ch.pipeline().addLast("codec", new HttpServerCodec());
+                        ch.pipeline().addLast("aggregator", new HttpObjectAggregator(8192));
+                        ch.pipeline().addLast("handler", new MetricsServerHandler());
+                    }
+                });
+            channelFuture = b.bind(bindAddress, port).sync();
+            Log.info("metrics service up and running (http://" + bindAddress + ":" + port + PATH + ")"); 
+            // Wait until the server socket is closed.
+            channelFuture.channel().closeFuture().sync();            
+        } catch(Exception exc){
+        	if (exc instanceof BindException) {
+                Log.error("Failed to start metrics service: bind address already in use (" + bindAddress + ":" + port + ")");         		
+        	} else {
+        		Log.error("Failed to start metrics service (" + bindAddress + ":" + port + ")", exc);
+        	}
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();    
+        }
+    }
+
+    public void start(){
+        Thread serviceStarter = new Thread(this);
+        serviceStarter.setName("Metrics Service");
+        serviceStarter.start();
+    }    
+
+    public void stop(){
+        try{
+        	if (channelFuture != null) {
+            	channelFuture.channel().close().sync();
+        	}
+        }
+        catch(InterruptedException exc){/*ignore*/}
+        finally{
+            bossGroup.shutdownGracefully();
+            workerGroup.shutdownGracefully();            
+        }
+    }
+}
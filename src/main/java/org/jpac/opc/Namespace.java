@@ -134,12 +134,12 @@ public class Namespace extends ManagedNamespace {
 
     private void registerNodes(){
         try{
-            SignalRegistry signals = SignalRegistry.getInstance();
-            if (signals.getSignals().size() > 0){
+            List<Signal> signals = SignalRegistry.getInstance().getSignals();
+            if (signals.size() > 0){
                 //at least one signal present
-                TreeItem rootNode = new TreeItem(retrieveRootNodeIdentifier(signals.getSignals().values().stream().findFirst().get()), null);
+                TreeItem rootNode = new TreeItem(retrieveRootNodeIdentifier(signals.get(0)), null);
                 //construct the tree hierarchy of signals of this Elbfisch instance 
-                for (Signal signal: signals.getSignals().values()){
+                for (Signal signal: signals){
                     if (signal instanceof Logical || signal instanceof SignedInteger || signal instanceof Decimal || signal instanceof CharString || signal instanceof Alarm){//TODO other signal types will be added later
                         StringTokenizer partialIdentifiers  = new StringTokenizer(signal.getQualifiedIdentifier(),".");
                         TreeItem  currentNode = rootNode;
@@ -57,7 +57,6 @@ import org.eclipse.milo.opcua.stack.core.types.builtin.Variant;
 import org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.UByte;
 import static org.eclipse.milo.opcua.stack.core.types.builtin.unsigned.Unsigned.ubyte;
 import java.lang.reflect.Field;
-import java.util.Observable;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Logger;
 import org.jpac.JPac;
@@ -165,8 +164,7 @@ abstract public class SignalNode extends UaVariableNode implements SignalObserve
 
     
     @Override
-    public void update(Observable o, Object o1) {
-        Signal sourceSignal = (Signal)o;
+    public void update(Signal sourceSignal) {
         boolean isValid = sourceSignal.isValid();
         Log.debug("SignalNode.update() : {}", sourceSignal);
         synchronized(lock){
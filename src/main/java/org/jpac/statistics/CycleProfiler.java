@@ -0,0 +1,156 @@
+/**
+ * PROJECT   : Elbfisch - java process automation controller (jPac)
+ * MODULE    : CycleProfiler.java
+ * VERSION   : -
+ * DATE      : -
+ * PURPOSE   : 
+ * AUTHOR    : Bernd Schuster, MSK Gesellschaft fuer Automatisierung mbH, Schenefeld
+ * REMARKS   : -
+ * CHANGES   : CH#n <Kuerzel> <datum> <Beschreibung>
+ *
+ * This file is part of the jPac process automation controller.
+ * jPac is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * jPac is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with the jPac If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package org.jpac.statistics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * used to profile the phases of the jPac cycle. For every phase the elapsed time and, if supported by the JVM,
+ * the number of bytes allocated by the profiled thread are recorded. Statistics (min/avg/percentiles/max)
+ * are computed over a rolling window of the most recent cycles on demand only, so recording just costs
+ * two clock readings per phase.
+ * Must be used by a single thread (the jPac thread).
+ * @author berndschuster
+ */
+public class CycleProfiler {
+    private static final int WINDOW = 1024;//number of cycles taken into account
+
+    private String[]                          phases;
+    private long[][]                          durations;
+    private long[][]                          allocations;
+    private long[]                            maxDurations;//maximum durations since start
+    private long                              numberOfCycles;
+    private int                               index;
+    private long                              lastMarkNanoTime;
+    private long                              lastMarkAllocatedBytes;
+    private com.sun.management.ThreadMXBean   threadMXBean;
+    private long                              threadId;
+
+    /**
+     * @param phases names of the phases to be profiled
+     */
+    public CycleProfiler(String ... phases){
+        this.phases         = phases;
+        this.durations      = new long[phases.length][WINDOW];
+        this.allocations    = new long[phases.length][WINDOW];
+        this.maxDurations   = new long[phases.length];
+        this.numberOfCycles = 0;
+        this.index          = 0;
+        ThreadMXBean bean   = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean)bean).isThreadAllocatedMemorySupported()){
+            this.threadMXBean = (com.sun.management.ThreadMXBean)bean;
+            this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * called by the profiled thread at the beginning of every cycle
+     */
+    public void startCycle(){
+        if (numberOfCycles > 0){
+            index = (index + 1) % WINDOW;
+        }
+        numberOfCycles++;
+        for (int p = 0; p < phases.length; p++){
+            durations[p][index]   = 0L;
+            allocations[p][index] = 0L;
+        }
+        threadId               = Thread.currentThread().getId();
+        lastMarkAllocatedBytes = allocatedBytes();
+        lastMarkNanoTime       = System.nanoTime();
+    }
+
+    /**
+     * called by the profiled thread at the end of a phase. The time elapsed and the memory allocated since
+     * the previous mark are accounted to the given phase. A phase can be marked more than once per cycle.
+     * @param phase index of the phase
+     */
+    public void mark(int phase){
+        long now            = System.nanoTime();
+        long allocatedBytes = allocatedBytes();
+        durations[phase][index]   += now - lastMarkNanoTime;
+        allocations[phase][index] += allocatedBytes - lastMarkAllocatedBytes;
+        if (durations[phase][index] > maxDurations[phase]){
+            maxDurations[phase] = durations[phase][index];
+        }
+        lastMarkNanoTime       = now;
+        lastMarkAllocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * @return true, if the memory allocated per phase is accounted
+     */
+    public boolean isAccountingAllocations(){
+        return threadMXBean != null;
+    }
+
+    /**
+     * @return the statistics of all phases as lines of text
+     */
+    public ArrayList<String> getStatistics(){
+        ArrayList<String> lines = new ArrayList<>();
+        int n = (int)Math.min(numberOfCycles, WINDOW);
+        lines.add(String.format("cycle profile of the last %d cycles [ns]:", n));
+        lines.add(String.format("  %-20s %10s %10s %10s %10s %10s %12s%s", "phase", "min", "avg", "p50", "p99", "max", "max (total)", isAccountingAllocations() ? "   alloc. avg/max [bytes]" : ""));
+        if (n == 0){
+            return lines;
+        }
+        long[] sorted = new long[n];
+        for (int p = 0; p < phases.length; p++){
+            System.arraycopy(durations[p], 0, sorted, 0, n);
+            Arrays.sort(sorted);
+            String line = String.format("  %-20s %10d %10d %10d %10d %10d %12d", phases[p], sorted[0], average(sorted), percentile(sorted, 0.5), percentile(sorted, 0.99), sorted[n - 1], maxDurations[p]);
+            if (isAccountingAllocations()){
+                System.arraycopy(allocations[p], 0, sorted, 0, n);
+                Arrays.sort(sorted);
+                line += String.format("   %d/%d", average(sorted), sorted[n - 1]);
+            }
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private long allocatedBytes(){
+        return threadMXBean != null ? threadMXBean.getThreadAllocatedBytes(threadId) : 0L;
+    }
+
+    private long average(long[] values){
+        long sum = 0L;
+        for (long v: values){
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    private long percentile(long[] sortedValues, double p){
+        int i = (int)Math.ceil(p * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, Math.min(i, sortedValues.length - 1))];
+    }
+}
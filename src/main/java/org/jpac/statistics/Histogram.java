@@ -23,48 +23,430 @@
  * along with the jPac If not, see <http://www.gnu.org/licenses/>.
  */
 
+
 package org.jpac.statistics;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
 /**
  *
  * used to calculate statistical information concerning the 
- * time consumption of system internal or module actions
+ * time consumption of system internal or module actions.
+ * Values are recorded into log-linear buckets (HDR style): Every power of two is divided into a fixed number of 
+ * linear sub buckets, so the relative error of a recorded value is bounded by 2^-(significantBits - 1) over the whole
+ * range of trackable values. Values beyond the highest trackable value are counted in the last bucket, but the 
+ * maximum is kept exactly.
+ * Recording is lock free and can be done concurrently by several threads. Percentiles are computed on demand.
+ * Beside the lifetime statistics the histogram keeps the statistics of the last completed interval (see rollInterval()).
+ * Intervals are recorded into preallocated counters, which are reused in turn, so rolling an interval does not allocate.
+ * Histograms of the same precision can be merged (see add()).
  * @author berndschuster
  */
 public class Histogram{
-    private long[]   histogramm;
-    private long     scale;
-    private long     cycleTime;
-    private String   identifier;
+    public  static final int    DEFAULTSIGNIFICANTBITS       = 7;        //relative error < 1.6 %
+    public  static final long   DEFAULTHIGHESTTRACKABLEVALUE = 1L << 36; //~ 68 s
+    private static final int    BINARYFORMATVERSION          = 1;
+
+    private String           identifier;
+    private long             cycleTime;
+    private int              significantBits;
+    private int              subBucketCount;
+    private int              subBucketHalfCount;
+    private AtomicLongArray  counts;
+    private AtomicLong       totalCount;
+    private AtomicLong       totalSum;
+    private AtomicLong       minValue;
+    private AtomicLong       maxValue;
+    private IntervalCounts[] intervals;      //counters of the active, the spare and the last completed interval, used in turn
+    private volatile int     activeInterval;
 
+    /**
+     * @param identifier identifier of the histogram
+     * @param cycleTime cycle time of the application. Used as a reference for the load given in percent
+     */
     public Histogram(String identifier, long cycleTime){
-        this.identifier = identifier;
-        this.scale      = cycleTime / 100L;
-        this.histogramm = new long[100];
+        this(identifier, cycleTime, DEFAULTHIGHESTTRACKABLEVALUE, DEFAULTSIGNIFICANTBITS);
+    }
+
+    /**
+     * @param identifier identifier of the histogram
+     * @param cycleTime cycle time of the application. Used as a reference for the load given in percent
+     * @param highestTrackableValue highest value, which is recorded at the given precision
+     * @param significantBits number of significant bits of a recorded value (2..16)
+     */
+    public Histogram(String identifier, long cycleTime, long highestTrackableValue, int significantBits){
+        if (significantBits < 2 || significantBits > 16){
+            throw new IllegalArgumentException("number of significant bits must be in the range of 2..16: " + significantBits);
+        }
+        this.identifier         = identifier;
+        this.cycleTime          = cycleTime;
+        this.significantBits    = significantBits;
+        this.subBucketCount     = 1 << significantBits;
+        this.subBucketHalfCount = subBucketCount >> 1;
+        this.counts             = new AtomicLongArray(indexOf(Math.max(highestTrackableValue, subBucketCount)) + 1);
+        this.totalCount         = new AtomicLong();
+        this.totalSum           = new AtomicLong();
+        this.minValue           = new AtomicLong(Long.MAX_VALUE);
+        this.maxValue           = new AtomicLong(0L);
+        this.intervals          = new IntervalCounts[]{new IntervalCounts(counts.length()), new IntervalCounts(counts.length()), new IntervalCounts(counts.length())};
+        this.activeInterval     = 0;
     }
 
+    /**
+     * used to record a value. Negative values are recorded as 0
+     * @param durationNanos 
+     */
     public void update(long durationNanos){
-        long index = durationNanos/scale;
-        if (index < 0){
-            index = 0;
+        long value = durationNanos < 0 ? 0 : durationNanos;
+        int  index = indexOf(value);
+        if (index >= counts.length()){
+            index = counts.length() - 1;
+        }
+        counts.incrementAndGet(index);
+        totalCount.incrementAndGet();
+        totalSum.addAndGet(value);
+        updateMinMax(minValue, maxValue, value, value);
+        intervals[activeInterval].record(index, 1L, value, value, value);
+    }
+
+    /**
+     * used to merge the statistics of another histogram into this one (e.g. the histograms of several modules or
+     * histograms reloaded by read()). The merged values are accounted to the lifetime and the current interval of this histogram
+     * @param histogram histogram to be merged. Must have the same number of significant bits
+     */
+    public void add(Histogram histogram){
+        if (histogram.significantBits != significantBits){
+            throw new IllegalArgumentException("histograms of different precision cannot be merged: " + histogram.significantBits + " <> " + significantBits);
+        }
+        Snapshot snapshot = histogram.snapshot();
+        if (snapshot.totalCount == 0){
+            return;
         }
-        if (index > histogramm.length - 1){
-            index = histogramm.length - 1;
+        IntervalCounts interval = intervals[activeInterval];
+        for (int i = 0; i < snapshot.counts.length; i++){
+            if (snapshot.counts[i] != 0){
+                //values beyond the highest trackable value of this histogram are counted in the last bucket
+                int index = Math.min(i, counts.length() - 1);
+                counts.addAndGet(index, snapshot.counts[i]);
+                interval.counts.addAndGet(index, snapshot.counts[i]);
+            }
         }
-        histogramm[(int)index]++;
+        totalCount.addAndGet(snapshot.totalCount);
+        totalSum.addAndGet(snapshot.totalSum);
+        updateMinMax(minValue, maxValue, snapshot.minValue, snapshot.maxValue);
+        interval.totalCount.addAndGet(snapshot.totalCount);
+        interval.totalSum.addAndGet(snapshot.totalSum);
+        updateMinMax(interval.minValue, interval.maxValue, snapshot.minValue, snapshot.maxValue);
     }
 
+    private static void updateMinMax(AtomicLong minValue, AtomicLong maxValue, long min, long max){
+        long value;
+        while(max > (value = maxValue.get()) && !maxValue.compareAndSet(value, max));
+        while(min < (value = minValue.get()) && !minValue.compareAndSet(value, min));
+    }
+
+    /**
+     * @return the number of recorded values per bucket
+     */
     public long[] getValues(){
-        return histogramm;
+        long[] values = new long[counts.length()];
+        for (int i = 0; i < values.length; i++){
+            values[i] = counts.get(i);
+        }
+        return values;
+    }
+
+    public String getIdentifier(){
+        return identifier;
     }
-    
+
+    public long getTotalCount(){
+        return totalCount.get();
+    }
+
+    public long getMax(){
+        return maxValue.get();
+    }
+
+    /**
+     * @param percentile percentile in the range of 0.0 .. 100.0
+     * @return the highest value, which is equivalent to the value at the given percentile over the whole lifetime
+     */
+    public long getValueAtPercentile(double percentile){
+        return snapshot().getValueAtPercentile(percentile);
+    }
+
+    /**
+     * @return a copy of the lifetime statistics
+     */
+    public Snapshot snapshot(){
+        long[] values = getValues();
+        long   count  = 0L;
+        for (long v: values){
+            count += v;
+        }
+        long min = minValue.get();
+        return new Snapshot(values, count, totalSum.get(), count > 0 ? min : 0L, maxValue.get());
+    }
+
+    /**
+     * used to complete the current interval. The statistics of the values recorded since the previous call
+     * are available by getLastInterval() until the next call.
+     * Rolling does not copy any counts: recording switches to the spare interval counters, and the counters of the
+     * interval completed before are cleared in the range of buckets it actually used, to become the next spare.
+     * Must be called by a single thread (jPac) only.
+     */
+    public void rollInterval(){
+        int next       = (activeInterval + 1) % intervals.length;
+        activeInterval = next;
+        intervals[(next + 1) % intervals.length].clear();
+    }
+
+    /**
+     * the snapshot is taken on the calling thread. It might be inaccurate, if it is taken while the interval is rolled
+     * @return the statistics of the last completed interval
+     */
+    public Snapshot getLastInterval(){
+        return intervals[(activeInterval + intervals.length - 1) % intervals.length].snapshot();
+    }
+
+    /**
+     * @return a line containing the identifier and the lifetime and interval statistics (count;min;mean;p50;p90;p99;p99.9;max)
+     * in nanoseconds separated by ';'
+     */
     public StringBuffer toCSV(){
         StringBuffer sb = new StringBuffer(identifier + ";");
-        for (long value: histogramm){
-            sb.append(value).append(';');
-        }
-        sb.deleteCharAt(sb.length()-1);//remove trailing ';'
+        snapshot().appendCSV(sb);
+        sb.append(';');
+        getLastInterval().appendCSV(sb);
         return sb;
     }
-}
 
+    /**
+     * @return the header line matching the lines returned by toCSV()
+     */
+    public static String getCSVHeader(){
+        return "identifier;count;min;mean;p50;p90;p99;p99.9;max;interval count;interval min;interval mean;interval p50;interval p90;interval p99;interval p99.9;interval max";
+    }
+
+    /**
+     * used to export the lifetime statistics in binary form, which can be reloaded by read()
+     * @param out 
+     * @throws IOException 
+     */
+    public void write(DataOutputStream out) throws IOException{
+        Snapshot snapshot = snapshot();
+        out.writeInt(BINARYFORMATVERSION);
+        out.writeUTF(identifier);
+        out.writeLong(cycleTime);
+        out.writeInt(significantBits);
+        out.writeLong(snapshot.totalSum);
+        out.writeLong(snapshot.minValue);
+        out.writeLong(snapshot.maxValue);
+        //write non empty buckets only
+        int nonEmptyBuckets = 0;
+        for (long c: snapshot.counts){
+            if (c != 0) nonEmptyBuckets++;
+        }
+        out.writeInt(snapshot.counts.length);
+        out.writeInt(nonEmptyBuckets);
+        for (int i = 0; i < snapshot.counts.length; i++){
+            if (snapshot.counts[i] != 0){
+                out.writeInt(i);
+                out.writeLong(snapshot.counts[i]);
+            }
+        }
+    }
+
+    /**
+     * used to import a histogram exported by write()
+     * @param in
+     * @return the histogram
+     * @throws IOException 
+     */
+    public static Histogram read(DataInputStream in) throws IOException{
+        int version = in.readInt();
+        if (version != BINARYFORMATVERSION){
+            throw new IOException("unsupported histogram format version " + version);
+        }
+        String identifier      = in.readUTF();
+        long   cycleTime       = in.readLong();
+        int    significantBits = in.readInt();
+        long   sum             = in.readLong();
+        long   min             = in.readLong();
+        long   max             = in.readLong();
+        int    length          = in.readInt();
+        int    nonEmptyBuckets = in.readInt();
+        Histogram histogram    = new Histogram(identifier, cycleTime, DEFAULTHIGHESTTRACKABLEVALUE, significantBits);
+        if (length != histogram.counts.length()){
+            histogram.counts    = new AtomicLongArray(length);
+            histogram.intervals = new IntervalCounts[]{histogram.new IntervalCounts(length), histogram.new IntervalCounts(length), histogram.new IntervalCounts(length)};
+        }
+        long count = 0L;
+        for (int i = 0; i < nonEmptyBuckets; i++){
+            int  index = in.readInt();
+            long c     = in.readLong();
+            histogram.counts.set(index, c);
+            count += c;
+        }
+        histogram.totalCount.set(count);
+        histogram.totalSum.set(sum);
+        histogram.minValue.set(count > 0 ? min : Long.MAX_VALUE);
+        histogram.maxValue.set(max);
+        return histogram;
+    }
+
+    private int indexOf(long value){
+        if (value < subBucketCount){
+            return (int)value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (significantBits - 1);
+        int top   = (int)(value >>> shift);//in the range of subBucketHalfCount .. subBucketCount - 1
+        return subBucketCount + (shift - 1) * subBucketHalfCount + (top - subBucketHalfCount);
+    }
+
+    /**
+     * @return the highest value recorded into the bucket with the given index
+     */
+    private long highestEquivalentValue(int index){
+        if (index < subBucketCount){
+            return index;
+        }
+        int  shift = (index - subBucketCount) / subBucketHalfCount + 1;
+        long top   = (index - subBucketCount) % subBucketHalfCount + subBucketHalfCount;
+        return ((top + 1) << shift) - 1;
+    }
+
+    /**
+     * preallocated counters of an interval, reused for every n-th interval
+     */
+    private class IntervalCounts{
+        private AtomicLongArray counts;
+        private AtomicLong      totalCount;
+        private AtomicLong      totalSum;
+        private AtomicLong      minValue;
+        private AtomicLong      maxValue;
+
+        private IntervalCounts(int length){
+            this.counts     = new AtomicLongArray(length);
+            this.totalCount = new AtomicLong();
+            this.totalSum   = new AtomicLong();
+            this.minValue   = new AtomicLong(Long.MAX_VALUE);
+            this.maxValue   = new AtomicLong(0L);
+        }
+
+        private void record(int index, long count, long sum, long min, long max){
+            counts.addAndGet(index, count);
+            totalCount.addAndGet(count);
+            totalSum.addAndGet(sum);
+            updateMinMax(minValue, maxValue, min, max);
+        }
+
+        /**
+         * clears the buckets between the minimum and maximum recorded, which are the only ones used
+         */
+        private void clear(){
+            if (totalCount.get() > 0){
+                int first = Math.min(indexOf(minValue.get()), counts.length() - 1);
+                int last  = Math.min(indexOf(maxValue.get()), counts.length() - 1);
+                for (int i = first; i <= last; i++){
+                    counts.set(i, 0L);
+                }
+            }
+            totalCount.set(0L);
+            totalSum.set(0L);
+            minValue.set(Long.MAX_VALUE);
+            maxValue.set(0L);
+        }
+
+        private Snapshot snapshot(){
+            long[] values = new long[counts.length()];
+            long   count  = 0L;
+            for (int i = 0; i < values.length; i++){
+                values[i] = counts.get(i);
+                count    += values[i];
+            }
+            long min = minValue.get();
+            return new Snapshot(values, count, totalSum.get(), count > 0 ? min : 0L, maxValue.get());
+        }
+    }
+
+    /**
+     * immutable copy of the statistics of a histogram
+     */
+    public class Snapshot{
+        private long[] counts;
+        private long   totalCount;
+        private long   totalSum;
+        private long   minValue;
+        private long   maxValue;
+
+        private Snapshot(long[] counts, long totalCount, long totalSum, long minValue, long maxValue){
+            this.counts     = counts;
+            this.totalCount = totalCount;
+            this.totalSum   = totalSum;
+            this.minValue   = minValue;
+            this.maxValue   = maxValue;
+        }
+
+        public long getTotalCount(){
+            return totalCount;
+        }
+
+        public long getTotalSum(){
+            return totalSum;
+        }
+
+        public long getMin(){
+            return minValue;
+        }
+
+        public long getMax(){
+            return maxValue;
+        }
+
+        public long getMean(){
+            return totalCount > 0 ? totalSum / totalCount : 0L;
+        }
+
+        /**
+         * @param percentile percentile in the range of 0.0 .. 100.0
+         * @return the highest value, which is equivalent to the value at the given percentile
+         */
+        public long getValueAtPercentile(double percentile){
+            if (totalCount == 0){
+                return 0L;
+            }
+            long countAtPercentile = Math.max(1L, (long)Math.ceil(Math.min(percentile, 100.0) / 100.0 * totalCount));
+            long count             = 0L;
+            for (int i = 0; i < counts.length; i++){
+                count += counts[i];
+                if (count >= countAtPercentile){
+                    //values beyond the highest trackable value are collected in the last bucket
+                    return i == counts.length - 1 ? maxValue : Math.min(highestEquivalentValue(i), maxValue);
+                }
+            }
+            return maxValue;
+        }
+
+        private void appendCSV(StringBuffer sb){
+            sb.append(totalCount).append(';');
+            sb.append(getMin()).append(';');
+            sb.append(getMean()).append(';');
+            sb.append(getValueAtPercentile(50.0)).append(';');
+            sb.append(getValueAtPercentile(90.0)).append(';');
+            sb.append(getValueAtPercentile(99.0)).append(';');
+            sb.append(getValueAtPercentile(99.9)).append(';');
+            sb.append(getMax());
+        }
+
+        @Override
+        public String toString(){
+            return "count = " + totalCount + ", p50 = " + getValueAtPercentile(50.0) + " ns, p99 = " + getValueAtPercentile(99.0) + " ns, p99.9 = " + getValueAtPercentile(99.9) + " ns, max = " + getMax() + " ns";
+        }
+    }
+}
@@ -107,6 +107,16 @@ abstract public class IOHandler implements CyclicTask{
         }
     }
     
+    /**
+     * called by the jPac thread, if a registered output signal has been changed locally and is to be put out.
+     * Can be overridden by IOHandlers, which keep track of the output signals to be put out instead of checking all of them
+     * in every cycle
+     * @param signal output signal to be put out
+     */
+    public void outputSignalToBePutOut(Signal signal){
+        //nothing to do by default
+    }
+
     public void discardSignal(Signal signal){
         if (inputSignals.contains(signal)){
             inputSignals.remove(signal);
@@ -125,6 +125,9 @@ public class IoSignalImpl{
     protected void markAsToBePutOut(boolean signalChangedLocally) {
  		//avoid writing back a signal to an external device which caused the change itself 
     	if (signalChangedLocally) {
+    		if (!toBePutout && ioHandler != null) {
+    			ioHandler.outputSignalToBePutOut(containingSignal);
+    		}
     		setToBePutOut(true);
     	}
     }
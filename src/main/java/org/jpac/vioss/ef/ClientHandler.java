@@ -32,10 +32,12 @@ import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.jpac.InconsistencyException;
+import org.jpac.JPac;
 import org.jpac.ef.Acknowledgement;
 import org.jpac.ef.Command;
 import org.jpac.ef.MessageFactory;
 import org.jpac.ef.MessageId;
+import org.jpac.ef.PushChanges;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +56,9 @@ public class ClientHandler extends ChannelInboundHandlerAdapter {
     protected boolean               transactionInProgress;
     protected Command               actualCommand;
     protected boolean               transactionSucceeded;
+    protected int                   txByteCount;
+    protected int                   rxByteCount;
+    protected PushChanges           pushChanges;//receives changes pushed by the server, if subscribed in push mode
     
     public ClientHandler(){
         super();
@@ -65,12 +70,24 @@ public class ClientHandler extends ChannelInboundHandlerAdapter {
     @Override
     public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
         context   = ctx;
+        txByteBuf = ctx.alloc().buffer(32000);//reused for all commands until the handler is removed
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        txByteBuf.release();
     }
 
     @Override
     public void channelRead(ChannelHandlerContext ctx, Object msg) {
-    	transactionSucceeded = false;
         ByteBuf rxByteBuf = (ByteBuf) msg; // (1)
+        if (MessageFactory.peekMessageId(rxByteBuf) == MessageId.PushChanges){
+            //unsolicited changes pushed by the server, not related to a pending transaction
+            receivePushedChanges(rxByteBuf);
+            return;
+        }
+    	transactionSucceeded = false;
+        rxByteCount          = rxByteBuf.readableBytes();
         try {
         	MessageId receivedMessageId = MessageFactory.readMessageId(rxByteBuf);
         	if (receivedMessageId.equals(actualCommand.getAcknowledgement().getMessageId())) {
@@ -94,12 +111,31 @@ public class ClientHandler extends ChannelInboundHandlerAdapter {
         }
     }
     
+    protected void receivePushedChanges(ByteBuf rxByteBuf){
+        try{
+            MessageFactory.readMessageId(rxByteBuf);
+            if (pushChanges != null){
+                pushChanges.decode(rxByteBuf);
+                Log.debug("changes pushed by server: " + pushChanges);
+            }
+            else{
+                throw new InconsistencyException("received " + MessageId.PushChanges + " without subscription in push mode");
+            }
+        }
+        catch(Exception exc) {
+        	Log.error("Error: ", exc);
+        }
+        finally{
+            rxByteBuf.release();
+        }
+    }
+
     public Acknowledgement transact(Command command) throws InterruptedException, InconsistencyException, TimeoutException{
         boolean done = false;
         startAsynchronously(command);
         try{
             //wait until server responses (serverResponded released by channelRead())
-           done = serverResponded.tryAcquire(3000, TimeUnit.MILLISECONDS);
+           done = serverResponded.tryAcquire(JPac.getInstance().getEfResponseTimeout(), TimeUnit.MILLISECONDS);
 		   if(!done){
 		       throw new TimeoutException("server did not respond in time");
 		   }
@@ -121,16 +157,94 @@ public class ClientHandler extends ChannelInboundHandlerAdapter {
         if (transactionInProgress){
             throw new InconsistencyException("Nested transaction not allowed. Command : " + command + " ignored");
         }
-        txByteBuf     = context.alloc().buffer(32000);//will be released by last handler in channel
+        if (txByteBuf.refCnt() == 0){
+            //handler already removed from the closed channel
+            throw new InconsistencyException("connection closed. Command : " + command + " ignored");
+        }
+        if (txByteBuf.refCnt() > 1){
+            //previous command still in transmission (might happen after a timeout): leave its buffer to the channel
+            txByteBuf.release();
+            txByteBuf = context.alloc().buffer(32000);
+        }
+        txByteBuf.clear();
         actualCommand = command;
         actualCommand.encode(txByteBuf);
+        txByteCount   = txByteBuf.writerIndex();
         Log.debug("sending " + command + " to server ...");
         transactionInProgress = true;
+        txByteBuf.retain();//"txByteBuf" is released by the last handler in channel and should be reused for all commands
         //acquire semaphore
         serverResponded.tryAcquire();
         context.channel().eventLoop().submit(() -> context.writeAndFlush(txByteBuf)).sync();
     }
     
+    /**
+     * used to consume the acknowledgement of a command started by startAsynchronously() (pipelined transaction).
+     * Must not be called before isCommandAcknowledged() returned true
+     * @return the acknowledgement received from the server
+     * @throws InconsistencyException thrown, if the acknowledgement has not been received yet or the transaction failed
+     */
+    public Acknowledgement completeAsynchronously() throws InconsistencyException{
+        if (!isCommandAcknowledged()){
+            throw new InconsistencyException("acknowledgement for " + actualCommand + " not received yet");
+        }
+        transactionInProgress = false;
+        if (!transactionSucceeded) {
+            throw new InconsistencyException("transaction failed: " + actualCommand);
+        }
+        return receivedAcknowledgement;
+    }
+
+    /**
+     * used to wait for the acknowledgement of a pending pipelined transaction, before another command is transacted.
+     * If the acknowledgement does not arrive in time, the transaction is left pending and the channel is closed,
+     * because a late acknowledgement would be taken for the one of the next command
+     * @return true, if no transaction was pending or its acknowledgement arrived in time
+     * @throws InterruptedException
+     */
+    public boolean awaitPendingAcknowledgement() throws InterruptedException{
+        boolean done = true;
+        if (transactionInProgress){
+            done = serverResponded.tryAcquire(JPac.getInstance().getEfResponseTimeout(), TimeUnit.MILLISECONDS);
+            if (done){
+                serverResponded.release();
+                transactionInProgress = false;
+            }
+            else if (context != null){
+                context.close();
+            }
+        }
+        return done;
+    }
+
+    /**
+     * @return number of bytes sent by the last transaction
+     */
+    public int getTxByteCount(){
+        return this.txByteCount;
+    }
+
+    /**
+     * @return number of bytes received by the last transaction
+     */
+    public int getRxByteCount(){
+        return this.rxByteCount;
+    }
+
+    /**
+     * @param pushChanges receives the changes pushed by the server, if subscribed in push mode. null: no changes expected
+     */
+    public void setPushChanges(PushChanges pushChanges){
+        this.pushChanges = pushChanges;
+    }
+
+    /**
+     * @return true, if the channel to the server is active
+     */
+    public boolean isChannelActive(){
+        return context != null && context.channel().isActive();
+    }
+
     public boolean isCommandAcknowledged(){
         return serverResponded.availablePermits() == ONEPERMIT;
     }
@@ -45,14 +45,18 @@ import org.jpac.WrongUseException;
 import org.jpac.ef.Apply;
 import org.jpac.ef.ApplyAcknowledgement;
 import org.jpac.ef.Browse;
+import org.jpac.ef.PushChanges;
 import org.jpac.ef.BrowseAcknowledgement;
+import org.jpac.ef.CompactTransportCodec;
 import org.jpac.ef.Result;
 import org.jpac.ef.Subscribe;
 import org.jpac.ef.SubscribeAcknowledgement;
 import org.jpac.ef.SubscriptionTransport;
 import org.jpac.ef.Transceive;
+import org.jpac.ef.TransceiveAcknowledgement;
 import org.jpac.ef.Unsubscribe;
 import org.jpac.ef.UnsubscribeAcknowledgement;
+import org.jpac.jfr.TransceiveEvent;
 import org.jpac.vioss.IllegalUriException;
 import org.jpac.vioss.IoSignal;
 
@@ -63,6 +67,7 @@ import org.jpac.vioss.IoSignal;
 public class IOHandler extends org.jpac.vioss.IOHandler{
     private final static String  HANDLEDSCHEME       = "EF";
     private final static int     CONNECTIONRETRYTIME = 1000;//ms  
+    private final static long    HEARTBEATTIME       = 1000000000L;//ns, max. time between two transceptions in push mode  
 
     public enum State         {IDLE, CONNECTING, SUBSCRIBING, TRANSCEIVING, CLOSINGCONNECTION, STOPPING, STOPPED};  
     
@@ -78,12 +83,22 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
     private boolean               operationPending;
     private boolean               justEnteredState;
     private boolean               connectionRefused;
+    private boolean               pushMode;//changed input signals are pushed by the server
+    private long                  lastTransactionNanoTime;
+    private boolean               outputSignalsPending;//changed output signals not transmitted yet
+    private int                   staleCycles;//cycles the acknowledgement of a pipelined transception has been outstanding
+    private TransceiveEvent       pendingTransceiveEvent;
+    private boolean               allInputSignalsToBeCheckedIn;//input signals are to be checked in regardless of changes
+    private ArrayList<IoSignal>   outputSignalsToBePutOut;//output signals changed since the last transception
     
     private HashMap<String, RemoteSignalInfo> listOfRemoteSignalInfos;
     private HashMap<Integer, SignalTransport> listOfClientInputTransports; 
     private HashMap<Integer, SignalTransport> listOfClientOutputTransports; 
     
-    private Transceive transceive;
+    private Transceive            transceive;
+    private PushChanges           pushChanges;
+    private CompactTransportCodec clientInputCodec;
+    private CompactTransportCodec clientOutputCodec;
     
     public IOHandler(URI uri, SubnodeConfiguration parameterConfiguration) throws IllegalUriException {
         super(uri, parameterConfiguration);
@@ -96,7 +111,11 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
         this.state                        = State.IDLE;
         this.listOfClientInputTransports  = new HashMap<>();
         this.listOfClientOutputTransports = new HashMap<>();
-        this.transceive                   = new Transceive(this.listOfClientInputTransports, this.listOfClientOutputTransports);
+        this.clientInputCodec             = new CompactTransportCodec();
+        this.clientOutputCodec            = new CompactTransportCodec();
+        this.transceive                   = new Transceive(this.listOfClientInputTransports, this.listOfClientOutputTransports, this.clientInputCodec, this.clientOutputCodec);
+        this.pushChanges                  = new PushChanges(this.listOfClientInputTransports, this.clientInputCodec);
+        this.outputSignalsToBePutOut      = new ArrayList<>();
     }
 
     @Override
@@ -108,6 +127,9 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
                     subscribed           = false;
                     connectionClosed     = false;
                     connectionRefused    = false;
+                    pushMode             = false;
+                    outputSignalsPending = false;
+                    staleCycles          = 0;
                     justEnteredState     = true;
                     state                = State.CONNECTING;
                     //connect right away
@@ -136,8 +158,9 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
                     justEnteredState = false;
                     if (!operationPending){
                         if (subscribed){
-                            state            = State.TRANSCEIVING;
-                            justEnteredState = true;
+                            allInputSignalsToBeCheckedIn = true;
+                            state                        = State.TRANSCEIVING;
+                            justEnteredState             = true;
                         }
                         else{
                             state            = State.CLOSINGCONNECTION;
@@ -297,35 +320,184 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
     /**
      * is called in every cycle while in state TRANSCEIVING
      */
-    protected boolean transceiving() throws TimeoutException, InterruptedException, SignalAccessException{
+    protected boolean transceiving() throws TimeoutException, InterruptedException, SignalAccessException, IOException{
         boolean                   allSignalsProperlyTransferred = true;
+        boolean                   outputSignalsChanged          = false;
+        boolean                   inputSignalsReceived          = true;
         //put out output signals
         synchronized(listOfClientOutputTransports) {
-	        for(Signal ios: getOutputSignals()){
-	        	IoSignal ioSig = (IoSignal)ios;
-	            if (ioSig.isToBePutOut() || connection.isJustConnected()){
-	                //transmit signal on first transmission of a new connection or if it has changed in last cycle
-	            	ioSig.resetToBePutOut();
-	            	ioSig.checkOut();//transfer value to RemoteSignalInfo
-	            	((RemoteSignalInfo)ioSig.getRemoteSignalInfo()).getSignalTransport().setValue(((RemoteSignalInfo)ioSig.getRemoteSignalInfo()).getValue());
-	            }
-	        }
+            if (connection.isJustConnected()){
+                //transmit all signals on first transmission of a new connection
+                outputSignalsToBePutOut.clear();
+                for(Signal ios: getOutputSignals()){
+                    outputSignalsChanged |= putOut((IoSignal)ios);
+                }
+            }
+            else{
+                //transmit the signals changed in preceding cycles
+                for(int i = 0; i < outputSignalsToBePutOut.size(); i++){
+                    outputSignalsChanged |= putOut(outputSignalsToBePutOut.get(i));
+                }
+                outputSignalsToBePutOut.clear();
+            }
+        }
+        outputSignalsPending |= outputSignalsChanged;
+        if (JPac.getInstance().isEfPipelinedTransceive()){
+            inputSignalsReceived = pipelinedTransceiving();
+        }
+        else{
+            if (isTransceptionDue()){
+                //start transception
+                if (JPac.getInstance().isEmittingFlightRecorderEvents() && TransceiveEvent.isRecorded()){
+                    transactRecorded();
+                }
+                else{
+                    connection.getClientHandler().transact(transceive);
+                }
+                lastTransactionNanoTime = System.nanoTime();
+                outputSignalsPending    = false;
+            }
+            else if (!connection.getClientHandler().isChannelActive()){
+                //in push mode, input signals are received without transception. Check the connection anyway
+                throw new IOException("connection to server closed");
+            }
+            connection.getClientHandler().resetTransactionInProgress();
         }
-        //start transception
-        connection.getClientHandler().transact(transceive);
         connection.resetJustConnected();//reset justConnected flag if not already reset
-        connection.getClientHandler().resetTransactionInProgress();
+        if (!inputSignalsReceived){
+            //keep input signals as they are until the acknowledgement arrives
+            return allSignalsProperlyTransferred;
+        }
         //propagate input signals
         synchronized(listOfClientInputTransports) {
-	        for(Signal ios: getInputSignals()){
-	        	IoSignal ioSig = (IoSignal)ios;
-	        	ioSig.getRemoteSignalInfo().setValue(((RemoteSignalInfo)ioSig.getRemoteSignalInfo()).getSignalTransport().getValue());
-	            ioSig.checkIn();
-	        }
+            ArrayList<SignalTransport> changedTransports = clientInputCodec.takeChangedTransports();
+            if (allInputSignalsToBeCheckedIn){
+                //after subscription or invalidation
+                for(Signal ios: getInputSignals()){
+                    checkIn((IoSignal)ios);
+                }
+                allInputSignalsToBeCheckedIn = false;
+            }
+            else{
+                //check in the signals whose transports changed since the last cycle
+                for(int i = 0; i < changedTransports.size(); i++){
+                    checkIn((IoSignal)changedTransports.get(i).getConnectedSignal());
+                }
+            }
         }
         return allSignalsProperlyTransferred;
     };    
     
+    /**
+     * used to transfer the value of an output signal to its transport
+     * @return true, if the transport has changed
+     */
+    protected boolean putOut(IoSignal ioSig) throws SignalAccessException{
+        ioSig.resetToBePutOut();
+        ioSig.checkOut();//transfer value to RemoteSignalInfo
+        SignalTransport signalTransport = ((RemoteSignalInfo)ioSig.getRemoteSignalInfo()).getSignalTransport();
+        signalTransport.setValue(((RemoteSignalInfo)ioSig.getRemoteSignalInfo()).getValue());
+        return signalTransport.isChanged();
+    }
+
+    /**
+     * used to transfer the value of the transport of an input signal to the signal
+     */
+    protected void checkIn(IoSignal ioSig) throws SignalAccessException{
+        ioSig.getRemoteSignalInfo().setValue(((RemoteSignalInfo)ioSig.getRemoteSignalInfo()).getSignalTransport().getValue());
+        ioSig.checkIn();
+    }
+
+    @Override
+    public void outputSignalToBePutOut(Signal signal){
+        //called inside the jPac cycle only
+        outputSignalsToBePutOut.add((IoSignal)signal);
+    }
+
+    /**
+     * @return true, if a Transceive is to be sent in this cycle
+     */
+    protected boolean isTransceptionDue(){
+        return !pushMode || outputSignalsPending || connection.isJustConnected() || System.nanoTime() - lastTransactionNanoTime > HEARTBEATTIME;
+    }
+
+    /**
+     * used to transceive without waiting for the acknowledgement: The Transceive command sent in cycle n is acknowledged in cycle n + 1 or later.
+     * If the acknowledgement is outstanding for more than Ef.MaxStaleCycles cycles, the input signals are invalidated.
+     * If it does not arrive within Ef.ResponseTimeout ms, the connection is supposed to be broken.
+     * @return true, if the acknowledgement of the pending Transceive has been received in this cycle or none was pending
+     */
+    protected boolean pipelinedTransceiving() throws TimeoutException, InterruptedException, InconsistencyException, SignalAccessException, IOException{
+        ClientHandler clientHandler        = connection.getClientHandler();
+        boolean       inputSignalsReceived = true;
+        if (clientHandler.isTransactionInProgress()){
+            if (clientHandler.isCommandAcknowledged()){
+                //acknowledgement of the Transceive sent in a preceding cycle arrived
+                clientHandler.completeAsynchronously();
+                if (pendingTransceiveEvent != null){
+                    pendingTransceiveEvent.end();
+                    commitTransceiveEvent(pendingTransceiveEvent);
+                    pendingTransceiveEvent = null;
+                }
+                staleCycles = 0;
+            }
+            else{
+                if (System.nanoTime() - lastTransactionNanoTime > JPac.getInstance().getEfResponseTimeout() * 1000000L){
+                    throw new TimeoutException("server did not respond in time");
+                }
+                staleCycles++;
+                if (staleCycles == JPac.getInstance().getEfMaxStaleCycles()){
+                    Log.error(this + " : acknowledgement outstanding for " + staleCycles + " cycles. Input signals invalidated");
+                    invalidateInputSignals();
+                    allInputSignalsToBeCheckedIn = true;
+                }
+                inputSignalsReceived = false;
+            }
+        }
+        if (!clientHandler.isTransactionInProgress()){
+            if (isTransceptionDue()){
+                //start transception. The acknowledgement is consumed in one of the next cycles
+                if (JPac.getInstance().isEmittingFlightRecorderEvents() && TransceiveEvent.isRecorded()){
+                    pendingTransceiveEvent = new TransceiveEvent();
+                    pendingTransceiveEvent.begin();
+                }
+                clientHandler.startAsynchronously(transceive);
+                lastTransactionNanoTime = System.nanoTime();
+                outputSignalsPending    = false;
+            }
+            else if (!clientHandler.isChannelActive()){
+                //in push mode, input signals are received without transception. Check the connection anyway
+                throw new IOException("connection to server closed");
+            }
+        }
+        return inputSignalsReceived;
+    }
+
+    /**
+     * used to transact the Transceive command recording it as a flight recorder event
+     */
+    protected void transactRecorded() throws TimeoutException, InterruptedException{
+        ClientHandler   clientHandler = connection.getClientHandler();
+        TransceiveEvent event         = new TransceiveEvent();
+        event.begin();
+        clientHandler.transact(transceive);
+        event.end();
+        commitTransceiveEvent(event);
+    }
+
+    protected void commitTransceiveEvent(TransceiveEvent event){
+        ClientHandler clientHandler = connection.getClientHandler();
+        if (event.shouldCommit()){
+            event.remote          = getUri().toString();
+            event.serverSide      = false;
+            event.bytesSent       = clientHandler.getTxByteCount();
+            event.bytesReceived   = clientHandler.getRxByteCount();
+            event.signalsSent     = transceive.getTransportsCount();
+            event.signalsReceived = ((TransceiveAcknowledgement)transceive.getAcknowledgement()).getTransportsCount();
+            event.commit();
+        }
+    }
+
     protected boolean closingConnection(boolean firstCall) throws IOException, WrongUseException{
         boolean pending = true;
         if (connected){
@@ -386,28 +558,75 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
         boolean done = false;
         try{
             ArrayList<SubscriptionTransport> subscriptionTransports = new ArrayList<>();
+            ArrayList<SignalTransport>       signalTransports       = new ArrayList<>();
 
-            for (Signal ios: getInputSignals()){
-            	RemoteSignalInfo rsi = (RemoteSignalInfo)((org.jpac.vioss.IoSignal)ios).getRemoteSignalInfo();
-                if (rsi != null){
-                    SubscriptionTransport st = new SubscriptionTransport(rsi.getHandle(), rsi.getType(), ios.getIoDirection());
-                    subscriptionTransports.add(st);
-                    listOfClientInputTransports.put(rsi.getHandle(), rsi.getSignalTransport());
+            //subscription slots are assigned in the order of subscription (see CompactTransportCodec).
+            //Transports might be received right after the server acknowledged the subscription
+            synchronized(listOfClientInputTransports) {
+                clientInputCodec.clear();
+                for (Signal ios: getInputSignals()){
+                	RemoteSignalInfo rsi = (RemoteSignalInfo)((org.jpac.vioss.IoSignal)ios).getRemoteSignalInfo();
+                    if (rsi != null){
+                        SubscriptionTransport st = new SubscriptionTransport(rsi.getHandle(), rsi.getType(), ios.getIoDirection());
+                        subscriptionTransports.add(st);
+                        signalTransports.add(rsi.getSignalTransport());
+                        listOfClientInputTransports.put(rsi.getHandle(), rsi.getSignalTransport());
+                        rsi.getSignalTransport().setConnectedSignal(ios);
+                        clientInputCodec.addSlot(rsi.getSignalTransport());
+                    }
                 }
             }
-            for (Signal ios: getOutputSignals()){
-            	RemoteSignalInfo rsi = (RemoteSignalInfo)((org.jpac.vioss.IoSignal)ios).getRemoteSignalInfo();
-                if (rsi != null){                    
-                	SubscriptionTransport st = new SubscriptionTransport(rsi.getHandle(), rsi.getType(), ios.getIoDirection());
-                    subscriptionTransports.add(st);
-                    listOfClientOutputTransports.put(rsi.getHandle(), rsi.getSignalTransport());
+            synchronized(listOfClientOutputTransports) {
+                clientOutputCodec.clear();
+                clientOutputCodec.setEncodingEnabled(false, false);
+                for (Signal ios: getOutputSignals()){
+                	RemoteSignalInfo rsi = (RemoteSignalInfo)((org.jpac.vioss.IoSignal)ios).getRemoteSignalInfo();
+                    if (rsi != null){                    
+                    	SubscriptionTransport st = new SubscriptionTransport(rsi.getHandle(), rsi.getType(), ios.getIoDirection());
+                        subscriptionTransports.add(st);
+                        signalTransports.add(rsi.getSignalTransport());
+                        listOfClientOutputTransports.put(rsi.getHandle(), rsi.getSignalTransport());
+                        clientOutputCodec.addSlot(rsi.getSignalTransport());
+                    }
                 }
             }
             if (subscriptionTransports.size() > 0){
-                Subscribe subscribe = new Subscribe(subscriptionTransports);
+                int options = 0;
+                if (JPac.getInstance().isEfPushModeEnabled()){
+                    options |= Subscribe.OPTIONPUSHMODE;
+                    //changes might be pushed by the server right after it acknowledged the subscription
+                    connection.getClientHandler().setPushChanges(pushChanges);
+                }
+                if (JPac.getInstance().isEfCompactEncodingEnabled()){
+                    options |= Subscribe.OPTIONCOMPACTENCODING;
+                    if (JPac.getInstance().isEfDeltaEncodingEnabled()){
+                        options |= Subscribe.OPTIONDELTAENCODING;
+                    }
+                }
+                Subscribe subscribe = new Subscribe(subscriptionTransports, options);
                 SubscribeAcknowledgement sa = (SubscribeAcknowledgement)connection.getClientHandler().transact(subscribe);
+                pushMode = (sa.getGrantedOptions() & Subscribe.OPTIONPUSHMODE) != 0;
+                if (!pushMode){
+                    connection.getClientHandler().setPushChanges(null);
+                }
+                boolean compactEncoding = (sa.getGrantedOptions() & Subscribe.OPTIONCOMPACTENCODING) != 0;
+                synchronized(listOfClientOutputTransports) {
+                    clientOutputCodec.setEncodingEnabled(compactEncoding, (sa.getGrantedOptions() & Subscribe.OPTIONDELTAENCODING) != 0);
+                }
+                Log.info("signals subscribed" + (pushMode ? " in push mode" : "") + (compactEncoding ? " using the compact wire format" : ""));
                 for(int i = 0; i < subscriptionTransports.size(); i++){
                     if (sa.getListOfResults().get(i) != Result.NoFault.getValue()){
+                        //the server left the slot vacant
+                        if (subscriptionTransports.get(i).getIoDirection() == IoDirection.INPUT){
+                            synchronized(listOfClientInputTransports) {
+                                clientInputCodec.removeSlot(signalTransports.get(i));
+                            }
+                        }
+                        else{
+                            synchronized(listOfClientOutputTransports) {
+                                clientOutputCodec.removeSlot(signalTransports.get(i));
+                            }
+                        }
                         Log.error("Failed to subscribe signal " + getSignalIdentifierByRemoteHandle(subscriptionTransports.get(i).getHandle()) +" , error code : " + Result.fromInt(sa.getListOfResults().get(i)));
                     }
                 }
@@ -444,6 +663,12 @@ public class IOHandler extends org.jpac.vioss.IOHandler{
                     listOfClientOutputTransports.remove(rsi.getHandle());
                 }
             }
+            //a pipelined Transceive might still be pending
+            if (!connection.getClientHandler().awaitPendingAcknowledgement()){
+                //server does not respond: leave it to closeConnection() to close the connection without unsubscribing
+                Log.error("pending transceive not acknowledged in time. Signals are not unsubscribed");
+                return;
+            }
             Unsubscribe unsubscribe = new Unsubscribe(subscriptionTransports);
             UnsubscribeAcknowledgement usa = (UnsubscribeAcknowledgement)connection.getClientHandler().transact(unsubscribe);
             for(int i = 0; i < subscriptionTransports.size(); i++){
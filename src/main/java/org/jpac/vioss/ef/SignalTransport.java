@@ -26,7 +26,8 @@
 package org.jpac.vioss.ef;
 
 import io.netty.buffer.ByteBuf;
-import java.util.Observable;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import org.jpac.BasicSignalType;
 import org.jpac.CharStringValue;
@@ -36,6 +37,7 @@ import org.jpac.Signal;
 import org.jpac.SignalObserver;
 import org.jpac.SignedIntegerValue;
 import org.jpac.Value;
+import org.jpac.ef.CompactTransportCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,6 +46,8 @@ import org.slf4j.LoggerFactory;
  * @author berndschuster
  */
 public class SignalTransport implements SignalObserver {    
+    public static final int     NOSLOT = -1;
+
 	transient protected Logger  Log = LoggerFactory.getLogger("jpac.ef");
     transient protected boolean connected;
     transient protected Signal  connectedSignal;
@@ -51,6 +55,13 @@ public class SignalTransport implements SignalObserver {
     protected Value             value;
     protected boolean           changed;
     protected BasicSignalType   signalType;
+    transient protected int     slot;//subscription slot (see CompactTransportCodec)
+    transient protected CompactTransportCodec slotOwner;//keeps track of the changed transports by their slot
+    transient protected int     deltaReference;//signed integer value last transmitted in the compact delta format
+    transient protected String  utf8String;//char string value, whose UTF-8 encoding is cached
+    transient protected byte[]  utf8Bytes;
+    transient protected List<SignalTransport> updatedTransports;//collects this transport, if its connected signal changed (see update())
+    transient protected boolean updated;
     
     public SignalTransport(){
         this.handle          = 0;
@@ -59,6 +70,7 @@ public class SignalTransport implements SignalObserver {
         this.signalType      = BasicSignalType.Unknown;
         this.connected       = false;
         this.connectedSignal = null;
+        this.slot            = NOSLOT;
     }
     
     public SignalTransport(int handle, BasicSignalType signalType){
@@ -68,6 +80,7 @@ public class SignalTransport implements SignalObserver {
         this.signalType      = signalType;
         this.connected       = false;
         this.connectedSignal = null;
+        this.slot            = NOSLOT;
     }
 
     public SignalTransport(Signal signal){
@@ -78,6 +91,7 @@ public class SignalTransport implements SignalObserver {
         this.signalType      = BasicSignalType.fromSignal(signal);
         this.connected       = false;//connected state must be assigned by the calling method if need be
         this.connectedSignal = signal;
+        this.slot            = NOSLOT;
     	} catch(CloneNotSupportedException exc) {
     		/*cannot happen*/
     	}
@@ -112,13 +126,114 @@ public class SignalTransport implements SignalObserver {
         setChanged(false);
     }
     
+    /**
+     * decodes a signal transport. The received value is decoded into the value instance of this transport,
+     * which is only (re)allocated, if its signal type does not match the received one
+     * @param byteBuf
+     */
     public void decode(ByteBuf byteBuf){
-        handle     = byteBuf.readInt();
-        signalType = BasicSignalType.decode(byteBuf);
-        value      = getValueFromSignalType(signalType);
+        BasicSignalType receivedSignalType;
+        handle             = byteBuf.readInt();
+        receivedSignalType = BasicSignalType.decode(byteBuf);
+        if (value == null || receivedSignalType != signalType){
+            value = getValueFromSignalType(receivedSignalType);
+        }
+        signalType = receivedSignalType;
         value.decode(byteBuf);
     }
+
+    /**
+     * @param byteBuf
+     * @return the handle of the signal transport to be decoded next from the given buffer. The reader index is left untouched
+     */
+    public static int peekHandle(ByteBuf byteBuf){
+        return byteBuf.getInt(byteBuf.readerIndex());
+    }
     
+    /**
+     * encodes the value of this transport in the compact wire format. Logical values and the validity are encoded
+     * by the CompactTransportCodec. Signed integers are encoded as zig zag varints, decimals as doubles and
+     * char strings as UTF-8 bytes preceded by their length (varint). The UTF-8 encoding is cached until the value changes.
+     * @param byteBuf
+     * @param deltaEncoded true: signed integers are encoded as difference to their preceding transmission
+     */
+    public void encodeCompactly(ByteBuf byteBuf, boolean deltaEncoded){
+        switch(signalType){
+            case SignedInteger:
+                int intValue = ((SignedIntegerValue)value).get();
+                if (deltaEncoded){
+                    CompactTransportCodec.writeSignedVarInt(byteBuf, intValue - deltaReference);
+                    deltaReference = intValue;
+                }
+                else{
+                    CompactTransportCodec.writeSignedVarInt(byteBuf, intValue);
+                }
+                break;
+            case Decimal:
+                byteBuf.writeDouble(((DecimalValue)value).get());
+                break;
+            case CharString:
+                String stringValue = ((CharStringValue)value).get();
+                if (utf8Bytes == null || utf8String != stringValue){
+                    utf8String = stringValue;
+                    utf8Bytes  = stringValue.getBytes(StandardCharsets.UTF_8);
+                }
+                CompactTransportCodec.writeVarInt(byteBuf, utf8Bytes.length);
+                byteBuf.writeBytes(utf8Bytes);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * decodes a value encoded by encodeCompactly() into the value of this transport
+     * @param byteBuf
+     * @param deltaEncoded true: signed integers are encoded as difference to their preceding transmission
+     */
+    public void decodeCompactly(ByteBuf byteBuf, boolean deltaEncoded){
+        switch(signalType){
+            case SignedInteger:
+                int intValue = CompactTransportCodec.readSignedVarInt(byteBuf);
+                if (deltaEncoded){
+                    intValue      += deltaReference;
+                    deltaReference = intValue;
+                }
+                ((SignedIntegerValue)value).set(intValue);
+                break;
+            case Decimal:
+                ((DecimalValue)value).set(byteBuf.readDouble());
+                break;
+            case CharString:
+                int length = CompactTransportCodec.readVarInt(byteBuf);
+                if (isUtf8Encoding(byteBuf, length) && utf8String == ((CharStringValue)value).get()){
+                    //value unchanged: just skip it
+                    byteBuf.skipBytes(length);
+                }
+                else{
+                    utf8Bytes  = new byte[length];
+                    byteBuf.readBytes(utf8Bytes);
+                    utf8String = new String(utf8Bytes, StandardCharsets.UTF_8);
+                    ((CharStringValue)value).set(utf8String);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return true, if the next length bytes of the given buffer match the cached UTF-8 encoding
+     */
+    protected boolean isUtf8Encoding(ByteBuf byteBuf, int length){
+        boolean equal = utf8Bytes != null && utf8Bytes.length == length;
+        int     index = byteBuf.readerIndex();
+        for (int i = 0; equal && i < length; i++){
+            equal = utf8Bytes[i] == byteBuf.getByte(index + i);
+        }
+        return equal;
+    }
+
     public void propagate() {
     	if (connectedSignal != null && changed) {
     		connectedSignal.setValue(value);
@@ -126,6 +241,23 @@ public class SignalTransport implements SignalObserver {
     	}
     }
 
+    /**
+     * @return the subscription slot of this transport (see CompactTransportCodec). NOSLOT, if not assigned
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * @param slot subscription slot assigned to this transport. Resets the reference value of the delta encoding
+     * @param slotOwner keeps track of the changes of this transport by its slot. null: changes not tracked
+     */
+    public void setSlot(int slot, CompactTransportCodec slotOwner) {
+        this.slot           = slot;
+        this.slotOwner      = slotOwner;
+        this.deltaReference = 0;
+    }
+
     public int getHandle() {
         return handle;
     }
@@ -154,12 +286,22 @@ public class SignalTransport implements SignalObserver {
 
     public void setChanged(boolean changed) {
         this.changed = changed;
+        if (changed && slotOwner != null) {
+            slotOwner.markChanged(this);
+        }
     }
     
     public Signal getConnectedSignal() {
     	return this.connectedSignal;
     }
 
+    /**
+     * @param connectedSignal signal this transport is assigned to. Used by clients to find the signal of a changed transport
+     */
+    public void setConnectedSignal(Signal connectedSignal) {
+    	this.connectedSignal = connectedSignal;
+    }
+
     @Override
     public void setConnectedAsTarget(boolean connected) {
         this.connected = connected;
@@ -174,17 +316,47 @@ public class SignalTransport implements SignalObserver {
     	return this.signalType;
     }
 
+    /**
+     * called by the jPac thread, if the connected signal changed. If a list of updated transports is assigned, this transport
+     * is just collected by it and the value is taken over later on by takeOverUpdate()
+     * @param signal 
+     */
     @Override
-    public void update(Observable o, Object arg) {
-        value.copy(((Signal)o).getValue());
-        setChanged(true);
+    public void update(Signal signal) {
+        if (updatedTransports != null){
+            if (!updated){
+                updated = true;
+                updatedTransports.add(this);
+            }
+        }
+        else{
+            value.copy(signal.getValue());
+            setChanged(true);
+        }
+    }
+
+    /**
+     * takes over the value of the connected signal, after this transport has been collected by its list of updated transports.
+     * The transport is marked as changed, if the value differs from the one transmitted before
+     */
+    public void takeOverUpdate() {
+        updated = false;
+        setValue(connectedSignal.getValue());
+    }
+
+    /**
+     * @param updatedTransports list, which collects this transport, if its connected signal changed. null: the value is taken over immediately
+     */
+    public void setUpdatedTransports(List<SignalTransport> updatedTransports) {
+        this.updatedTransports = updatedTransports;
+        this.updated           = false;
     }
     
     public void copyData(SignalTransport source) {
     	setValue(source.getValue());
         this.handle          = source.handle;
         this.signalType      = source.signalType;
-        this.changed         = source.changed;        
+        setChanged(source.changed);
     }
 
     @Override